@@ -0,0 +1,62 @@
+package uk.ac.soton.comp1206.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.comp1206.game.MultiplayerGame;
+
+/**
+ * Benchmark of building the board state message sent to the server in multiplayer games.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardStateBenchmark {
+
+  /**
+   * Number of columns and rows of the board
+   */
+  @Param({"5", "10", "50"})
+  public int size;
+
+  /**
+   * Fraction of the board filled before measuring
+   */
+  @Param({"0.0", "0.5", "0.9"})
+  public double density;
+
+  private MultiplayerGame game;
+
+  /**
+   * Create the game and fill its board. The game is never started, so no timer or server is
+   * needed.
+   */
+  @Setup
+  public void setup() {
+    game = new MultiplayerGame(size, size);
+    Boards.fill(game.getGrid().getCore(), density, new Random(Boards.SEED));
+  }
+
+  /**
+   * Build the board state message
+   *
+   * @return the message
+   */
+  @Benchmark
+  public String getBoardStateString() {
+    return game.getBoardStateString();
+  }
+}
@@ -0,0 +1,51 @@
+package uk.ac.soton.comp1206.benchmarks;
+
+import java.util.Random;
+import uk.ac.soton.comp1206.engine.BitGrid;
+import uk.ac.soton.comp1206.engine.PieceCatalog;
+
+/**
+ * Helpers to prepare boards for the benchmarks. Boards are filled from a fixed seed, so every run
+ * and every fork measures the same board.
+ */
+final class Boards {
+
+  /**
+   * Seed used for every random board and move
+   */
+  static final long SEED = 1206L;
+
+  private Boards() {
+  }
+
+  /**
+   * Fill roughly the given fraction of the cells of a grid with random blocks. No row or column is
+   * left full, as a real board would already have cleared it.
+   *
+   * @param grid    grid to fill
+   * @param density fraction of cells to fill, 0 to 1
+   * @param random  source of randomness
+   */
+  static void fill(BitGrid grid, double density, Random random) {
+    grid.clearAll();
+    for (int y = 0; y < grid.getRows(); y++) {
+      for (int x = 0; x < grid.getCols(); x++) {
+        if (random.nextDouble() < density) {
+          grid.set(x, y, 1 + random.nextInt(PieceCatalog.PIECES));
+        }
+      }
+    }
+
+    //Break up any full lines
+    for (int y = 0; y < grid.getRows(); y++) {
+      if (grid.rowIsFull(y)) {
+        grid.set(random.nextInt(grid.getCols()), y, 0);
+      }
+    }
+    for (int x = 0; x < grid.getCols(); x++) {
+      if (grid.colIsFull(x)) {
+        grid.set(x, random.nextInt(grid.getRows()), 0);
+      }
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package uk.ac.soton.comp1206.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.comp1206.engine.BitGrid;
+import uk.ac.soton.comp1206.engine.GameEngine;
+import uk.ac.soton.comp1206.engine.PieceCatalog;
+import uk.ac.soton.comp1206.engine.PlacementIndex;
+
+/**
+ * Benchmarks of placing pieces through the GameEngine, which checks for and clears full lines
+ * after every placement. This is the work Game does after each piece, without the JavaFX adapter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EngineBenchmark {
+
+  /**
+   * The Dot piece, which fills a single cell
+   */
+  private static final int DOT = 3;
+
+  /**
+   * Number of columns and rows of the board
+   */
+  @Param({"5", "10", "50", "200"})
+  public int size;
+
+  /**
+   * Fraction of the board filled before measuring
+   */
+  @Param({"0.0", "0.5", "0.9"})
+  public double density;
+
+  private Random random;
+
+  /**
+   * Engine playing random legal moves
+   */
+  private GameEngine engine;
+
+  /**
+   * Engine whose board is full apart from one cell in the middle
+   */
+  private GameEngine crossEngine;
+  private int centre;
+
+  /**
+   * Index over a copy of the random board, tracking a different piece type on each call
+   */
+  private PlacementIndex spawnIndex;
+  private int spawnType;
+
+  /**
+   * Scan position through the legal anchors, so moves are spread over the board
+   */
+  private int cursor;
+
+  /**
+   * Prepare both engines
+   */
+  @Setup
+  public void setup() {
+    random = new Random(Boards.SEED);
+    engine = new GameEngine(size, size);
+    engine.setPieceGenerator(() -> random.nextInt(15));
+    Boards.fill(engine.getGrid(), density, random);
+    engine.start();
+    spawnIndex = new PlacementIndex(engine.getGrid().copy());
+
+    crossEngine = new GameEngine(size, size);
+    crossEngine.setPieceGenerator(() -> DOT);
+    centre = size / 2;
+    BitGrid grid = crossEngine.getGrid();
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        if (x != centre || y != centre) {
+          grid.set(x, y, 1);
+        }
+      }
+    }
+    crossEngine.start();
+  }
+
+  /**
+   * Place the current piece at a legal position, clearing any lines it completes. When no piece
+   * fits, the board is refilled, and that cost is included.
+   *
+   * @return the score
+   */
+  @Benchmark
+  public int place() {
+    PlacementIndex placements = engine.getPlacements(engine.getCurrentType());
+    if (placements.count(engine.getCurrentRotation()) == 0) {
+      if (!engine.hasAnyMove()) {
+        Boards.fill(engine.getGrid(), density, random);
+      }
+      engine.swap();
+      return engine.getScore();
+    }
+
+    int position = placements.nextLegal(engine.getCurrentRotation(), cursor);
+    if (position < 0) {
+      position = placements.nextLegal(engine.getCurrentRotation(), 0);
+    }
+    cursor = position + 1;
+    engine.place(placements.anchorX(position), placements.anchorY(position));
+    return engine.getScore();
+  }
+
+  /**
+   * Fill the last empty cell of a full board, clearing the row and column through it, then refill
+   * the cleared cells. Measures the worst case line clear for the board size, plus the refill.
+   *
+   * @return the score
+   */
+  @Benchmark
+  public int clearCross() {
+    crossEngine.place(centre - 1, centre - 1);
+
+    BitGrid grid = crossEngine.getGrid();
+    for (int i = 0; i < size; i++) {
+      if (i != centre) {
+        grid.set(i, centre, 1);
+        grid.set(centre, i, 1);
+      }
+    }
+    return crossEngine.getScore();
+  }
+
+  /**
+   * Build the placement index for a piece type, as happens when a piece of a type that is not
+   * already tracked spawns.
+   *
+   * @return number of legal anchors in the first rotation
+   */
+  @Benchmark
+  public int track() {
+    spawnType = (spawnType + 1) % PieceCatalog.PIECES;
+    spawnIndex.track(spawnType);
+    return spawnIndex.count(0);
+  }
+}
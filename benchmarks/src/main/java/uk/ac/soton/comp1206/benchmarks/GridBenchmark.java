@@ -0,0 +1,167 @@
+package uk.ac.soton.comp1206.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.Grid;
+
+/**
+ * Benchmarks of the Grid model: placement checks, playing pieces and full line checks, across
+ * board sizes and fill densities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GridBenchmark {
+
+  /**
+   * Number of precomputed moves, a power of two so the next move is found with a mask
+   */
+  private static final int MOVES = 1024;
+
+  /**
+   * Number of columns and rows of the board
+   */
+  @Param({"5", "10", "50", "200"})
+  public int size;
+
+  /**
+   * Fraction of the board filled before measuring
+   */
+  @Param({"0.0", "0.5", "0.9"})
+  public double density;
+
+  private Grid grid;
+
+  /**
+   * Random moves, legal or not, for canPlayPiece
+   */
+  private final GamePiece[] pieces = new GamePiece[MOVES];
+  private final int[] xs = new int[MOVES];
+  private final int[] ys = new int[MOVES];
+
+  /**
+   * Legal moves for playPiece
+   */
+  private final GamePiece[] legalPieces = new GamePiece[MOVES];
+  private final int[] legalXs = new int[MOVES];
+  private final int[] legalYs = new int[MOVES];
+
+  private int next;
+
+  /**
+   * Fill the board and choose the moves to measure
+   */
+  @Setup
+  public void setup() {
+    Random random = new Random(Boards.SEED);
+    grid = new Grid(size, size);
+    Boards.fill(grid.getCore(), density, random);
+
+    for (int i = 0; i < MOVES; i++) {
+      pieces[i] = GamePiece.createPiece(random.nextInt(GamePiece.PIECES), random.nextInt(4));
+      xs[i] = random.nextInt(size + 2) - 2;
+      ys[i] = random.nextInt(size + 2) - 2;
+      chooseLegalMove(i, random);
+    }
+  }
+
+  /**
+   * Choose a random legal move, falling back to a single block on an empty cell when the board is
+   * too full to find one quickly
+   *
+   * @param i      index of the move
+   * @param random source of randomness
+   */
+  private void chooseLegalMove(int i, Random random) {
+    for (int attempt = 0; attempt < 1000; attempt++) {
+      GamePiece piece = GamePiece.createPiece(random.nextInt(GamePiece.PIECES), random.nextInt(4));
+      int x = random.nextInt(size + 2) - 2;
+      int y = random.nextInt(size + 2) - 2;
+      if (grid.canPlayPiece(piece, x, y)) {
+        legalPieces[i] = piece;
+        legalXs[i] = x;
+        legalYs[i] = y;
+        return;
+      }
+    }
+    //Boards.fill leaves no full row, so there is always an empty cell
+    GamePiece dot = GamePiece.createPiece(3);
+    int cell = random.nextInt(size * size);
+    while (grid.get(cell % size, cell / size) != 0) {
+      cell = (cell + 1) % (size * size);
+    }
+    legalPieces[i] = dot;
+    legalXs[i] = cell % size - 1;
+    legalYs[i] = cell / size - 1;
+  }
+
+  /**
+   * Check whether a random piece fits at a random position
+   *
+   * @return if the piece fits
+   */
+  @Benchmark
+  public boolean canPlayPiece() {
+    int i = next++ & (MOVES - 1);
+    return grid.canPlayPiece(pieces[i], xs[i], ys[i]);
+  }
+
+  /**
+   * Play a piece at a legal position. The piece's blocks are emptied again afterwards so the
+   * board stays the same, so this measures a play and an undo.
+   *
+   * @return value of the first cell of the board
+   */
+  @Benchmark
+  public int playPiece() {
+    int i = next++ & (MOVES - 1);
+    GamePiece piece = legalPieces[i];
+    int x = legalXs[i];
+    int y = legalYs[i];
+    grid.playPiece(piece, x, y);
+
+    int shape = piece.getShape();
+    for (int bit = 0; bit < 9; bit++) {
+      if ((shape & (1 << bit)) != 0) {
+        grid.clear(x + bit % 3, y + bit / 3);
+      }
+    }
+    return grid.get(0, 0);
+  }
+
+  /**
+   * Check every row and column of the board for being full
+   *
+   * @return number of full lines
+   */
+  @Benchmark
+  public int rowAndColIsFull() {
+    int full = 0;
+    for (int y = 0; y < size; y++) {
+      if (grid.rowIsFull(y)) {
+        full++;
+      }
+    }
+    for (int x = 0; x < size; x++) {
+      if (grid.colIsFull(x)) {
+        full++;
+      }
+    }
+    return full;
+  }
+}
@@ -0,0 +1,50 @@
+package uk.ac.soton.comp1206.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.comp1206.game.GamePiece;
+
+/**
+ * Benchmarks of creating and rotating GamePieces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PieceBenchmark {
+
+  private GamePiece piece = GamePiece.createPiece(0);
+  private int next;
+
+  /**
+   * Rotate a piece once
+   *
+   * @return the rotated piece
+   */
+  @Benchmark
+  public GamePiece rotate() {
+    piece = piece.rotate();
+    return piece;
+  }
+
+  /**
+   * Create each kind of piece in turn and rotate it three times, as done by a left rotation
+   *
+   * @return the rotated piece
+   */
+  @Benchmark
+  public GamePiece createAndRotate() {
+    next = (next + 1) % GamePiece.PIECES;
+    return GamePiece.createPiece(next).rotate(3);
+  }
+}
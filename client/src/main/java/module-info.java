@@ -3,11 +3,15 @@
  */
 module uk.ac.soton.comp1206 {
     requires java.scripting;
+    requires java.management;
+    requires jdk.jfr;
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.media;
     requires org.apache.logging.log4j;
+    requires org.apache.logging.log4j.core;
     requires nv.websocket.client;
+    requires transitive uk.ac.soton.comp1206.engine;
     opens uk.ac.soton.comp1206.ui to javafx.fxml;
     exports uk.ac.soton.comp1206;
     exports uk.ac.soton.comp1206.ui;
@@ -19,6 +23,7 @@ module uk.ac.soton.comp1206 {
       exports uk.ac.soton.comp1206.component.multiplayer;
     exports uk.ac.soton.comp1206.game;
     exports uk.ac.soton.comp1206.animations;
+    exports uk.ac.soton.comp1206.profiling;
   exports uk.ac.soton.comp1206.component.imageButtons;
     exports uk.ac.soton.comp1206.component.settings;
 
@@ -67,6 +67,8 @@ public class App extends Application {
      */
     public void shutdown() {
         logger.info("Shutting down");
+        GameScheduler.shutdown();
+        SoundBank.shutdown();
         System.exit(0);
     }
 
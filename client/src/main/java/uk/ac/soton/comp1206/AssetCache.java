@@ -0,0 +1,310 @@
+package uk.ac.soton.comp1206;
+
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.image.Image;
+import javafx.scene.media.Media;
+import javafx.scene.text.Font;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The Asset Cache loads the images, fonts, sounds and stylesheets used by the game, so that each is
+ * only read and decoded once however many components use it.
+ * <p>
+ * Assets are found by resource path, such as "/images/TetrECS.png". Images can also be asked for at
+ * a given size, which are decoded at that size and cached separately. Images can be preloaded,
+ * decoding in the background so they are ready by the time a scene needs them.
+ * <p>
+ * The cache is kept in least recently used order. When the decoded images in it take more than
+ * the memory budget, the least recently used assets are dropped. Anything still showing them keeps
+ * its own reference, so dropping an asset only means it is loaded again if asked for.
+ */
+public class AssetCache {
+
+  private static final Logger logger = LogManager.getLogger(AssetCache.class);
+
+  /**
+   * Memory the cached images may take before assets are evicted, in bytes
+   */
+  public static final long DEFAULT_BUDGET = 64L << 20;
+
+  /**
+   * Cached assets by key, least recently used first
+   */
+  private static final LinkedHashMap<String, Object> assets = new LinkedHashMap<>(64, 0.75f, true);
+
+  private static long budget = DEFAULT_BUDGET;
+  private static long bytes;
+  private static long hits;
+  private static long misses;
+  private static long evictions;
+
+  /**
+   * Get an image at its own size
+   *
+   * @param path resource path of the image
+   * @return the image
+   */
+  public static Image image(String path) {
+    return get("image:" + path, key -> new Image(url(path)));
+  }
+
+  /**
+   * Get an image decoded to fit the given size
+   *
+   * @param path   resource path of the image
+   * @param width  width to decode at
+   * @param height height to decode at
+   * @return the image
+   */
+  public static Image image(String path, double width, double height) {
+    return get(sizedKey(path, width, height),
+        key -> new Image(url(path), width, height, false, true));
+  }
+
+  /**
+   * Start decoding an image in the background, if it is not already cached
+   *
+   * @param path resource path of the image
+   */
+  public static void preloadImage(String path) {
+    get("image:" + path, key -> new Image(url(path), true));
+  }
+
+  /**
+   * Start decoding an image at the given size in the background, if it is not already cached
+   *
+   * @param path   resource path of the image
+   * @param width  width to decode at
+   * @param height height to decode at
+   */
+  public static void preloadImage(String path, double width, double height) {
+    get(sizedKey(path, width, height),
+        key -> new Image(url(path), width, height, false, true, true));
+  }
+
+  /**
+   * Run an action once an image has finished loading, straight away if it already has
+   *
+   * @param image  the image
+   * @param action action to run on the JavaFX thread
+   */
+  public static void whenLoaded(Image image, Runnable action) {
+    if (image.getProgress() >= 1) {
+      action.run();
+      return;
+    }
+    image.progressProperty().addListener(new ChangeListener<>() {
+      @Override
+      public void changed(ObservableValue<? extends Number> observable, Number oldValue,
+          Number newValue) {
+        if (newValue.doubleValue() >= 1) {
+          observable.removeListener(this);
+          action.run();
+        }
+      }
+    });
+  }
+
+  /**
+   * Get a font at the given size, loading it if it has not been loaded at that size
+   *
+   * @param path resource path of the font
+   * @param size font size
+   * @return the font, or the default font if it could not be loaded
+   */
+  public static Font font(String path, double size) {
+    return get("font:" + path + "@" + size, key -> {
+      Font font = Font.loadFont(url(path), size);
+      return font != null ? font : Font.getDefault();
+    });
+  }
+
+  /**
+   * Get the media for a sound or music file
+   *
+   * @param path resource path of the file
+   * @return the media
+   */
+  public static Media media(String path) {
+    return get("media:" + path, key -> new Media(url(path)));
+  }
+
+  /**
+   * Get the URL of a stylesheet, as used by Scene.getStylesheets
+   *
+   * @param path resource path of the stylesheet
+   * @return the stylesheet URL
+   */
+  public static String stylesheet(String path) {
+    return get("css:" + path, key -> url(path));
+  }
+
+  /**
+   * Start loading the assets every scene uses
+   */
+  public static void preload() {
+    logger.info("Preloading assets");
+    preloadImage("/images/TetrECS.png");
+    preloadImage("/images/Instructions.png");
+    stylesheet("/style/game.css");
+  }
+
+  /**
+   * Set how much memory the cached images may take before assets are evicted
+   *
+   * @param budget budget in bytes
+   */
+  public static synchronized void setBudget(long budget) {
+    AssetCache.budget = budget;
+    evict(null);
+  }
+
+  /**
+   * Drop every cached asset
+   */
+  public static synchronized void clear() {
+    assets.clear();
+    bytes = 0;
+  }
+
+  /**
+   * Get the number of assets in the cache
+   *
+   * @return number of assets
+   */
+  public static synchronized int getSize() {
+    return assets.size();
+  }
+
+  /**
+   * Get the memory taken by cached images, as of the last asset loaded
+   *
+   * @return memory in bytes
+   */
+  public static synchronized long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * Get the number of times an asset was found in the cache
+   *
+   * @return cache hits
+   */
+  public static synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Get the number of times an asset had to be loaded
+   *
+   * @return cache misses
+   */
+  public static synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Get the number of assets dropped to stay within the budget
+   *
+   * @return evictions
+   */
+  public static synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Get a cached asset, loading and caching it if it is not there
+   *
+   * @param key    cache key
+   * @param loader loads the asset from the key
+   * @param <T>    type of asset
+   * @return the asset
+   */
+  @SuppressWarnings("unchecked")
+  private static synchronized <T> T get(String key, Function<String, T> loader) {
+    Object asset = assets.get(key);
+    if (asset != null) {
+      hits++;
+      return (T) asset;
+    }
+    misses++;
+    logger.debug("Loading asset {}", key);
+    T loaded = loader.apply(key);
+    assets.put(key, loaded);
+    evict(key);
+    return loaded;
+  }
+
+  /**
+   * Drop the least recently used assets until the images fit the budget
+   *
+   * @param keep key of an asset that must not be dropped, or null
+   */
+  private static void evict(String keep) {
+    bytes = 0;
+    for (Object asset : assets.values()) {
+      bytes += weigh(asset);
+    }
+    Iterator<Map.Entry<String, Object>> iterator = assets.entrySet().iterator();
+    while (bytes > budget && iterator.hasNext()) {
+      Map.Entry<String, Object> entry = iterator.next();
+      if (entry.getKey().equals(keep)) {
+        continue;
+      }
+      logger.debug("Evicting asset {}", entry.getKey());
+      bytes -= weigh(entry.getValue());
+      iterator.remove();
+      evictions++;
+    }
+  }
+
+  /**
+   * Estimate the memory a cached asset takes. Only decoded images are counted, everything else is
+   * small or held by JavaFX itself.
+   *
+   * @param asset the asset
+   * @return memory in bytes
+   */
+  private static long weigh(Object asset) {
+    if (asset instanceof Image image) {
+      double width = image.getWidth() > 0 ? image.getWidth() : image.getRequestedWidth();
+      double height = image.getHeight() > 0 ? image.getHeight() : image.getRequestedHeight();
+      return (long) (width * height) * 4;
+    }
+    return 0;
+  }
+
+  /**
+   * Get the cache key of an image at a given size
+   *
+   * @param path   resource path of the image
+   * @param width  width to decode at
+   * @param height height to decode at
+   * @return cache key
+   */
+  private static String sizedKey(String path, double width, double height) {
+    return "image:" + path + "@" + width + "x" + height;
+  }
+
+  /**
+   * Get the URL of a resource, for assets loaded without being cached
+   *
+   * @param path resource path
+   * @return the URL as a string
+   * @throws IllegalArgumentException if there is no such resource
+   */
+  public static String url(String path) {
+    URL url = AssetCache.class.getResource(path);
+    if (url == null) {
+      throw new IllegalArgumentException("No such asset: " + path);
+    }
+    return url.toExternalForm();
+  }
+}
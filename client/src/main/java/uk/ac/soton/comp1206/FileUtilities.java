@@ -7,6 +7,8 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
 import javafx.beans.property.ListProperty;
 import javafx.collections.ObservableList;
 import javafx.util.Pair;
@@ -111,7 +113,7 @@ public class FileUtilities {
         Integer scoreInt = Integer.parseInt(score);
 
         scoresList.add(new Pair<>(user, scoreInt));
-        logger.info("Score Added, " + user + ":" + score);
+        logger.trace("Score Added, {}:{}", user, score);
       }
 
       reader.close();
@@ -137,7 +139,7 @@ public class FileUtilities {
 
         writer.write(name + ":" + score);
         writer.newLine();
-        logger.info("Score written, " + name + ":" + score);
+        logger.trace("Score written, {}:{}", name, score);
       }
 
       writer.close();
@@ -147,4 +149,27 @@ public class FileUtilities {
     }
   }
 
+  /**
+   * Delete the oldest files with the given extension in a directory, keeping only the newest.
+   * Does nothing if the directory does not exist.
+   *
+   * @param directory directory to tidy
+   * @param extension extension of the files to count, such as ".trp"
+   * @param keep      number of files to keep
+   */
+  public static void deleteOldest(File directory, String extension, int keep) {
+    File[] files = directory.listFiles((dir, name) -> name.endsWith(extension));
+    if (files == null || files.length <= keep) {
+      return;
+    }
+    Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+    for (int i = 0; i < files.length - keep; i++) {
+      if (files[i].delete()) {
+        logger.debug("Deleted old file {}", files[i]);
+      } else {
+        logger.warn("Unable to delete old file {}", files[i]);
+      }
+    }
+  }
+
 }
@@ -0,0 +1,178 @@
+package uk.ac.soton.comp1206;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.engine.GameClock;
+
+/**
+ * The Game Scheduler runs delayed actions for the whole application, such as the game timer and
+ * the lobby's channel requests, on a single shared daemon thread. Actions are wrapped in Tasks,
+ * which can be scheduled, rescheduled and cancelled as often as needed without creating threads.
+ */
+public class GameScheduler {
+
+  private static final Logger logger = LogManager.getLogger(GameScheduler.class);
+
+  /**
+   * The thread every task is timed on
+   */
+  private static final ScheduledThreadPoolExecutor executor = createExecutor();
+
+  /**
+   * Create the shared executor, whose single daemon thread will not keep the application open
+   *
+   * @return the executor
+   */
+  private static ScheduledThreadPoolExecutor createExecutor() {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, "GameScheduler");
+      thread.setDaemon(true);
+      return thread;
+    });
+    //Drop cancelled tasks straight away, so frequent rescheduling does not build up a backlog
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  /**
+   * Create a task which runs its action on the scheduler thread
+   *
+   * @param name   name of the task, for logging
+   * @param action action to run
+   * @return new unscheduled task
+   */
+  public static Task task(String name, Runnable action) {
+    return new Task(name, action, false);
+  }
+
+  /**
+   * Create a task which runs its action on the JavaFX Application Thread
+   *
+   * @param name   name of the task, for logging
+   * @param action action to run
+   * @return new unscheduled task
+   */
+  public static Task fxTask(String name, Runnable action) {
+    return new Task(name, action, true);
+  }
+
+  /**
+   * Stop the scheduler, cancelling every task. Called when the application shuts down.
+   */
+  public static void shutdown() {
+    logger.info("Shutting down scheduler");
+    executor.shutdownNow();
+  }
+
+  /**
+   * A Task is a delayed action which can be armed again after it runs or is cancelled. Scheduling
+   * an armed task replaces the pending run, so resetting a timer is a single reschedule. A task
+   * can wake a GameClock by polling it.
+   */
+  public static class Task implements GameClock.Wakeup {
+
+    private final String name;
+    private final Runnable action;
+
+    /**
+     * Whether to run the action on the JavaFX Application Thread
+     */
+    private final boolean fxThread;
+
+    /**
+     * The pending run, or null if the task is not scheduled
+     */
+    private ScheduledFuture<?> future;
+
+    /**
+     * Incremented every time the task is scheduled or cancelled, so a run that was already under
+     * way when it was replaced can tell it is stale and do nothing
+     */
+    private int generation;
+
+    /**
+     * Create a new task
+     *
+     * @param name     name of the task, for logging
+     * @param action   action to run
+     * @param fxThread whether to run the action on the JavaFX Application Thread
+     */
+    private Task(String name, Runnable action, boolean fxThread) {
+      this.name = name;
+      this.action = action;
+      this.fxThread = fxThread;
+    }
+
+    /**
+     * Run the action after the given delay, replacing any pending run
+     *
+     * @param delay delay in milliseconds
+     */
+    @Override
+    public synchronized void schedule(long delay) {
+      if (future != null) {
+        future.cancel(false);
+      }
+      int armed = ++generation;
+      future = executor.schedule(() -> fire(armed), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancel the pending run, if there is one
+     */
+    @Override
+    public synchronized void cancel() {
+      generation++;
+      if (future != null) {
+        future.cancel(false);
+        future = null;
+      }
+    }
+
+    /**
+     * Return whether the task is waiting to run
+     *
+     * @return if a run is pending
+     */
+    public synchronized boolean isScheduled() {
+      return future != null;
+    }
+
+    /**
+     * Called on the scheduler thread when the delay has passed
+     *
+     * @param armed generation the run was scheduled with
+     */
+    private void fire(int armed) {
+      if (fxThread) {
+        Platform.runLater(() -> run(armed));
+      } else {
+        run(armed);
+      }
+    }
+
+    /**
+     * Run the action, unless the task was rescheduled or cancelled since this run was armed
+     *
+     * @param armed generation the run was scheduled with
+     */
+    private void run(int armed) {
+      synchronized (this) {
+        if (armed != generation) {
+          return;
+        }
+        future = null;
+      }
+      try {
+        action.run();
+      } catch (RuntimeException e) {
+        //The executor would otherwise swallow the exception silently
+        logger.error("Task {} failed", name, e);
+      }
+    }
+  }
+}
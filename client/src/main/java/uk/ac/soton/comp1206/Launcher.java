@@ -0,0 +1,56 @@
+package uk.ac.soton.comp1206;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import uk.ac.soton.comp1206.profiling.Profiling;
+
+/**
+ * This Launcher class is used to allow the game to be built into a shaded jar file which then loads JavaFX. This
+ * Launcher is used when running as a shaded jar file.
+ *
+ * Pass --jfr to keep a continuous Flight Recorder recording, written to tetrecs.jfr when the game exits, or
+ * --jfr=file to choose the file.
+ */
+public class Launcher {
+
+    /**
+     * Default file for the Flight Recorder recording
+     */
+    private static final String DEFAULT_RECORDING = "tetrecs.jfr";
+
+    /**
+     * Launch the JavaFX Application, passing through the commandline arguments
+     * @param args commandline arguments
+     */
+    public static void main(String[] args) {
+        //Packaged runs log asynchronously to a rolling file
+        Logging.useProductionConfig();
+
+        List<String> remaining = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--jfr") || arg.startsWith("--jfr=")) {
+                startRecording(arg.equals("--jfr") ? DEFAULT_RECORDING : arg.substring("--jfr=".length()));
+            } else {
+                remaining.add(arg);
+            }
+        }
+        App.main(remaining.toArray(new String[0]));
+    }
+
+    /**
+     * Start a Flight Recorder recording to the given file. The game still starts if it fails.
+     * @param file file to write the recording to
+     */
+    private static void startRecording(String file) {
+        var logger = LogManager.getLogger(Launcher.class);
+        try {
+            Profiling.startRecording(Path.of(file));
+            logger.info("Flight recording to {}", file);
+        } catch (Exception e) {
+            logger.error("Unable to start flight recording to {}", file, e);
+        }
+    }
+
+}
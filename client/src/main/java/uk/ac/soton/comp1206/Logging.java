@@ -0,0 +1,79 @@
+package uk.ac.soton.comp1206;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+
+/**
+ * The Logging class chooses the logging configuration and changes log levels while the game runs.
+ * <p>
+ * Development runs use log4j2.xml, logging to the console. Packaged runs use the production
+ * configuration, which logs through async loggers to a rolling file so logging never blocks the
+ * JavaFX thread. Both reload themselves when their file changes, and levels can also be changed
+ * from inside the game.
+ * <p>
+ * This class has no static log4j fields, as initialising them would configure log4j before the
+ * configuration is chosen.
+ */
+public class Logging {
+
+  /**
+   * Logger name all game loggers sit under
+   */
+  public static final String ROOT_PACKAGE = "uk.ac.soton.comp1206";
+
+  /**
+   * Configuration file for packaged runs
+   */
+  public static final String PRODUCTION_CONFIG = "log4j2-production.xml";
+
+  /**
+   * Use the production configuration, unless a configuration file has been given on the command
+   * line. Must be called before anything is logged.
+   */
+  public static void useProductionConfig() {
+    if (System.getProperty("log4j2.configurationFile") == null
+        && System.getProperty("log4j.configurationFile") == null) {
+      System.setProperty("log4j2.configurationFile", PRODUCTION_CONFIG);
+    }
+  }
+
+  /**
+   * Set the level of a logger and every logger beneath it
+   *
+   * @param name  logger or package name
+   * @param level new level
+   */
+  public static void setLevel(String name, Level level) {
+    Configurator.setAllLevels(name, level);
+    LogManager.getLogger(Logging.class).warn("Log level of {} set to {}", name, level);
+  }
+
+  /**
+   * Get the level a logger is currently logging at
+   *
+   * @param name logger or package name
+   * @return the level
+   */
+  public static Level getLevel(String name) {
+    return LogManager.getLogger(name).getLevel();
+  }
+
+  /**
+   * Move every game logger on to the next level, from WARN through to TRACE and back
+   *
+   * @return the new level
+   */
+  public static Level cycleLevel() {
+    Level[] levels = {Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE};
+    Level current = getLevel(ROOT_PACKAGE);
+    Level next = levels[0];
+    for (int i = 0; i < levels.length; i++) {
+      if (levels[i] == current) {
+        next = levels[(i + 1) % levels.length];
+      }
+    }
+    setLevel(ROOT_PACKAGE, next);
+    return next;
+  }
+}
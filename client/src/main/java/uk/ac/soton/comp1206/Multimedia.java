@@ -7,8 +7,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * The Multimedia class is used to store and play various sound effects and music. It contains two
- * MediaPlayers to play sounds and music respectively.
+ * The Multimedia class is used to store and play various sound effects and music. Music is played
+ * by a MediaPlayer, and sound effects by the SoundBank, which holds them already decoded.
  * <p>
  * All custom sound effects and music are taken from https://freesound.org/ and all sounds there are
  * Creative Commons Licensed.
@@ -17,10 +17,6 @@ public class Multimedia {
 
   private static final Logger logger = LogManager.getLogger(Multimedia.class);
 
-  /**
-   * Sound Media Player
-   */
-  public static MediaPlayer soundPlayer;
   /**
    * Music Media Player
    */
@@ -47,8 +43,7 @@ public class Multimedia {
    * Construct a new Multimedia class.
    */
   public Multimedia() {
-    musicPlayer.setVolume(soundVolume);
-    soundPlayer.setVolume(musicVolume);
+    musicPlayer.setVolume(musicVolume);
   }
 
   /**
@@ -72,11 +67,10 @@ public class Multimedia {
       return;
     }
 
-    String toPlay = Multimedia.class.getResource("/" + file).toExternalForm();
-    logger.info("Playing music: " + toPlay);
+    logger.info("Playing music: {}", file);
 
     try {
-      Media play = new Media(toPlay);
+      Media play = AssetCache.media("/" + file);
       musicPlayer = new MediaPlayer(play);
       musicPlayer.setVolume(musicVolume);
       musicPlayer.play();
@@ -91,34 +85,23 @@ public class Multimedia {
 
     } catch (Exception e) {
       musicEnabled = false;
-      e.printStackTrace();
-      logger.error("Unable to play music file, disabling music");
+      logger.error("Unable to play music file, disabling music", e);
     }
   }
 
   /**
-   * Play a sound file from the audio player
+   * Play a sound effect from the sound bank. Returns straight away, the sound being started on the
+   * sound bank's own thread.
    *
-   * @param file string representing the relative path (from project root) of the file
+   * @param effect the sound effect to play
    */
-  public static void playSound(String file) {
+  public static void playSound(SoundEffect effect) {
     if (!soundsEnabled) {
       return;
     }
 
-    String toPlay = Multimedia.class.getResource("/" + file).toExternalForm();
-    logger.info("Playing sound: " + toPlay);
-
-    try {
-      Media play = new Media(toPlay);
-      soundPlayer = new MediaPlayer(play);
-      soundPlayer.setVolume(soundVolume);
-      soundPlayer.play();
-    } catch (Exception e) {
-      soundsEnabled = false;
-      e.printStackTrace();
-      logger.error("Unable to play sound file, disabling sounds");
-    }
+    logger.debug("Playing sound: {}", effect);
+    SoundBank.play(effect, soundVolume);
   }
 
   /**
@@ -175,7 +158,6 @@ public class Multimedia {
   public static void setSoundVolume(double soundVolume) {
     logger.info("Sound volume set to " + soundVolume);
     Multimedia.soundVolume = soundVolume;
-    soundPlayer.setVolume(soundVolume);
   }
 
   /**
@@ -213,91 +195,91 @@ public class Multimedia {
    * Playing a piece.
    */
   public static void place() {
-    playSound("sounds/place.wav");
+    playSound(SoundEffect.PLACE);
   }
 
   /**
    * Clearing a line.
    */
   public static void clearLine() {
-    playSound("sounds/custom/clearLine.wav");
+    playSound(SoundEffect.CLEAR_LINE);
   }
 
   /**
    * Swapping the current game piece.
    */
   public static void swap() {
-    playSound("sounds/custom/swap.wav");
+    playSound(SoundEffect.SWAP);
   }
 
   /**
    * Invalid position to play current piece.
    */
   public static void placeError() {
-    playSound("sounds/custom/error.wav");
+    playSound(SoundEffect.PLACE_ERROR);
   }
 
   /**
    * Rotating the current game piece.
    */
   public static void rotate() {
-    playSound("sounds/rotate.wav");
+    playSound(SoundEffect.ROTATE);
   }
 
   /**
    * Losing a life.
    */
   public static void lifeLose() {
-    playSound("sounds/custom/loseLifeCustom.wav");
+    playSound(SoundEffect.LIFE_LOSE);
   }
 
   /**
    * Reaching a new level
    */
   public static void level() {
-    playSound("sounds/level.wav");
+    playSound(SoundEffect.LEVEL);
   }
 
   /**
    * Starting a game.
    */
   public static void gameStart() {
-    playSound("sounds/custom/gameStartCustom.wav");
+    playSound(SoundEffect.GAME_START);
   }
 
   /**
    * Game over!
    */
   public static void gameOver() {
-    playSound("sounds/custom/gameOverCustom.wav");
+    playSound(SoundEffect.GAME_OVER);
   }
 
   /**
    * Joining a multiplayer lobby.
    */
   public static void lobbyStart() {
-    playSound("sounds/custom/lobbyStartCustom.wav");
+    playSound(SoundEffect.LOBBY_START);
   }
 
   /**
    * Receiving a chat message in a lobby.
    */
   public static void message() {
-    playSound("sounds/custom/messageCustom.mp3");
+    playSound(SoundEffect.MESSAGE);
   }
 
   /**
    * Highlighting an ImageButton.
    */
   public static void buttonHighlight() {
-    playSound("sounds/custom/buttonHighlightCustom.wav");
+    playSound(SoundEffect.BUTTON_HIGHLIGHT);
   }
 
   /**
    * Clicking on an ImageButton.
    */
   public static void buttonPress() {
-    playSound("sounds/custom/buttonSelectCustom.wav");
+    playSound(SoundEffect.BUTTON_PRESS);
   }
 
   //Music
@@ -0,0 +1,229 @@
+package uk.ac.soton.comp1206;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javafx.scene.media.AudioClip;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.profiling.SoundPlayedEvent;
+
+/**
+ * The Sound Bank holds every sound effect decoded in memory, and plays them from a dedicated
+ * thread.
+ * <p>
+ * Each effect is decoded at startup into a small pool of AudioClips, one per voice, so playing a
+ * sound never creates media or players. Asking for a sound only queues it on the sound thread,
+ * which picks a voice and starts it, so the game is never held up by audio.
+ * <p>
+ * An effect plays at most as many copies at once as it has voices, restarting its oldest voice
+ * when they are all busy. At most MAX_VOICES sounds play in total. When that many are playing, a
+ * new sound takes over the oldest voice of the lowest priority effect, as long as that effect's
+ * priority is no higher than its own, and is dropped otherwise.
+ */
+public class SoundBank {
+
+  private static final Logger logger = LogManager.getLogger(SoundBank.class);
+
+  /**
+   * Most sounds that can play at once, over every effect
+   */
+  public static final int MAX_VOICES = 8;
+
+  private static final SoundEffect[] EFFECTS = SoundEffect.values();
+
+  /**
+   * A clip able to play one copy of an effect at a time
+   */
+  private static class Voice {
+    private final SoundEffect effect;
+    private final AudioClip clip;
+
+    /**
+     * Time the voice last started playing, in nanoseconds
+     */
+    private long started;
+
+    private Voice(SoundEffect effect, AudioClip clip) {
+      this.effect = effect;
+      this.clip = clip;
+    }
+  }
+
+  /**
+   * Voices of each effect, indexed by ordinal, or null until the effect is decoded. Only used on
+   * the sound thread.
+   */
+  private static final Voice[][] voices = new Voice[EFFECTS.length][];
+
+  /**
+   * The thread sounds are decoded and started on
+   */
+  private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "SoundBank");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private static volatile long played;
+  private static volatile long stolen;
+  private static volatile long dropped;
+
+  /**
+   * Start decoding every sound effect on the sound thread
+   */
+  public static void load() {
+    logger.info("Loading sound bank");
+    executor.execute(() -> {
+      long start = System.nanoTime();
+      for (SoundEffect effect : EFFECTS) {
+        voicesOf(effect);
+      }
+      logger.info("Loaded {} sound effects in {} ms", EFFECTS.length,
+          (System.nanoTime() - start) / 1_000_000);
+    });
+  }
+
+  /**
+   * Queue a sound effect to play at the given volume. Returns straight away.
+   *
+   * @param effect effect to play
+   * @param volume volume from 0 to 1
+   */
+  public static void play(SoundEffect effect, double volume) {
+    //Time from asking for the sound to it playing, for the flight recorder
+    SoundPlayedEvent event = new SoundPlayedEvent();
+    event.begin();
+    event.sound = effect.getFile();
+
+    executor.execute(() -> {
+      Voice[] pool = voicesOf(effect);
+      if (pool.length == 0) {
+        return;
+      }
+      Voice voice = chooseVoice(effect, pool);
+      if (voice == null) {
+        logger.trace("Dropped sound {}", effect);
+        dropped++;
+        return;
+      }
+      voice.clip.stop();
+      voice.clip.play(volume);
+      voice.started = System.nanoTime();
+      played++;
+      event.commit();
+    });
+  }
+
+  /**
+   * Stop the sound thread, called when the application shuts down
+   */
+  public static void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Get the number of sounds played so far
+   *
+   * @return sounds played
+   */
+  public static long getPlayed() {
+    return played;
+  }
+
+  /**
+   * Get the number of sounds that cut off another effect to play
+   *
+   * @return sounds that stole a voice
+   */
+  public static long getStolen() {
+    return stolen;
+  }
+
+  /**
+   * Get the number of sounds not played because every voice was taken by higher priority effects
+   *
+   * @return sounds dropped
+   */
+  public static long getDropped() {
+    return dropped;
+  }
+
+  /**
+   * Get the voices of an effect, decoding it first if it has not been already
+   *
+   * @param effect the effect
+   * @return the voices, empty if the effect could not be loaded
+   */
+  private static Voice[] voicesOf(SoundEffect effect) {
+    Voice[] pool = voices[effect.ordinal()];
+    if (pool == null) {
+      try {
+        String url = AssetCache.url("/" + effect.getFile());
+        pool = new Voice[effect.getVoices()];
+        for (int i = 0; i < pool.length; i++) {
+          pool[i] = new Voice(effect, new AudioClip(url));
+        }
+      } catch (Exception e) {
+        logger.error("Unable to load sound {}, it will not play", effect.getFile(), e);
+        pool = new Voice[0];
+      }
+      voices[effect.ordinal()] = pool;
+    }
+    return pool;
+  }
+
+  /**
+   * Choose the voice to play an effect on: a free voice of its own, or its oldest voice if all are
+   * busy, or the oldest voice of a lower priority effect if too many sounds are playing
+   *
+   * @param effect effect to play
+   * @param pool   voices of the effect
+   * @return the voice, or null if the effect should not play
+   */
+  private static Voice chooseVoice(SoundEffect effect, Voice[] pool) {
+    Voice oldest = pool[0];
+    Voice free = null;
+    for (Voice voice : pool) {
+      if (!voice.clip.isPlaying()) {
+        free = voice;
+        break;
+      }
+      if (voice.started < oldest.started) {
+        oldest = voice;
+      }
+    }
+    if (free == null) {
+      //Restarting one of its own voices does not change how many sounds are playing
+      return oldest;
+    }
+
+    Voice victim = null;
+    int playing = 0;
+    for (Voice[] other : voices) {
+      if (other == null) {
+        continue;
+      }
+      for (Voice voice : other) {
+        if (!voice.clip.isPlaying()) {
+          continue;
+        }
+        playing++;
+        if (victim == null || voice.effect.getPriority() < victim.effect.getPriority()
+            || voice.effect.getPriority() == victim.effect.getPriority()
+            && voice.started < victim.started) {
+          victim = voice;
+        }
+      }
+    }
+    if (playing < MAX_VOICES) {
+      return free;
+    }
+    if (victim.effect.getPriority() > effect.getPriority()) {
+      return null;
+    }
+    logger.trace("{} stealing a voice from {}", effect, victim.effect);
+    victim.clip.stop();
+    stolen++;
+    return free;
+  }
+}
@@ -0,0 +1,115 @@
+package uk.ac.soton.comp1206;
+
+/**
+ * Enumerator of the sound effects held by the SoundBank. Each effect has a limit on how many copies
+ * of it can play at once, and a priority deciding which sounds give way when too many are playing.
+ */
+public enum SoundEffect {
+  /**
+   * Playing a piece.
+   */
+  PLACE("sounds/place.wav", 2, 1),
+  /**
+   * Clearing a line.
+   */
+  CLEAR_LINE("sounds/custom/clearLine.wav", 2, 2),
+  /**
+   * Swapping the current game piece.
+   */
+  SWAP("sounds/custom/swap.wav", 1, 1),
+  /**
+   * Invalid position to play current piece.
+   */
+  PLACE_ERROR("sounds/custom/error.wav", 1, 1),
+  /**
+   * Rotating the current game piece.
+   */
+  ROTATE("sounds/rotate.wav", 2, 1),
+  /**
+   * Losing a life.
+   */
+  LIFE_LOSE("sounds/custom/loseLifeCustom.wav", 1, 3),
+  /**
+   * Reaching a new level.
+   */
+  LEVEL("sounds/level.wav", 1, 3),
+  /**
+   * Starting a game.
+   */
+  GAME_START("sounds/custom/gameStartCustom.wav", 1, 3),
+  /**
+   * Game over.
+   */
+  GAME_OVER("sounds/custom/gameOverCustom.wav", 1, 3),
+  /**
+   * Joining a multiplayer lobby.
+   */
+  LOBBY_START("sounds/custom/lobbyStartCustom.wav", 1, 3),
+  /**
+   * Receiving a chat message in a lobby.
+   */
+  MESSAGE("sounds/custom/messageCustom.mp3", 1, 2),
+  /**
+   * Highlighting an ImageButton.
+   */
+  BUTTON_HIGHLIGHT("sounds/custom/buttonHighlightCustom.wav", 2, 0),
+  /**
+   * Clicking on an ImageButton.
+   */
+  BUTTON_PRESS("sounds/custom/buttonSelectCustom.wav", 1, 2);
+
+  /**
+   * Path of the sound file, relative to the resources root
+   */
+  private final String file;
+
+  /**
+   * Most copies of this effect that can play at once
+   */
+  private final int voices;
+
+  /**
+   * Priority of this effect, higher effects taking voices from lower ones
+   */
+  private final int priority;
+
+  /**
+   * Create a sound effect
+   *
+   * @param file     path of the sound file, relative to the resources root
+   * @param voices   most copies that can play at once
+   * @param priority priority when stealing voices
+   */
+  SoundEffect(String file, int voices, int priority) {
+    this.file = file;
+    this.voices = voices;
+    this.priority = priority;
+  }
+
+  /**
+   * Get the path of the sound file, relative to the resources root
+   *
+   * @return file path
+   */
+  public String getFile() {
+    return file;
+  }
+
+  /**
+   * Get the most copies of this effect that can play at once
+   *
+   * @return voice limit
+   */
+  public int getVoices() {
+    return voices;
+  }
+
+  /**
+   * Get the priority of this effect, higher effects taking voices from lower ones
+   *
+   * @return priority
+   */
+  public int getPriority() {
+    return priority;
+  }
+}
@@ -0,0 +1,123 @@
+package uk.ac.soton.comp1206.animations;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.AnimationTimer;
+import javafx.animation.Interpolator;
+import uk.ac.soton.comp1206.component.GameBlock;
+
+/**
+ * Drives every cell animation on one board, such as the fade when a line is cleared.
+ * <p>
+ * A single AnimationTimer advances all active effects in one pass each pulse, rather than each
+ * block running a timer of its own. Effects are timed from when they start, so they last the same
+ * time at any frame rate. Finished effects are kept for reuse, and the timer stops itself when
+ * nothing is animating.
+ */
+public class BoardAnimationDriver extends AnimationTimer {
+
+  /**
+   * How long a cleared block takes to fade out, in nanoseconds
+   */
+  public static final long FADE_DURATION = 1_600_000_000L;
+
+  /**
+   * Easing of the fade, from fully white to clear
+   */
+  private static final Interpolator FADE_EASING = Interpolator.EASE_OUT;
+
+  /**
+   * A block fading out
+   */
+  private static class Fade {
+    private GameBlock block;
+
+    /**
+     * Time of the first pulse after the fade began, or -1 before then
+     */
+    private long start;
+  }
+
+  private final List<Fade> active = new ArrayList<>();
+  private final ArrayDeque<Fade> pool = new ArrayDeque<>();
+  private boolean running;
+
+  /**
+   * Get the opacity of the white over a fading block
+   *
+   * @param elapsed time since the fade began, in nanoseconds
+   * @return opacity between 0 and 1, 0 once the fade is over
+   */
+  public static double fadeOpacity(long elapsed) {
+    if (elapsed >= FADE_DURATION) {
+      return 0;
+    }
+    return FADE_EASING.interpolate(1.0, 0.0, (double) elapsed / FADE_DURATION);
+  }
+
+  /**
+   * Fade out a block, starting again if it is already fading
+   *
+   * @param block block to fade
+   */
+  public void fade(GameBlock block) {
+    Fade fade = null;
+    for (Fade existing : active) {
+      if (existing.block == block) {
+        fade = existing;
+      }
+    }
+    if (fade == null) {
+      fade = pool.isEmpty() ? new Fade() : pool.pop();
+      fade.block = block;
+      active.add(fade);
+    }
+    fade.start = -1;
+
+    if (!running) {
+      running = true;
+      start();
+    }
+  }
+
+  /**
+   * Get the number of effects currently animating
+   *
+   * @return active effects
+   */
+  public int getActiveCount() {
+    return active.size();
+  }
+
+  /**
+   * Advance every active effect, and stop when none are left
+   *
+   * @param now time of this pulse, in nanoseconds
+   */
+  @Override
+  public void handle(long now) {
+    for (int i = active.size() - 1; i >= 0; i--) {
+      Fade fade = active.get(i);
+      if (fade.start < 0) {
+        fade.start = now;
+      }
+      double opacity = fadeOpacity(now - fade.start);
+      if (opacity > 0) {
+        fade.block.paintFade(opacity);
+      } else {
+        //Finished, so paint the block clean and keep the effect for reuse
+        fade.block.paint();
+        fade.block = null;
+        active.set(i, active.get(active.size() - 1));
+        active.remove(active.size() - 1);
+        pool.push(fade);
+      }
+    }
+
+    if (active.isEmpty()) {
+      stop();
+      running = false;
+    }
+  }
+}
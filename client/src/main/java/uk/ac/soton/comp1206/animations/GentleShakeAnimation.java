@@ -0,0 +1,285 @@
+package uk.ac.soton.comp1206.animations;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.AnimationTimer;
+import javafx.animation.Interpolator;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Animation for UI components, especially ImageButtons, to rotate and expand gently.
+ * <p>
+ * Every shaking node is driven by one shared AnimationTimer, which sets all of their scales and
+ * rotations in a single pass each pulse. A node only joins the shakes once it is added to a scene,
+ * so a node that is never shown is never held on to. It stops shaking by itself once it has been
+ * shown and then leaves the window, for example when its scene is replaced, or if its scene is not
+ * shown within a few seconds. It then returns to rest, and shakes again if it is added to another
+ * scene. Everything pauses while the game window is unfocused or minimised,
+ * and the timer stops when nothing is shaking.
+ */
+public class GentleShakeAnimation {
+
+  private static final Logger logger = LogManager.getLogger(GentleShakeAnimation.class);
+
+  private static final double scaleTransitionDuration = 2000;
+  private static final double rotateTransitionDuration = 5000;
+
+  /**
+   * How much a node shrinks at the smallest point of its shake
+   */
+  private static final double SCALE_BY = -0.08;
+
+  /**
+   * Angle a node rotates either side of upright
+   */
+  private static final double ANGLE = 1;
+
+  private static final Interpolator EASING = Interpolator.EASE_BOTH;
+
+  /**
+   * Longest a node's scene can go without being shown before the node stops shaking, in
+   * nanoseconds of shake time
+   */
+  private static final long SHOW_GRACE = 5_000_000_000L;
+
+  /**
+   * Key of the node property holding the listener waiting for a node to be added to a scene
+   */
+  private static final String PENDING = GentleShakeAnimation.class.getName() + ".pending";
+
+  /**
+   * A node being shaken
+   */
+  private static class Shaking {
+    private final Node node;
+    private final double scaleX;
+    private final double scaleY;
+
+    /**
+     * Animation time the shake began, or -1 before the first pulse
+     */
+    private long start = -1;
+
+    /**
+     * Whether the node has been in a showing window
+     */
+    private boolean shown;
+
+    /**
+     * Shake time the node was added, for the grace period before it must be shown
+     */
+    private final long added;
+
+    private Shaking(Node node) {
+      this.node = node;
+      this.scaleX = node.getScaleX();
+      this.scaleY = node.getScaleY();
+      this.added = clock;
+    }
+  }
+
+  private static final List<Shaking> shaking = new ArrayList<>();
+
+  /**
+   * Time the shakes have been running, not counting time suspended, in nanoseconds
+   */
+  private static long clock;
+  private static long lastPulse;
+  private static boolean running;
+  private static boolean suspended;
+
+  private static final AnimationTimer driver = new AnimationTimer() {
+    @Override
+    public void handle(long now) {
+      pulse(now);
+    }
+  };
+
+  /**
+   * Start the gentle shake animation for the given node. Loops until the node leaves the window.
+   * If the node is not in a scene yet, it starts shaking once it is added to one.
+   *
+   * @param node node to animate.
+   */
+  public static void startAnimation(Node node) {
+    if (node.getScene() == null) {
+      startOnNextScene(node);
+      return;
+    }
+    for (Shaking existing : shaking) {
+      if (existing.node == node) {
+        return;
+      }
+    }
+    shaking.add(new Shaking(node));
+    update();
+  }
+
+  /**
+   * Start shaking the given node when it is next added to a scene. Only the node holds the
+   * listener, so a node that is never added can still be collected.
+   *
+   * @param node node to animate
+   */
+  private static void startOnNextScene(Node node) {
+    if (node.getProperties().containsKey(PENDING)) {
+      return;
+    }
+    ChangeListener<Scene> listener = new ChangeListener<>() {
+      @Override
+      public void changed(ObservableValue<? extends Scene> observable, Scene oldValue,
+          Scene newValue) {
+        if (newValue != null) {
+          observable.removeListener(this);
+          node.getProperties().remove(PENDING);
+          startAnimation(node);
+        }
+      }
+    };
+    node.getProperties().put(PENDING, listener);
+    node.sceneProperty().addListener(listener);
+  }
+
+  /**
+   * Stop the gentle shake animation for the given node, returning it to its resting state.
+   *
+   * @param node node to stop animating.
+   */
+  @SuppressWarnings("unchecked")
+  public static void stopAnimation(Node node) {
+    Object pending = node.getProperties().remove(PENDING);
+    if (pending != null) {
+      node.sceneProperty().removeListener((ChangeListener<Scene>) pending);
+    }
+    for (int i = 0; i < shaking.size(); i++) {
+      if (shaking.get(i).node == node) {
+        rest(shaking.remove(i));
+        break;
+      }
+    }
+    update();
+  }
+
+  /**
+   * Pause every shake while the given window is unfocused or minimised
+   *
+   * @param stage the game window
+   */
+  public static void attach(Stage stage) {
+    stage.focusedProperty().addListener((observable, oldValue, newValue) -> suspend(stage));
+    stage.iconifiedProperty().addListener((observable, oldValue, newValue) -> suspend(stage));
+    suspend(stage);
+  }
+
+  /**
+   * Get the number of nodes currently shaking
+   *
+   * @return shaking nodes
+   */
+  public static int getAnimatedCount() {
+    return shaking.size();
+  }
+
+  /**
+   * Suspend or resume the shakes to match the state of the window
+   *
+   * @param stage the game window
+   */
+  private static void suspend(Stage stage) {
+    boolean suspend = !stage.isFocused() || stage.isIconified();
+    if (suspend != suspended) {
+      logger.debug(suspend ? "Suspending shake animations" : "Resuming shake animations");
+      suspended = suspend;
+      update();
+    }
+  }
+
+  /**
+   * Start or stop the driver, depending on whether there is anything to shake
+   */
+  private static void update() {
+    boolean run = !suspended && !shaking.isEmpty();
+    if (run && !running) {
+      lastPulse = 0;
+      driver.start();
+    } else if (!run && running) {
+      driver.stop();
+    }
+    running = run;
+  }
+
+  /**
+   * Set the scale and rotation of every shaking node
+   *
+   * @param now time of this pulse, in nanoseconds
+   */
+  private static void pulse(long now) {
+    if (lastPulse != 0) {
+      clock += now - lastPulse;
+    }
+    lastPulse = now;
+
+    for (int i = shaking.size() - 1; i >= 0; i--) {
+      Shaking shake = shaking.get(i);
+      Scene scene = shake.node.getScene();
+      boolean showing = scene != null && scene.getWindow() != null
+          && scene.getWindow().isShowing();
+      if (!showing) {
+        if (shake.shown || clock - shake.added > SHOW_GRACE) {
+          //Left the window, or its scene was never shown, so this node is finished with until
+          //it is added to another scene
+          shaking.remove(i);
+          rest(shake);
+          startOnNextScene(shake.node);
+        }
+        continue;
+      }
+      shake.shown = true;
+      if (shake.start < 0) {
+        shake.start = clock;
+      }
+
+      double millis = (clock - shake.start) / 1e6;
+      double scale = SCALE_BY * cycle(millis, scaleTransitionDuration);
+      shake.node.setScaleX(shake.scaleX + scale);
+      shake.node.setScaleY(shake.scaleY + scale);
+      shake.node.setRotate(-ANGLE + 2 * ANGLE * cycle(millis, rotateTransitionDuration));
+    }
+
+    if (shaking.isEmpty()) {
+      update();
+    }
+  }
+
+  /**
+   * Get how far through an auto-reversing cycle an animation is, eased at both ends
+   *
+   * @param millis   time since the animation began
+   * @param duration time to go one way, in milliseconds
+   * @return fraction from 0 to 1 and back
+   */
+  private static double cycle(double millis, double duration) {
+    double position = (millis / duration) % 2;
+    if (position > 1) {
+      position = 2 - position;
+    }
+    return EASING.interpolate(0.0, 1.0, position);
+  }
+
+  /**
+   * Return a node to the scale and rotation it had before it started shaking
+   *
+   * @param shake the shaking node
+   */
+  private static void rest(Shaking shake) {
+    shake.node.setScaleX(shake.scaleX);
+    shake.node.setScaleY(shake.scaleY);
+    shake.node.setRotate(0);
+  }
+}
@@ -0,0 +1,215 @@
+package uk.ac.soton.comp1206.component;
+
+import java.util.HashMap;
+import java.util.Map;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.AssetCache;
+
+/**
+ * Block Sprites are pre-rendered images of every kind of block at one cell size: empty, each colour
+ * in GameColours, highlighted, and the ghosts shown when previewing a placement.
+ * <p>
+ * Painting a block out of fills, an image and a rounded border is the most expensive thing a board
+ * does, so each kind is painted once on to a scratch canvas and kept as an image. Boards then paint
+ * a block with a single drawImage. Sprites are shared by every board with the same cell size, and
+ * are only rendered again for a size that has not been seen before.
+ * <p>
+ * Sprites must be created on the JavaFX thread, as they are rendered with a snapshot.
+ */
+public class BlockSprites {
+
+  private static final Logger logger = LogManager.getLogger(BlockSprites.class);
+
+  private static final double ARC_RATIO = 3;
+
+  /**
+   * Sprites for each cell size seen so far
+   */
+  private static final Map<String, BlockSprites> cache = new HashMap<>();
+
+  /**
+   * Sprite for each block value, 0 being empty
+   */
+  private final Image[] values;
+
+  private final Image highlight;
+
+  /**
+   * Ghosts painted over a cell in a placement preview, for a valid and an invalid placement
+   */
+  private final Image validPreview;
+  private final Image invalidPreview;
+
+  /**
+   * Image painted on to filled blocks
+   */
+  private final Image star;
+
+  /**
+   * Get the sprites for a cell size, rendering them if this size has not been used before
+   *
+   * @param width  cell width
+   * @param height cell height
+   * @return the sprites
+   */
+  public static BlockSprites forSize(double width, double height) {
+    String key = width + "x" + height;
+    BlockSprites sprites = cache.get(key);
+    if (sprites == null) {
+      sprites = new BlockSprites(width, height);
+      cache.put(key, sprites);
+      if (sprites.star.getProgress() < 1) {
+        //Render again once the image has loaded, rather than keep sprites without it
+        BlockSprites incomplete = sprites;
+        AssetCache.whenLoaded(sprites.star, () -> cache.remove(key, incomplete));
+      }
+    }
+    return sprites;
+  }
+
+  /**
+   * Drop the sprites of every cell size
+   */
+  public static void clear() {
+    cache.clear();
+  }
+
+  /**
+   * Render the sprites for a cell size
+   *
+   * @param width  cell width
+   * @param height cell height
+   */
+  private BlockSprites(double width, double height) {
+    logger.debug("Rendering block sprites at {} x {}", width, height);
+    star = AssetCache.image(GameBlock.BLOCK_IMAGE, width, height);
+
+    var canvas = new Canvas(width, height);
+    var gc = canvas.getGraphicsContext2D();
+    var parameters = new SnapshotParameters();
+    parameters.setFill(Color.TRANSPARENT);
+
+    values = new Image[GameBlock.COLOURS.length];
+    paintEmpty(gc, width, height);
+    values[0] = canvas.snapshot(parameters, null);
+    for (int value = 1; value < values.length; value++) {
+      paintColour(gc, width, height, GameBlock.COLOURS[value]);
+      values[value] = canvas.snapshot(parameters, null);
+    }
+    paintColour(gc, width, height, GameBlock.HighlightColour);
+    highlight = canvas.snapshot(parameters, null);
+
+    gc.clearRect(0, 0, width, height);
+    paintBlock(gc, width, height, GameBlock.HighlightColour);
+    validPreview = canvas.snapshot(parameters, null);
+    gc.clearRect(0, 0, width, height);
+    paintBlock(gc, width, height, GameBlock.InvalidColour);
+    invalidPreview = canvas.snapshot(parameters, null);
+  }
+
+  /**
+   * Get the sprite for a block value
+   *
+   * @param value block value, 0 for empty
+   * @return the sprite
+   */
+  public Image get(int value) {
+    return values[value];
+  }
+
+  /**
+   * Get the sprite for a highlighted block
+   *
+   * @return the sprite
+   */
+  public Image getHighlight() {
+    return highlight;
+  }
+
+  /**
+   * Get the ghost painted over a cell in a placement preview
+   *
+   * @param valid whether the previewed placement is valid
+   * @return the sprite, which is transparent around the block
+   */
+  public Image getPreview(boolean valid) {
+    return valid ? validPreview : invalidPreview;
+  }
+
+  /**
+   * Return if these sprites were rendered with the block image loaded
+   *
+   * @return if the sprites are final
+   */
+  public boolean isComplete() {
+    return star.getProgress() >= 1;
+  }
+
+  /**
+   * Run an action once these sprites are out of date because the block image has loaded, so that
+   * the sprites can be fetched again. Does nothing if the image had already loaded.
+   *
+   * @param action action to run on the JavaFX thread
+   */
+  public void whenStale(Runnable action) {
+    if (!isComplete()) {
+      AssetCache.whenLoaded(star, action);
+    }
+  }
+
+  /**
+   * Paint an empty block, as the sprite for value 0
+   *
+   * @param gc     graphics context of the scratch canvas
+   * @param width  cell width
+   * @param height cell height
+   */
+  private void paintEmpty(GraphicsContext gc, double width, double height) {
+    gc.clearRect(0, 0, width, height);
+    gc.setFill(GameBlock.EmptyColour);
+    gc.fillRect(0, 0, width, height);
+    gc.setStroke(Color.WHITE);
+    gc.strokeRect(0, 0, width, height);
+  }
+
+  /**
+   * Paint a filled block of the given colour
+   *
+   * @param gc     graphics context of the scratch canvas
+   * @param width  cell width
+   * @param height cell height
+   * @param colour the colour to paint
+   */
+  private void paintColour(GraphicsContext gc, double width, double height, Paint colour) {
+    gc.clearRect(0, 0, width, height);
+    gc.setFill(GameBlock.EmptyColour);
+    gc.fillRect(0, 0, width, height);
+    paintBlock(gc, width, height, colour);
+  }
+
+  /**
+   * Paint a block of the given colour, leaving the corners as they are
+   *
+   * @param gc     graphics context of the scratch canvas
+   * @param width  cell width
+   * @param height cell height
+   * @param colour the colour to paint
+   */
+  private void paintBlock(GraphicsContext gc, double width, double height, Paint colour) {
+    double arcWidth = width / ARC_RATIO;
+    double arcHeight = height / ARC_RATIO;
+
+    gc.setFill(colour);
+    gc.fillRoundRect(0, 0, width, height, arcWidth, arcHeight);
+    gc.drawImage(star, 0, 0, width, height);
+    gc.setStroke(Color.WHITE);
+    gc.strokeRoundRect(0, 0, width, height, arcWidth, arcHeight);
+  }
+}
@@ -0,0 +1,508 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Cursor;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.animations.BoardAnimationDriver;
+import uk.ac.soton.comp1206.event.CellClickedListener;
+import uk.ac.soton.comp1206.event.CellHoveredListener;
+import uk.ac.soton.comp1206.event.LineClearEvent;
+import uk.ac.soton.comp1206.event.RightClicked;
+import uk.ac.soton.comp1206.game.Grid;
+
+/**
+ * A CanvasGameBoard is a visual component representing a Grid, drawn on to a single Canvas rather
+ * than with one GameBlock per cell like the GameBoard. Cells look the same as GameBlocks.
+ * <p>
+ * Changes to the grid only mark their cell as dirty. Dirty cells are repainted together once per
+ * pulse, so a line clear changing many cells costs one pass, and the scene graph holds a single
+ * node whatever the size of the board. Mouse events are turned into cells by dividing by the cell
+ * size, instead of every cell having handlers of its own.
+ * <p>
+ * A board can also be given a fixed cell size, for grids too large to show whole. The canvas is
+ * then a viewport on to part of the board, which can be panned with the scroll wheel or by dragging
+ * with the middle button. Only the cells inside the viewport are ever painted, so the cost of a
+ * frame depends on the size of the canvas rather than the size of the grid.
+ * <p>
+ * Like the GameBoard, the CanvasGameBoard is only a visual representation and holds no game logic.
+ */
+public class CanvasGameBoard extends Canvas {
+
+  private static final Logger logger = LogManager.getLogger(CanvasGameBoard.class);
+
+  /**
+   * Number of columns in the board
+   */
+  protected final int cols;
+
+  /**
+   * Number of rows in the board
+   */
+  protected final int rows;
+
+  /**
+   * The grid this board represents
+   */
+  private final Grid grid;
+
+  private final double cellWidth;
+  private final double cellHeight;
+
+  /**
+   * Position of the viewport on the board, in pixels from the top left. Both stay at 0 when the
+   * whole board fits on the canvas.
+   */
+  private double viewX;
+  private double viewY;
+
+  /**
+   * Mouse position a middle button drag last panned from
+   */
+  private double dragX;
+  private double dragY;
+
+  /**
+   * Pre-rendered images of each kind of block at the cell size
+   */
+  private BlockSprites sprites;
+
+  /**
+   * Cells waiting to be repainted, one bit per cell indexed by y * cols + x
+   */
+  private final long[] dirty;
+  private boolean anyDirty;
+
+  /**
+   * Opacity of the fade over each cell, 0 when the cell is not fading
+   */
+  private final double[] fade;
+
+  /**
+   * Index of each fading cell, in the first fadingCount entries, so a pulse only visits those
+   */
+  private final int[] fading;
+  private int fadingCount;
+
+  /**
+   * Time each fade began, or -1 if it began after the last pulse
+   */
+  private final long[] fadeStart;
+
+  /**
+   * Highlighted cell, or -1
+   */
+  private int highlighted = -1;
+
+  /**
+   * Cell under the mouse, or -1
+   */
+  private int hovered = -1;
+
+  private CellClickedListener cellClickedListener;
+  private RightClicked rightClickedListener;
+  private CellHoveredListener cellHoveredListener;
+
+  /**
+   * Repaints dirty cells and steps fades each pulse, and stops itself when there is nothing to do
+   */
+  private final AnimationTimer pulse = new AnimationTimer() {
+    @Override
+    public void handle(long now) {
+      stepFades(now);
+      flush();
+      if (!anyDirty && fadingCount == 0) {
+        stop();
+        pulseRunning = false;
+      }
+    }
+  };
+  private boolean pulseRunning;
+
+  /**
+   * Create a new CanvasGameBoard, based off a given grid, with a visual width and height.
+   *
+   * @param grid   linked grid
+   * @param width  the visual width
+   * @param height the visual height
+   */
+  public CanvasGameBoard(Grid grid, double width, double height) {
+    this(grid, width, height, width / grid.getCols(), height / grid.getRows());
+  }
+
+  /**
+   * Create a new CanvasGameBoard with square cells of a fixed size, showing as much of the grid as
+   * fits in the given width and height. The rest of the grid can be reached by panning.
+   *
+   * @param grid     linked grid
+   * @param width    the visual width
+   * @param height   the visual height
+   * @param cellSize width and height of each cell
+   */
+  public CanvasGameBoard(Grid grid, double width, double height, double cellSize) {
+    this(grid, width, height, cellSize, cellSize);
+  }
+
+  /**
+   * Create a new CanvasGameBoard with the given cell size
+   *
+   * @param grid       linked grid
+   * @param width      the visual width
+   * @param height     the visual height
+   * @param cellWidth  width of each cell
+   * @param cellHeight height of each cell
+   */
+  private CanvasGameBoard(Grid grid, double width, double height, double cellWidth,
+      double cellHeight) {
+    super(width, height);
+    this.grid = grid;
+    this.cols = grid.getCols();
+    this.rows = grid.getRows();
+    this.cellWidth = cellWidth;
+    this.cellHeight = cellHeight;
+    this.dirty = new long[(cols * rows + 63) >>> 6];
+    this.fade = new double[cols * rows];
+    this.fading = new int[cols * rows];
+    this.fadeStart = new long[cols * rows];
+    this.sprites = BlockSprites.forSize(cellWidth, cellHeight);
+
+    logger.info("Building canvas grid: {} x {}", cols, rows);
+
+    //Listen to the storage directly, so no properties are created for the cells
+    grid.getCore().addCellListener((x, y, value) -> markDirty(y * cols + x));
+
+    setOnMouseMoved(this::mouseMoved);
+    setOnMouseExited(event -> hover(-1));
+    setOnMouseClicked(this::mouseClicked);
+    setOnScroll(event -> scrollTo(viewX - event.getDeltaX(), viewY - event.getDeltaY()));
+    setOnMousePressed(event -> {
+      dragX = event.getX();
+      dragY = event.getY();
+    });
+    setOnMouseDragged(this::mouseDragged);
+
+    paintAll();
+    sprites.whenStale(() -> {
+      sprites = BlockSprites.forSize(cellWidth, cellHeight);
+      paintAll();
+    });
+  }
+
+  /**
+   * Get the column at the given x position on the board
+   *
+   * @param x x position, relative to the board
+   * @return column, or -1 if outside the board
+   */
+  public int columnAt(double x) {
+    int col = (int) Math.floor((x + viewX) / cellWidth);
+    return col >= 0 && col < cols ? col : -1;
+  }
+
+  /**
+   * Get the row at the given y position on the board
+   *
+   * @param y y position, relative to the board
+   * @return row, or -1 if outside the board
+   */
+  public int rowAt(double y) {
+    int row = (int) Math.floor((y + viewY) / cellHeight);
+    return row >= 0 && row < rows ? row : -1;
+  }
+
+  /**
+   * Get the cell at the position of a mouse event
+   *
+   * @param event mouse event on this board
+   * @return cell index, or -1 if outside the board
+   */
+  private int cellAt(MouseEvent event) {
+    int x = columnAt(event.getX());
+    int y = rowAt(event.getY());
+    return x < 0 || y < 0 ? -1 : y * cols + x;
+  }
+
+  /**
+   * Track the cell under the mouse as it moves
+   *
+   * @param event mouse event
+   */
+  private void mouseMoved(MouseEvent event) {
+    hover(cellAt(event));
+  }
+
+  /**
+   * Change the hovered cell, highlighting it and calling the listener if it has changed
+   *
+   * @param cell cell now under the mouse, or -1
+   */
+  private void hover(int cell) {
+    if (cell == hovered) {
+      return;
+    }
+    hovered = cell;
+    setCursor(cell < 0 ? Cursor.DEFAULT : Cursor.HAND);
+    if (cell < 0) {
+      removeHighlight();
+    } else {
+      highlight(cell % cols, cell / cols);
+    }
+    if (cellHoveredListener != null) {
+      cellHoveredListener.cellHovered(cell < 0 ? -1 : cell % cols, cell < 0 ? -1 : cell / cols);
+    }
+  }
+
+  /**
+   * Pan the board while it is dragged with the middle button
+   *
+   * @param event mouse event
+   */
+  private void mouseDragged(MouseEvent event) {
+    if (event.getButton() == MouseButton.MIDDLE) {
+      scrollTo(viewX - (event.getX() - dragX), viewY - (event.getY() - dragY));
+      dragX = event.getX();
+      dragY = event.getY();
+    }
+  }
+
+  /**
+   * Move the viewport so its top left is at the given position on the board, keeping it inside
+   * the board
+   *
+   * @param x pixels from the left of the board
+   * @param y pixels from the top of the board
+   */
+  public void scrollTo(double x, double y) {
+    x = Math.max(0, Math.min(x, cols * cellWidth - getWidth()));
+    y = Math.max(0, Math.min(y, rows * cellHeight - getHeight()));
+    if (x == viewX && y == viewY) {
+      return;
+    }
+    viewX = x;
+    viewY = y;
+    paintAll();
+  }
+
+  /**
+   * Move the viewport by as little as possible to bring the given cell fully into view
+   *
+   * @param x column
+   * @param y row
+   */
+  public void reveal(int x, int y) {
+    double left = x * cellWidth;
+    double top = y * cellHeight;
+    double newX = Math.min(viewX, left);
+    double newY = Math.min(viewY, top);
+    newX = Math.max(newX, left + cellWidth - getWidth());
+    newY = Math.max(newY, top + cellHeight - getHeight());
+    scrollTo(newX, newY);
+  }
+
+  /**
+   * Call the attached listener for the cell that was clicked
+   *
+   * @param event mouse event
+   */
+  private void mouseClicked(MouseEvent event) {
+    if (event.getButton() == MouseButton.SECONDARY) {
+      if (rightClickedListener != null) {
+        logger.trace("Right mouse clicked");
+        rightClickedListener.rightClicked(event);
+      }
+    } else if (event.getButton() == MouseButton.PRIMARY) {
+      int cell = cellAt(event);
+      logger.debug("Cell clicked: {}", cell);
+      if (cell >= 0 && cellClickedListener != null) {
+        cellClickedListener.cellClicked(cell % cols, cell / cols);
+      }
+    }
+  }
+
+  /**
+   * Highlight the given cell, removing the highlight from any other
+   *
+   * @param x column
+   * @param y row
+   */
+  public void highlight(int x, int y) {
+    int cell = y * cols + x;
+    if (cell == highlighted) {
+      return;
+    }
+    removeHighlight();
+    highlighted = cell;
+    markDirty(cell);
+  }
+
+  /**
+   * Remove the highlight from the highlighted cell, if there is one
+   */
+  public void removeHighlight() {
+    if (highlighted >= 0) {
+      markDirty(highlighted);
+      highlighted = -1;
+    }
+  }
+
+  /**
+   * Fade out every cell cleared in the given event
+   *
+   * @param event the line clear
+   */
+  public void fadeOut(LineClearEvent event) {
+    for (int cell = event.nextCell(0); cell >= 0; cell = event.nextCell(cell + 1)) {
+      int index = event.cellY(cell) * cols + event.cellX(cell);
+      if (fade[index] == 0) {
+        fading[fadingCount++] = index;
+      }
+      fade[index] = 1;
+      fadeStart[index] = -1;
+      markDirty(index);
+    }
+  }
+
+  /**
+   * Set the listener to handle an event when a cell is clicked
+   *
+   * @param listener listener to add
+   */
+  public void setOnCellClick(CellClickedListener listener) {
+    this.cellClickedListener = listener;
+  }
+
+  /**
+   * Set the listener to handle an event when the board is right clicked
+   *
+   * @param listener listener to add
+   */
+  public void setOnRightClicked(RightClicked listener) {
+    this.rightClickedListener = listener;
+  }
+
+  /**
+   * Set the listener to handle an event when the mouse moves on to another cell
+   *
+   * @param listener listener to add
+   */
+  public void setCellHoveredListener(CellHoveredListener listener) {
+    this.cellHoveredListener = listener;
+  }
+
+  /**
+   * Mark a cell as needing a repaint on the next pulse
+   *
+   * @param cell cell index
+   */
+  private void markDirty(int cell) {
+    dirty[cell >>> 6] |= 1L << cell;
+    anyDirty = true;
+    if (!pulseRunning) {
+      pulseRunning = true;
+      pulse.start();
+    }
+  }
+
+  /**
+   * Update the opacity of every fading cell, with the same easing as a GameBoard
+   *
+   * @param now time of this pulse, in nanoseconds
+   */
+  private void stepFades(long now) {
+    int i = 0;
+    while (i < fadingCount) {
+      int cell = fading[i];
+      if (fadeStart[cell] < 0) {
+        fadeStart[cell] = now;
+      }
+      fade[cell] = BoardAnimationDriver.fadeOpacity(now - fadeStart[cell]);
+      markDirty(cell);
+      if (fade[cell] == 0) {
+        //Finished, so move the last fading cell into its place
+        fading[i] = fading[--fadingCount];
+      } else {
+        i++;
+      }
+    }
+  }
+
+  /**
+   * Repaint every dirty cell
+   */
+  private void flush() {
+    if (!anyDirty) {
+      return;
+    }
+    var gc = getGraphicsContext2D();
+    for (int word = 0; word < dirty.length; word++) {
+      long bits = dirty[word];
+      dirty[word] = 0;
+      while (bits != 0) {
+        paintCell(gc, (word << 6) + Long.numberOfTrailingZeros(bits));
+        bits &= bits - 1;
+      }
+    }
+    anyDirty = false;
+  }
+
+  /**
+   * Paint every cell in the viewport
+   */
+  private void paintAll() {
+    var gc = getGraphicsContext2D();
+    gc.clearRect(0, 0, getWidth(), getHeight());
+    int lastX = lastVisible(viewX + getWidth(), cellWidth, cols);
+    int lastY = lastVisible(viewY + getHeight(), cellHeight, rows);
+    for (int y = (int) (viewY / cellHeight); y <= lastY; y++) {
+      for (int x = (int) (viewX / cellWidth); x <= lastX; x++) {
+        paintCell(gc, y * cols + x);
+      }
+    }
+  }
+
+  /**
+   * Get the last column or row with any part inside the viewport
+   *
+   * @param end      right or bottom edge of the viewport, in board pixels
+   * @param cellSize cell width or height
+   * @param count    number of columns or rows
+   * @return the last visible column or row
+   */
+  private static int lastVisible(double end, double cellSize, int count) {
+    return Math.min(count - 1, (int) Math.ceil(end / cellSize) - 1);
+  }
+
+  /**
+   * Paint a single cell as a GameBlock would, if any of it is inside the viewport
+   *
+   * @param gc   graphics context of this canvas
+   * @param cell cell index
+   */
+  private void paintCell(GraphicsContext gc, int cell) {
+    double left = (cell % cols) * cellWidth - viewX;
+    double top = (cell / cols) * cellHeight - viewY;
+    if (left + cellWidth <= 0 || top + cellHeight <= 0 || left >= getWidth()
+        || top >= getHeight()) {
+      return;
+    }
+    int value = grid.get(cell % cols, cell / cols);
+
+    //Clear, as blocks are partly transparent
+    gc.clearRect(left, top, cellWidth, cellHeight);
+    Image sprite = cell == highlighted ? sprites.getHighlight() : sprites.get(value);
+    gc.drawImage(sprite, left, top, cellWidth, cellHeight);
+
+    if (fade[cell] > 0) {
+      gc.setGlobalAlpha(fade[cell]);
+      gc.setFill(Color.WHITE);
+      gc.fillRect(left, top, cellWidth, cellHeight);
+      gc.setGlobalAlpha(1);
+    }
+  }
+}
@@ -1,14 +1,11 @@
 package uk.ac.soton.comp1206.component;
 
-import javafx.animation.AnimationTimer;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.Paint;
-import uk.ac.soton.comp1206.animations.GameBlockFadeAnimation;
 
 /**
  * The Visual User Interface component representing a single block in the grid.
@@ -35,6 +32,22 @@ public class GameBlock extends Canvas {
    * Colour for a highlighted GameBlock
    */
   public static final Color HighlightColour = Color.color(1, 1, 1, 0.5);
+  /**
+   * Colour of a GameBlock previewing a placement that cannot be made
+   */
+  public static final Color InvalidColour = Color.color(1, 0.2, 0.2, 0.5);
+  /**
+   * Preview state of a GameBlock not in a placement preview
+   */
+  public static final int NO_PREVIEW = 0;
+  /**
+   * Preview state of a GameBlock in the preview of a valid placement
+   */
+  public static final int VALID_PREVIEW = 1;
+  /**
+   * Preview state of a GameBlock in the preview of an invalid placement
+   */
+  public static final int INVALID_PREVIEW = 2;
   //////////
   /**
    * Boolean to show if this GameBlock is highlighted or not.
@@ -42,14 +55,22 @@ public class GameBlock extends Canvas {
   public boolean IsHighlighted = false;
   private final double width;
   private final double height;
-  private final double arcWidth;
-  private static final double GAMEBLOCK_ARCWIDTH_RATIO = 3;
-  private final double arcHeight;
-  private static final double GAMEBLOCK_ARCHEIGHT_RATIO = 3;
 
   ////////////
-  private final Image blockImage = new Image(
-      this.getClass().getResource("/images/custom/star.png").toExternalForm());
+  /**
+   * Resource path of the image painted on to filled blocks
+   */
+  public static final String BLOCK_IMAGE = "/images/custom/star.png";
+
+  /**
+   * Pre-rendered images of each kind of block at this block's size
+   */
+  private BlockSprites sprites;
+
+  /**
+   * Whether this block is part of a placement preview, and if so whether the placement is valid
+   */
+  private int preview = NO_PREVIEW;
 
   /**
    * The column this block exists as in the grid
@@ -84,11 +105,15 @@ public class GameBlock extends Canvas {
     setWidth(width);
     setHeight(height);
 
-    arcWidth = width / GAMEBLOCK_ARCWIDTH_RATIO;
-    arcHeight = height / GAMEBLOCK_ARCHEIGHT_RATIO;
+    //Shared with every other block of this size
+    sprites = BlockSprites.forSize(width, height);
 
-    //Do an initial paint
+    //Do an initial paint, and again if the block image was still loading
     paint();
+    sprites.whenStale(() -> {
+      sprites = BlockSprites.forSize(width, height);
+      paint();
+    });
 
     //When the value property is updated, call the internal updateValue method
     value.addListener(this::updateValue);
@@ -115,17 +140,43 @@ public class GameBlock extends Canvas {
       paintEmpty();
     } else {
       //If the block is not empty, paint with the colour represented by the value
-      paintColor(COLOURS[value.get()]);
+      paintSprite(sprites.get(value.get()));
+    }
+    //Paint the ghost of a previewed placement over the top
+    if (preview != NO_PREVIEW) {
+      getGraphicsContext2D().drawImage(sprites.getPreview(preview == VALID_PREVIEW), 0, 0, width,
+          height);
     }
   }
 
+  /**
+   * Set whether this block is part of a placement preview, repainting if that has changed
+   *
+   * @param preview NO_PREVIEW, VALID_PREVIEW or INVALID_PREVIEW
+   */
+  public void setPreview(int preview) {
+    if (this.preview != preview) {
+      this.preview = preview;
+      paint();
+    }
+  }
+
+  /**
+   * Get whether this block is part of a placement preview
+   *
+   * @return NO_PREVIEW, VALID_PREVIEW or INVALID_PREVIEW
+   */
+  public int getPreview() {
+    return preview;
+  }
+
 
   /**
    * If the GameBlock is not highlighted, paint the highlight colour.
    */
   public void paintHighlight() {
     if (!IsHighlighted) {
-      paintColor(HighlightColour);
+      paintSprite(sprites.getHighlight());
       IsHighlighted = true;
     }
   }
@@ -141,15 +192,7 @@ public class GameBlock extends Canvas {
   }
 
   /**
-   * Create a GameBlockFadeAnimation to play on this GameBlock.
-   */
-  public void fadeOut() {
-    AnimationTimer fadeAnimation = new GameBlockFadeAnimation(this);
-    fadeAnimation.start();
-  }
-
-  /**
-   * Paint a colour for this GameBlock based on the given opacity. Used with fadeOut()
+   * Paint a colour for this GameBlock based on the given opacity. Used by the BoardAnimationDriver
    *
    * @param opacity double representing the opacity of this highlight.
    */
@@ -167,48 +210,20 @@ public class GameBlock extends Canvas {
    * Paint this canvas empty
    */
   private void paintEmpty() {
-    var gc = getGraphicsContext2D();
-
-    //Clear
-    gc.clearRect(0, 0, width, height);
-
-    //Fill
-    gc.setFill(EmptyColour);
-    gc.fillRect(0, 0, width, height);
-
-    //Border
-    //gc.setStroke(Color.BLACK);
-    gc.setStroke(Color.WHITE);
-    gc.strokeRect(0, 0, width, height);
+    paintSprite(sprites.get(0));
   }
 
   /**
-   * Paint this canvas with the given colour
+   * Paint this canvas with a pre-rendered block
    *
-   * @param colour the colour to paint
+   * @param sprite the block to paint
    */
-  private void paintColor(Paint colour) {
+  private void paintSprite(Image sprite) {
     var gc = getGraphicsContext2D();
 
-    //Clear
+    //Clear, as blocks are partly transparent
     gc.clearRect(0, 0, width, height);
-
-    //Colour fill
-    //Changed to fill background with transparent first
-    gc.setFill(EmptyColour);
-    gc.fillRect(0, 0, width, height);
-
-    //Insert a custom block design here
-    gc.setFill(colour);
-    gc.fillRoundRect(0, 0, width, height, arcWidth, arcHeight);
-
-    //Paint a cool image on to the block
-    gc.drawImage(blockImage, 0, 0, width, height);
-
-    //Border
-    //gc.setStroke(Color.BLACK);
-    gc.setStroke(Color.WHITE);
-    gc.strokeRoundRect(0, 0, width, height, arcWidth, arcHeight);
+    gc.drawImage(sprite, 0, 0, width, height);
   }
 
   /**
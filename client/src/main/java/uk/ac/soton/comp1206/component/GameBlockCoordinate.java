@@ -128,10 +128,7 @@ public class GameBlockCoordinate {
   @Override
   public int hashCode() {
     if (hash == 0) {
-      long bits = 7L;
-      bits = 31L * bits + Double.doubleToLongBits(getX());
-      bits = 31L * bits + Double.doubleToLongBits(getY());
-      hash = (int) (bits ^ (bits >> 32));
+      hash = 31 * (31 * 7 + x) + y;
     }
     return hash;
   }
@@ -1,15 +1,19 @@
 package uk.ac.soton.comp1206.component;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 import javafx.scene.Cursor;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.animations.BoardAnimationDriver;
 import uk.ac.soton.comp1206.event.BlockClickedListener;
 import uk.ac.soton.comp1206.event.BlockHoveredListener;
+import uk.ac.soton.comp1206.event.LineClearEvent;
 import uk.ac.soton.comp1206.event.RightClicked;
+import uk.ac.soton.comp1206.game.GamePiece;
 import uk.ac.soton.comp1206.game.Grid;
 
 /**
@@ -80,6 +84,31 @@ public class GameBoard extends GridPane {
    */
   private GameBlock hoveredBlock;
 
+  /**
+   * Piece shown as a ghost at the hovered block, or null to highlight just the hovered block
+   */
+  private GamePiece previewPiece;
+
+  /**
+   * Block the preview is centred on, or null when nothing is hovered
+   */
+  private GameBlock previewBlock;
+
+  /**
+   * Blocks currently painted as part of the preview
+   */
+  private final List<GameBlock> previewed = new ArrayList<>();
+
+  /**
+   * Block currently highlighted when there is no preview piece, or null
+   */
+  private GameBlock highlightedBlock;
+
+  /**
+   * Animates every block on this board that is fading out
+   */
+  private final BoardAnimationDriver animationDriver = new BoardAnimationDriver();
+
 
   /**
    * Create a new GameBoard, based off a given grid, with a visual width and height.
@@ -141,6 +170,13 @@ public class GameBoard extends GridPane {
 
     setGridLinesVisible(true);
 
+    //Leaving a block for its neighbour keeps the preview, only leaving the board clears it
+    setOnMouseExited(event -> {
+      if (previewBlock != null) {
+        blockHovered(false, previewBlock);
+      }
+    });
+
     blocks = new GameBlock[cols][rows];
 
     for (var y = 0; y < rows; y++) {
@@ -172,6 +208,8 @@ public class GameBoard extends GridPane {
 
     //Link the GameBlock component to the corresponding value in the Grid
     block.bind(grid.getGridProperty(x, y));
+    //Filling or clearing a cell under the preview can change whether it fits
+    grid.getGridProperty(x, y).addListener((observable, oldValue, newValue) -> cellChanged(x, y));
 
     //Add a mouse click handler to the block to trigger GameBoard blockClicked method
     block.setOnMouseClicked((e) -> blockClicked(e, block));
@@ -181,26 +219,104 @@ public class GameBoard extends GridPane {
       blockHovered(true, block);
       block.setCursor(Cursor.HAND);
     });
-    block.setOnMouseExited(event -> {
-      blockHovered(false, block);
-      block.setCursor(Cursor.DEFAULT);
-    });
+    block.setOnMouseExited(event -> block.setCursor(Cursor.DEFAULT));
 
     return block;
   }
 
   /**
-   * Remove highlights from other blocks, and highlight/remove highlight from the given GameBlock.
+   * Move the preview on to the given GameBlock, or clear it if the block is no longer hovered.
+   * Only blocks whose part in the preview changes are repainted.
    *
    * @param IsHovered if the block has been hovered
    * @param block     GameBlock to affect
    */
   public void blockHovered(boolean IsHovered, GameBlock block) {
-    removeAllHighlights();
     if (IsHovered) {
-      block.paintHighlight();
-    } else {
-      block.removePaintHighlight();
+      previewBlock = block;
+    } else if (block == previewBlock) {
+      previewBlock = null;
+    }
+    updatePreview();
+  }
+
+  /**
+   * Retint the preview when a cell it covers changes, such as when a line is cleared after the
+   * next piece has been set. Changes anywhere else cannot affect it.
+   *
+   * @param x column of the changed cell
+   * @param y row of the changed cell
+   */
+  private void cellChanged(int x, int y) {
+    if (previewPiece != null && previewBlock != null && Math.abs(x - previewBlock.getX()) <= 1
+        && Math.abs(y - previewBlock.getY()) <= 1) {
+      updatePreview();
+    }
+  }
+
+  /**
+   * Set the piece to preview at the hovered block, such as the current piece of the game
+   *
+   * @param piece piece to preview, or null to highlight just the hovered block
+   */
+  public void setPreviewPiece(GamePiece piece) {
+    this.previewPiece = piece;
+    updatePreview();
+  }
+
+  /**
+   * Paint the preview piece as a ghost centred on the preview block, tinted by whether it can be
+   * played there. Blocks leaving the preview are repainted, and blocks in it are repainted only if
+   * their tint changes.
+   */
+  private void updatePreview() {
+    //Without a piece, highlight the hovered block alone
+    GameBlock highlight = previewPiece == null ? previewBlock : null;
+    if (highlight != highlightedBlock) {
+      if (highlightedBlock != null) {
+        highlightedBlock.removePaintHighlight();
+      }
+      if (highlight != null) {
+        highlight.paintHighlight();
+      }
+      highlightedBlock = highlight;
+    }
+
+    int shape = 0;
+    int left = 0;
+    int top = 0;
+    int state = GameBlock.NO_PREVIEW;
+    if (previewPiece != null && previewBlock != null) {
+      shape = previewPiece.getShape();
+      left = previewBlock.getX() - 1;
+      top = previewBlock.getY() - 1;
+      state = grid.canPlayPiece(previewPiece, left, top) ? GameBlock.VALID_PREVIEW
+          : GameBlock.INVALID_PREVIEW;
+    }
+
+    //Take out the blocks the piece no longer covers
+    for (int i = previewed.size() - 1; i >= 0; i--) {
+      GameBlock block = previewed.get(i);
+      int bit = (block.getY() - top) * 3 + (block.getX() - left);
+      boolean covered = block.getX() - left >= 0 && block.getX() - left < 3
+          && block.getY() - top >= 0 && block.getY() - top < 3 && (shape & (1 << bit)) != 0;
+      if (!covered) {
+        block.setPreview(GameBlock.NO_PREVIEW);
+        previewed.remove(i);
+      }
+    }
+
+    //Add or retint the blocks it covers
+    for (int bit = 0; bit < 9; bit++) {
+      int x = left + bit % 3;
+      int y = top + bit / 3;
+      if ((shape & (1 << bit)) != 0 && x >= 0 && x < cols && y >= 0 && y < rows) {
+        GameBlock block = blocks[x][y];
+        if (block.getPreview() == GameBlock.NO_PREVIEW) {
+          previewed.add(block);
+        }
+        block.setPreview(state);
+      }
     }
   }
 
@@ -234,16 +350,14 @@ public class GameBoard extends GridPane {
   }
 
   /**
-   * Call the fade transition on all GameBlocks from the given GameBlockCoordinate set.
+   * Fade out all GameBlocks cleared in the given event.
    *
-   * @param gameBlockCoordinateSet set of coordinates cleared
+   * @param event the line clear
    */
-  public void fadeOut(Set<GameBlockCoordinate> gameBlockCoordinateSet) {
-    for (GameBlockCoordinate blockCoordinate : gameBlockCoordinateSet) {
-      GameBlock block = getBlock(blockCoordinate.getX(), blockCoordinate.getY());
-      block.fadeOut();
+  public void fadeOut(LineClearEvent event) {
+    for (int cell = event.nextCell(0); cell >= 0; cell = event.nextCell(cell + 1)) {
+      animationDriver.fade(getBlock(event.cellX(cell), event.cellY(cell)));
     }
-
   }
 
   /**
@@ -280,12 +394,12 @@ public class GameBoard extends GridPane {
    * @param block block clicked on
    */
   protected void blockClicked(MouseEvent event, GameBlock block) {
-    logger.info("Block clicked: {" + block + "}" + " with " + event.getButton());
+    logger.debug("Block clicked: {} with {}", block, event.getButton());
 
     //Right click
     if (event.getButton() == MouseButton.SECONDARY) {
       if (rightClickedlistener != null) {
-        logger.info("Right mouse clicked");
+        logger.trace("Right mouse clicked");
         rightClickedlistener.rightClicked(event);
       }
     } else if (event.getButton() == MouseButton.PRIMARY) {
@@ -0,0 +1,235 @@
+package uk.ac.soton.comp1206.component;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.scene.layout.StackPane;
+import javafx.scene.text.Text;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.AssetCache;
+import uk.ac.soton.comp1206.SoundBank;
+import uk.ac.soton.comp1206.engine.GameEngine;
+import uk.ac.soton.comp1206.network.Communicator;
+
+/**
+ * The Performance HUD is an overlay showing how smoothly the game is running: frame rate and frame
+ * time percentiles, how busy the JavaFX thread is, memory and garbage collection, live threads,
+ * the asset cache, network traffic and the time the engine spends clearing lines.
+ * <p>
+ * Frame times are recorded every frame by an AnimationTimer into a ring buffer. Everything else is
+ * read from the MXBeans and counters only when the text is refreshed, twice a second, so the
+ * overlay costs next to nothing while it is showing and nothing at all while it is hidden.
+ */
+public class PerformanceHud extends StackPane {
+
+  private static final Logger logger = LogManager.getLogger(PerformanceHud.class);
+
+  /**
+   * Number of frame times kept, a few seconds at 60 frames per second
+   */
+  private static final int FRAME_SAMPLES = 256;
+
+  /**
+   * Time between text refreshes, in nanoseconds
+   */
+  private static final long REFRESH_INTERVAL = 500_000_000L;
+
+  private final Text text = new Text();
+
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private final List<GarbageCollectorMXBean> collectors =
+      ManagementFactory.getGarbageCollectorMXBeans();
+
+  /**
+   * Time between recent frames, as a ring buffer
+   */
+  private final long[] frameTimes = new long[FRAME_SAMPLES];
+  private final long[] sorted = new long[FRAME_SAMPLES];
+  private int frameIndex;
+  private int frameCount;
+  private long lastFrame;
+
+  //Values at the last refresh, to turn totals into rates
+  private long lastRefresh;
+  private int framesSinceRefresh;
+  private long lastFxCpuTime;
+  private long lastMessages;
+  private long lastChars;
+
+  /**
+   * Id of the JavaFX Application Thread, found on the first frame
+   */
+  private long fxThreadId = -1;
+
+  private final Communicator communicator;
+  private GameEngine engine;
+
+  /**
+   * Samples every frame while the overlay is showing
+   */
+  private final AnimationTimer sampler = new AnimationTimer() {
+    @Override
+    public void handle(long now) {
+      sample(now);
+    }
+  };
+
+  /**
+   * Create a new, hidden performance overlay
+   *
+   * @param communicator communicator to report traffic for
+   */
+  public PerformanceHud(Communicator communicator) {
+    this.communicator = communicator;
+    getStyleClass().add("performance-hud");
+    setPadding(new Insets(6));
+    setMaxSize(USE_PREF_SIZE, USE_PREF_SIZE);
+    setMouseTransparent(true);
+    getChildren().add(text);
+    setVisible(false);
+  }
+
+  /**
+   * Set the engine whose placements are timed
+   *
+   * @param engine engine of the current game, or null
+   */
+  public void watch(GameEngine engine) {
+    this.engine = engine;
+  }
+
+  /**
+   * Show the overlay if hidden, or hide it if showing
+   */
+  public void toggle() {
+    if (isVisible()) {
+      logger.info("Hiding performance overlay");
+      sampler.stop();
+      setVisible(false);
+    } else {
+      logger.info("Showing performance overlay");
+      frameCount = 0;
+      lastFrame = 0;
+      lastRefresh = 0;
+      sampler.start();
+      setVisible(true);
+    }
+  }
+
+  /**
+   * Record a frame, and refresh the text if it is due
+   *
+   * @param now time of the frame, in nanoseconds
+   */
+  private void sample(long now) {
+    if (fxThreadId < 0) {
+      fxThreadId = Thread.currentThread().getId();
+    }
+    if (lastFrame != 0) {
+      frameTimes[frameIndex] = now - lastFrame;
+      frameIndex = (frameIndex + 1) % FRAME_SAMPLES;
+      frameCount = Math.min(frameCount + 1, FRAME_SAMPLES);
+    }
+    lastFrame = now;
+    framesSinceRefresh++;
+
+    if (lastRefresh == 0) {
+      resetRates(now);
+    } else if (now - lastRefresh >= REFRESH_INTERVAL) {
+      refresh(now);
+    }
+  }
+
+  /**
+   * Start measuring rates from the given time
+   *
+   * @param now time in nanoseconds
+   */
+  private void resetRates(long now) {
+    lastRefresh = now;
+    framesSinceRefresh = 0;
+    lastFxCpuTime = fxCpuTime();
+    lastMessages = communicator.getMessagesSent() + communicator.getMessagesReceived();
+    lastChars = communicator.getCharsSent() + communicator.getCharsReceived();
+  }
+
+  /**
+   * Get the CPU time used by the JavaFX thread so far
+   *
+   * @return CPU time in nanoseconds, or -1 if it cannot be measured
+   */
+  private long fxCpuTime() {
+    return threads.isThreadCpuTimeSupported() ? threads.getThreadCpuTime(fxThreadId) : -1;
+  }
+
+  /**
+   * Update the text from the frame times, MXBeans and counters
+   *
+   * @param now time in nanoseconds
+   */
+  private void refresh(long now) {
+    double seconds = (now - lastRefresh) / 1e9;
+
+    System.arraycopy(frameTimes, 0, sorted, 0, frameCount);
+    Arrays.sort(sorted, 0, frameCount);
+
+    long fxCpuTime = fxCpuTime();
+    double fxBusy = fxCpuTime < 0 ? -1 : (fxCpuTime - lastFxCpuTime) / 1e7 / seconds;
+
+    long gcCount = 0;
+    long gcTime = 0;
+    for (GarbageCollectorMXBean collector : collectors) {
+      gcCount += Math.max(0, collector.getCollectionCount());
+      gcTime += Math.max(0, collector.getCollectionTime());
+    }
+
+    long messages = communicator.getMessagesSent() + communicator.getMessagesReceived();
+    long chars = communicator.getCharsSent() + communicator.getCharsReceived();
+    long roundTrip = communicator.getLastRoundTrip();
+
+    StringBuilder builder = new StringBuilder();
+    builder.append(String.format("FPS %.0f%n", framesSinceRefresh / seconds));
+    builder.append(String.format("Frame p50 %.1f  p95 %.1f  p99 %.1f ms%n",
+        percentile(0.5), percentile(0.95), percentile(0.99)));
+    builder.append(fxBusy < 0 ? "FX busy n/a\n" : String.format("FX busy %.0f%%%n", fxBusy));
+    builder.append(String.format("Heap %d MB  GC %d (%d ms)%n",
+        memory.getHeapMemoryUsage().getUsed() >> 20, gcCount, gcTime));
+    builder.append(String.format("Threads %d%n", threads.getThreadCount()));
+    builder.append(String.format("Assets %d (%d MB)  hit %d  miss %d  evicted %d%n",
+        AssetCache.getSize(), AssetCache.getBytes() >> 20, AssetCache.getHits(),
+        AssetCache.getMisses(), AssetCache.getEvictions()));
+    builder.append(String.format("Sounds %d  stolen %d  dropped %d%n", SoundBank.getPlayed(),
+        SoundBank.getStolen(), SoundBank.getDropped()));
+    builder.append(String.format("Net %.1f msg/s  %.0f chars/s  RTT %s%n",
+        (messages - lastMessages) / seconds, (chars - lastChars) / seconds,
+        roundTrip < 0 ? "n/a" : String.format("%.0f ms", roundTrip / 1e6)));
+    if (engine != null) {
+      builder.append(String.format("Clear %.1f us  max %.1f us",
+          engine.getLastAfterPieceNanos() / 1e3, engine.getMaxAfterPieceNanos() / 1e3));
+    }
+    text.setText(builder.toString());
+
+    resetRates(now);
+  }
+
+  /**
+   * Get a percentile of the recent frame times, from the sorted copy
+   *
+   * @param fraction percentile between 0 and 1
+   * @return frame time in milliseconds
+   */
+  private double percentile(double fraction) {
+    if (frameCount == 0) {
+      return 0;
+    }
+    int index = Math.min(frameCount - 1, (int) (fraction * frameCount));
+    return sorted[index] / 1e6;
+  }
+}
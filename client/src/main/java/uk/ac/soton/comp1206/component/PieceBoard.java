@@ -0,0 +1,57 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.scene.Cursor;
+import javafx.scene.image.ImageView;
+import uk.ac.soton.comp1206.game.GamePiece;
+
+/**
+ * Class to represent a PieceBoard, which displays a given piece in a grid.
+ * <p>
+ * The piece is shown as a thumbnail from PieceThumbnails, so displaying another piece only swaps
+ * the image rather than repainting a grid of blocks.
+ */
+public class PieceBoard extends ImageView {
+
+  /**
+   * Game Piece to display.
+   */
+  public static GamePiece currentPiece;
+
+  /**
+   * Game Piece displayed on this board, or null if empty.
+   */
+  private GamePiece piece;
+
+  private final double width;
+  private final double height;
+
+  /**
+   * Create a new 3x3 PieceBoard.
+   *
+   * @param width  the visual width
+   * @param height the visual height
+   */
+  public PieceBoard(double width, double height) {
+    this.width = width;
+    this.height = height;
+    setImage(PieceThumbnails.get(null, width, height));
+    setCursor(Cursor.HAND);
+
+    //Show the thumbnail again once it can be rendered with the block image
+    PieceThumbnails.whenStale(width, height,
+        () -> setImage(PieceThumbnails.get(piece, width, height)));
+  }
+
+  /**
+   * Display the specified GamePiece inside this PieceBoard.
+   *
+   * @param gamePiece GamePiece to display.
+   */
+  public void displayPiece(GamePiece gamePiece) {
+    //Set display to the piece
+    currentPiece = gamePiece;
+    piece = gamePiece;
+    setImage(PieceThumbnails.get(gamePiece, width, height));
+  }
+
+}
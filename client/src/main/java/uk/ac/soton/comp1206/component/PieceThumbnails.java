@@ -0,0 +1,128 @@
+package uk.ac.soton.comp1206.component;
+
+import java.util.HashMap;
+import java.util.Map;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.game.GamePiece;
+
+/**
+ * Piece Thumbnails are pre-rendered images of a piece in one rotation, laid out on a 3x3 grid as a
+ * PieceBoard shows it.
+ * <p>
+ * Each piece, rotation and size is painted once from the block sprites and kept, so showing a
+ * piece is a matter of swapping the image of an ImageView. There are only 15 pieces in 4 rotations,
+ * so the cache for a size never grows past 60 images.
+ * <p>
+ * Thumbnails must be created on the JavaFX thread, as they are rendered with a snapshot.
+ */
+public class PieceThumbnails {
+
+  private static final Logger logger = LogManager.getLogger(PieceThumbnails.class);
+
+  /**
+   * Number of cells across and down a thumbnail
+   */
+  private static final int CELLS = 3;
+
+  /**
+   * Thumbnails rendered so far, keyed by size, value and shape
+   */
+  private static final Map<String, Image> cache = new HashMap<>();
+
+  /**
+   * Get the thumbnail of a piece, rendering it if it has not been shown at this size before
+   *
+   * @param piece  piece to show, or null for an empty grid
+   * @param width  thumbnail width
+   * @param height thumbnail height
+   * @return the thumbnail
+   */
+  public static Image get(GamePiece piece, double width, double height) {
+    int value = piece == null ? 0 : piece.getValue();
+    int shape = piece == null ? 0 : piece.getShape();
+    String key = width + "x" + height + ":" + value + ":" + shape;
+    Image thumbnail = cache.get(key);
+    if (thumbnail == null) {
+      BlockSprites sprites = spritesFor(width, height);
+      thumbnail = render(sprites, value, shape, width, height);
+      //Thumbnails painted before the block image loaded are only used until it has
+      if (sprites.isComplete()) {
+        cache.put(key, thumbnail);
+      }
+    }
+    return thumbnail;
+  }
+
+  /**
+   * Run an action once thumbnails of the given size can be rendered with the block image, so they
+   * can be fetched again. Does nothing if the image had already loaded.
+   *
+   * @param width  thumbnail width
+   * @param height thumbnail height
+   * @param action action to run on the JavaFX thread
+   */
+  public static void whenStale(double width, double height, Runnable action) {
+    spritesFor(width, height).whenStale(action);
+  }
+
+  /**
+   * Get the number of thumbnails held
+   *
+   * @return cached thumbnails
+   */
+  public static int getSize() {
+    return cache.size();
+  }
+
+  /**
+   * Drop every thumbnail
+   */
+  public static void clear() {
+    cache.clear();
+  }
+
+  /**
+   * Get the block sprites for the cells of a thumbnail
+   *
+   * @param width  thumbnail width
+   * @param height thumbnail height
+   * @return the sprites
+   */
+  private static BlockSprites spritesFor(double width, double height) {
+    return BlockSprites.forSize(width / CELLS, height / CELLS);
+  }
+
+  /**
+   * Paint a piece on to a 3x3 grid of block sprites
+   *
+   * @param sprites sprites at the cell size
+   * @param value   value of the piece's blocks
+   * @param shape   shape mask of the piece, bit (y * 3 + x) set for each block
+   * @param width   thumbnail width
+   * @param height  thumbnail height
+   * @return the thumbnail
+   */
+  private static Image render(BlockSprites sprites, int value, int shape, double width,
+      double height) {
+    logger.debug("Rendering piece thumbnail {} ({}) at {} x {}", value, shape, width, height);
+    double cellWidth = width / CELLS;
+    double cellHeight = height / CELLS;
+
+    var canvas = new Canvas(width, height);
+    var gc = canvas.getGraphicsContext2D();
+    for (int bit = 0; bit < CELLS * CELLS; bit++) {
+      Image sprite = sprites.get((shape & (1 << bit)) != 0 ? value : 0);
+      gc.drawImage(sprite, (bit % CELLS) * cellWidth, (bit / CELLS) * cellHeight, cellWidth,
+          cellHeight);
+    }
+
+    var parameters = new SnapshotParameters();
+    parameters.setFill(Color.TRANSPARENT);
+    return canvas.snapshot(parameters, null);
+  }
+}
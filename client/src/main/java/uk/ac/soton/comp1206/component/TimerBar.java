@@ -1,22 +1,24 @@
 package uk.ac.soton.comp1206.component;
 
-import java.util.Timer;
-import java.util.TimerTask;
 import javafx.animation.Animation.Status;
+import javafx.animation.AnimationTimer;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
-import javafx.application.Platform;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.util.Duration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.GameScheduler;
+import uk.ac.soton.comp1206.engine.GameClock;
 
 /**
- * Class to display an animated timer for the Game.
+ * Class to display an animated timer for the Game. The timer either runs its own animation for a
+ * set duration, or tracks a countdown on a GameClock, redrawing from the clock every frame so it
+ * pauses and speeds up with the game.
  */
 public class TimerBar extends StackPane {
 
@@ -29,10 +31,46 @@ public class TimerBar extends StackPane {
   float TIMER_MED_MULTIPLIER = 0.33f;
   float TIMER_LOW_MULTIPLIER = 0.67f;
 
-  Timer colourChangeTimer;
+  /**
+   * Tasks to change the colour of the timer bar part way through
+   */
+  private final GameScheduler.Task medChangeTask =
+      GameScheduler.fxTask("TimerColourMedium", () -> {
+        logger.trace("Timer colour medium");
+        timerBar.setFill(TimerColourMed);
+      });
+  private final GameScheduler.Task lowChangeTask =
+      GameScheduler.fxTask("TimerColourLow", () -> {
+        logger.trace("Timer colour low");
+        timerBar.setFill(TimerColourLow);
+      });
   double maxWidth;
   private Timeline timeline;
 
+  /**
+   * Countdown being tracked, or null when running a fixed animation
+   */
+  private GameClock.Countdown countdown;
+
+  /**
+   * Redraws the bar from the tracked countdown every frame
+   */
+  private final AnimationTimer tracker = new AnimationTimer() {
+    @Override
+    public void handle(long now) {
+      double fraction = countdown.getFractionRemaining();
+      timerBar.setWidth(maxWidth * fraction);
+      //The colour changes a third and two thirds of the way through
+      if (fraction > 1 - TIMER_MED_MULTIPLIER) {
+        timerBar.setFill(TimerColourHigh);
+      } else if (fraction > 1 - TIMER_LOW_MULTIPLIER) {
+        timerBar.setFill(TimerColourMed);
+      } else {
+        timerBar.setFill(TimerColourLow);
+      }
+    }
+  };
+
   /**
    * Construct a new GameTimer from given width and height.
    *
@@ -63,7 +101,7 @@ public class TimerBar extends StackPane {
    * @param duration duration of the timer in milliseconds.
    */
   public void startTimer(long duration) {
-    logger.info("Starting GameTimer for " + duration);
+    logger.debug("Starting GameTimer for {}", duration);
     //Make new timeline
     timeline = new Timeline();
     //Add end keyframe to set width to 0
@@ -76,44 +114,46 @@ public class TimerBar extends StackPane {
   }
 
   /**
-   * Start two other TimerTasks to change the colour of the timer bar.
+   * Schedule the two tasks which change the colour of the timer bar.
    *
    * @param duration duration of the main timer in milliseconds.
    */
   private void startColourChangeTimers(long duration) {
-    colourChangeTimer = new Timer();
-
-    TimerTask medChangeTask = new TimerTask() {
-      @Override
-      public void run() {
-        logger.info("Timer colour medium");
-        timerBar.setFill(TimerColourMed);
-      }
-    };
-
-    TimerTask lowChangeTask = new TimerTask() {
-      @Override
-      public void run() {
-        logger.info("Timer colour low");
-        timerBar.setFill(TimerColourLow);
-      }
-    };
+    medChangeTask.schedule((long) (duration * TIMER_MED_MULTIPLIER));
+    lowChangeTask.schedule((long) (duration * TIMER_LOW_MULTIPLIER));
+  }
 
-    colourChangeTimer.schedule(medChangeTask, (long) (duration * TIMER_MED_MULTIPLIER));
-    colourChangeTimer.schedule(lowChangeTask, (long) (duration * TIMER_LOW_MULTIPLIER));
+  /**
+   * Track the given countdown until the timer is reset. The bar shows the fraction of the countdown
+   * left, so it restarts whenever the countdown does.
+   *
+   * @param countdown countdown to display
+   */
+  public void track(GameClock.Countdown countdown) {
+    logger.info("Tracking countdown");
+    this.countdown = countdown;
+    tracker.start();
   }
 
   /**
    * If a timer animation is currently running, stop it and reset the timer back to a full state.
    */
   public void resetTimer() {
+    if (countdown != null) {
+      logger.info("Stopped tracking countdown");
+      tracker.stop();
+      countdown = null;
+      timerBar.setWidth(maxWidth);
+      timerBar.setFill(TimerColourHigh);
+      return;
+    }
     if (!isRunning()) {
       return;
     }
-    logger.info("Stopping GameTimer");
+    logger.debug("Stopping GameTimer");
     timeline.stop(); //Stop current timeline
-    colourChangeTimer.cancel(); //Cancel colour change timer
-    colourChangeTimer.purge(); //Purge colour change timer
+    medChangeTask.cancel(); //Cancel colour changes
+    lowChangeTask.cancel();
     // Set to max width
     timerBar.widthProperty().set(maxWidth);
     timerBar.setFill(TimerColourHigh);
@@ -137,6 +177,9 @@ public class TimerBar extends StackPane {
    * @return boolean.
    */
   public boolean isRunning() {
-    return timeline.getStatus() == Status.RUNNING;
+    if (countdown != null) {
+      return countdown.isRunning();
+    }
+    return timeline != null && timeline.getStatus() == Status.RUNNING;
   }
 }
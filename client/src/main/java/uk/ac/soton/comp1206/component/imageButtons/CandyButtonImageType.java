@@ -0,0 +1,82 @@
+package uk.ac.soton.comp1206.component.imageButtons;
+
+/**
+ * Enumerator to hold different candy button image types.
+ */
+public enum CandyButtonImageType {
+  /**
+   * Help Button Type.
+   */
+  HELP("Help"),
+  /**
+   * Level List Button Type.
+   */
+  LEVELLIST("LevelList"),
+  /**
+   * Minus Button Type.
+   */
+  MINUS("Minus"),
+  /**
+   * Music Button Type.
+   */
+  MUSIC("Music"),
+  /**
+   * Multiplayer Button Type.
+   */
+  MULTIPLAYER("Multiplayer"),
+  /**
+   * Play Button Type.
+   */
+  PLAY("Play"),
+  /**
+   * Plus Button Type.
+   */
+  PLUS("Plus"),
+  /**
+   * Profile Button Type.
+   */
+  PROFILE("Profile"),
+  /**
+   * Options Button Type.
+   */
+  OPTIONS("Options"),
+  /**
+   * Right Arrow Button Type.
+   */
+  RIGHTARROW("RightArrow"),
+  /**
+   * Reload Button Type.
+   */
+  RELOAD("Reload"),
+  /**
+   * Sound Button Type.
+   */
+  SOUND("Sound"),
+  /**
+   * Upload Button Type.
+   */
+  UPLOAD("Upload");
+
+  /**
+   * Name the images of this type start with
+   */
+  private final String fileName;
+
+  /**
+   * Create a button image type
+   *
+   * @param fileName name the images of this type start with
+   */
+  CandyButtonImageType(String fileName) {
+    this.fileName = fileName;
+  }
+
+  /**
+   * Get the name the images of this type start with, such as "Help" for "Help (1).png"
+   *
+   * @return file name
+   */
+  public String getFileName() {
+    return fileName;
+  }
+}
@@ -0,0 +1,175 @@
+package uk.ac.soton.comp1206.component.imageButtons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.AssetCache;
+
+/**
+ * Static class to hold the candy-themed button images, packed into a single atlas image.
+ * <p>
+ * Each button type has four images, one for each state of an ImageButton. They are decoded once,
+ * on a background thread, and copied into one atlas with a row for each type and a column for each
+ * state. Buttons show their image through a viewport into the atlas, so every button shares the
+ * same image however many are created.
+ * <p>
+ * The source images are only needed until they are copied into the atlas, so they are not kept in
+ * the AssetCache, where they would hold on to memory the atlas already covers.
+ * <p>
+ * These assets were taken from https://opengameart.org/content/candy-button-pack and are in the
+ * public domain.
+ */
+public class CandyButtonImages {
+
+  private static final Logger logger = LogManager.getLogger(CandyButtonImages.class);
+
+  /**
+   * Resource folder holding the button images
+   */
+  private static final String PATH = "/images/custom/candyButtons";
+
+  /**
+   * Number of images for each button type
+   */
+  public static final int STATES = 4;
+
+  private static final CandyButtonImageType[] TYPES = CandyButtonImageType.values();
+
+  /**
+   * The atlas, once it has been packed
+   */
+  private static Image atlas;
+
+  /**
+   * Position of each image in the atlas, indexed by type ordinal * STATES + state
+   */
+  private static Rectangle2D[] viewports;
+
+  /**
+   * Actions waiting for the atlas to be packed
+   */
+  private static final List<Consumer<Image>> waiting = new ArrayList<>();
+
+  private static boolean loading;
+
+  /**
+   * Start packing the atlas in the background, if it has not been started already. Must be called
+   * on the JavaFX thread. If packing fails, the actions waiting for the atlas are dropped and the
+   * next call tries again.
+   */
+  public static void load() {
+    if (loading) {
+      return;
+    }
+    loading = true;
+    logger.info("Packing candy button atlas");
+
+    Thread thread = new Thread(() -> {
+      try {
+        pack();
+      } catch (Exception e) {
+        logger.error("Unable to pack candy button atlas", e);
+        Platform.runLater(() -> {
+          logger.warn("{} buttons will be shown without images", waiting.size());
+          waiting.clear();
+          loading = false;
+        });
+      }
+    }, "CandyButtonAtlas");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Run an action with the atlas once it has been packed, straight away if it already has. Must be
+   * called on the JavaFX thread.
+   *
+   * @param action action to run with the atlas
+   */
+  public static void whenLoaded(Consumer<Image> action) {
+    if (atlas != null) {
+      action.accept(atlas);
+      return;
+    }
+    waiting.add(action);
+    load();
+  }
+
+  /**
+   * Get the part of the atlas showing the given button type in the given state
+   *
+   * @param type  button type
+   * @param state state index, from 0 to STATES - 1
+   * @return viewport into the atlas
+   */
+  public static Rectangle2D getViewport(CandyButtonImageType type, int state) {
+    return viewports[type.ordinal() * STATES + state];
+  }
+
+  /**
+   * Decode every button image and copy them into the atlas, then hand it to the JavaFX thread
+   */
+  private static void pack() {
+    long start = System.nanoTime();
+
+    Image[] images = new Image[TYPES.length * STATES];
+    int cellWidth = 0;
+    int cellHeight = 0;
+    for (CandyButtonImageType type : TYPES) {
+      for (int state = 0; state < STATES; state++) {
+        String file = PATH + "/" + type.getFileName() + " (" + (state + 1) + ").png";
+        Image image;
+        try {
+          image = new Image(AssetCache.url(file));
+        } catch (IllegalArgumentException e) {
+          //Leave a blank cell in the atlas rather than lose every button
+          logger.error("Unable to find button image {}", file);
+          continue;
+        }
+        if (image.isError()) {
+          logger.error("Unable to load button image {}", file);
+        }
+        images[type.ordinal() * STATES + state] = image;
+        cellWidth = Math.max(cellWidth, (int) image.getWidth());
+        cellHeight = Math.max(cellHeight, (int) image.getHeight());
+      }
+    }
+
+    WritableImage packed = new WritableImage(cellWidth * STATES, cellHeight * TYPES.length);
+    Rectangle2D[] packedViewports = new Rectangle2D[images.length];
+    for (int i = 0; i < images.length; i++) {
+      int x = (i % STATES) * cellWidth;
+      int y = (i / STATES) * cellHeight;
+      if (images[i] == null) {
+        packedViewports[i] = new Rectangle2D(x, y, Math.max(cellWidth, 1), Math.max(cellHeight, 1));
+        continue;
+      }
+      int width = (int) images[i].getWidth();
+      int height = (int) images[i].getHeight();
+      PixelReader reader = images[i].getPixelReader();
+      if (reader != null) {
+        packed.getPixelWriter().setPixels(x, y, width, height, reader, 0, 0);
+      }
+      packedViewports[i] = new Rectangle2D(x, y, Math.max(width, 1), Math.max(height, 1));
+    }
+
+    logger.info("Packed {} button images in {} ms", images.length,
+        (System.nanoTime() - start) / 1_000_000);
+
+    Platform.runLater(() -> {
+      viewports = packedViewports;
+      atlas = packed;
+      for (Consumer<Image> action : waiting) {
+        action.accept(atlas);
+      }
+      waiting.clear();
+    });
+  }
+}
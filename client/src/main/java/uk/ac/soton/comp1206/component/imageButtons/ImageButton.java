@@ -1,9 +1,7 @@
 package uk.ac.soton.comp1206.component.imageButtons;
 
-import java.util.ArrayList;
 import javafx.geometry.Pos;
 import javafx.scene.Cursor;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.HBox;
@@ -21,10 +19,9 @@ public class ImageButton extends HBox {
   private static final Logger logger = LogManager.getLogger(ImageButton.class);
   boolean HasPressSound = true;
   boolean HasHighlightSound = true;
-  CandyButtonImages candyButtonImages = new CandyButtonImages();
   private final CandyButtonImageType candyButtonImageType;
-  private ArrayList<Image> images = new ArrayList<>();
   private final ImageView imageView = new ImageView();
+  private int imageIndex = NORMAL_INDEX;
   private ImageButtonClickedListener buttonClickedListener;
 
   /**
@@ -71,13 +68,17 @@ public class ImageButton extends HBox {
    * @param candyButtonImageType image type of this Image Button
    */
   private void build(CandyButtonImageType candyButtonImageType) {
-    setImages(candyButtonImageType); //Set image set to correct set
+    //Show the shared atlas once it is ready, at the image for the current state
+    CandyButtonImages.whenLoaded(atlas -> {
+      imageView.setImage(atlas);
+      setImage(imageIndex);
+    });
 
     setButtonPressedEvent();
 
     //Set mouse entered event
     imageView.setOnMouseEntered(event -> {
-      logger.info("Mouse entered");
+      logger.trace("Mouse entered");
       if (currentState == ImageButtonState.NORMAL) {
         setCurrentState(ImageButtonState.HIGHLIGHTED);
         setImage();
@@ -90,7 +91,7 @@ public class ImageButton extends HBox {
     });
     //Set mouse exited event
     imageView.setOnMouseExited(event -> {
-      logger.info("Mouse exited");
+      logger.trace("Mouse exited");
       if (currentState == ImageButtonState.HIGHLIGHTED) {
         setCurrentState(ImageButtonState.NORMAL);
         setImage();
@@ -100,7 +101,7 @@ public class ImageButton extends HBox {
 
     //Set mouse pressed event
     imageView.setOnMousePressed(event -> {
-      logger.info("Mouse pressed");
+      logger.trace("Mouse pressed");
       if (currentState == ImageButtonState.HIGHLIGHTED) {
         setCurrentState(ImageButtonState.CLICKED);
         setImage();
@@ -112,7 +113,7 @@ public class ImageButton extends HBox {
     });
     //Set mouse released event
     imageView.setOnMouseReleased(event -> {
-      logger.info("Mouse released");
+      logger.trace("Mouse released");
       if (currentState == ImageButtonState.CLICKED) {
         setCurrentState(ImageButtonState.HIGHLIGHTED);
         setImage();
@@ -194,29 +195,9 @@ public class ImageButton extends HBox {
    * @param index index of the image in the images ArrayList.
    */
   private void setImage(int index) {
-    imageView.setImage(images.get(index));
-  }
-
-  /**
-   * Set the image set of this Image Button from its ButtonImageType.
-   *
-   * @param candyButtonImageType image type of this ImageButton.
-   */
-  private void setImages(CandyButtonImageType candyButtonImageType) {
-    switch (candyButtonImageType) {
-      case HELP -> images = CandyButtonImages.Help;
-      case LEVELLIST -> images = CandyButtonImages.LevelList;
-      case MINUS -> images = CandyButtonImages.Minus;
-      case MUSIC -> images = CandyButtonImages.Music;
-      case MULTIPLAYER -> images = CandyButtonImages.Multiplayer;
-      case PLAY -> images = CandyButtonImages.Play;
-      case PLUS -> images = CandyButtonImages.Plus;
-      case PROFILE -> images = CandyButtonImages.Profile;
-      case OPTIONS -> images = CandyButtonImages.Options;
-      case RIGHTARROW -> images = CandyButtonImages.RightArrow;
-      case RELOAD -> images = CandyButtonImages.Reload;
-      case SOUND -> images = CandyButtonImages.Sound;
-      case UPLOAD -> images = CandyButtonImages.Upload;
+    imageIndex = index;
+    if (imageView.getImage() != null) {
+      imageView.setViewport(CandyButtonImages.getViewport(candyButtonImageType, index));
     }
   }
 
@@ -9,7 +9,6 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -19,6 +18,7 @@ import javafx.scene.text.Text;
 import javafx.util.Duration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.AssetCache;
 import uk.ac.soton.comp1206.animations.GentleShakeAnimation;
 import uk.ac.soton.comp1206.component.imageButtons.CandyButtonImageType;
 import uk.ac.soton.comp1206.component.imageButtons.ImageButton;
@@ -166,8 +166,7 @@ public class UserList extends VBox {
   public void addUser(String username) {
     logger.info("Adding new User: " + username);
     var userBox = new HBox();
-    var userImage = new ImageView(new Image(
-        getClass().getResource("/images/custom/candyButtons/Profile (1).png").toExternalForm()));
+    var userImage = new ImageView(AssetCache.image("/images/custom/candyButtons/Profile (1).png"));
     userImage.setPreserveRatio(true);
     userImage.setFitHeight(16);
 
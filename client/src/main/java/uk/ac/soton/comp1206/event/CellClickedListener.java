@@ -0,0 +1,16 @@
+package uk.ac.soton.comp1206.event;
+
+/**
+ * The Cell Clicked listener is used to handle the event when a cell of a board with no per-block
+ * nodes, such as the CanvasGameBoard, is clicked. It passes the column and row of the cell.
+ */
+public interface CellClickedListener {
+
+  /**
+   * Handle a cell clicked event
+   *
+   * @param x column of the cell that was clicked
+   * @param y row of the cell that was clicked
+   */
+  public void cellClicked(int x, int y);
+}
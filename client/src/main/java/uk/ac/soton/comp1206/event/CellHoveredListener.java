@@ -0,0 +1,16 @@
+package uk.ac.soton.comp1206.event;
+
+/**
+ * The Cell Hovered listener is used to handle the event when the mouse moves on to a different
+ * cell of a board with no per-block nodes, such as the CanvasGameBoard.
+ */
+public interface CellHoveredListener {
+
+  /**
+   * Handle a cell hovered event
+   *
+   * @param x column of the cell now hovered, or -1 if the mouse has left the board
+   * @param y row of the cell now hovered, or -1 if the mouse has left the board
+   */
+  public void cellHovered(int x, int y);
+}
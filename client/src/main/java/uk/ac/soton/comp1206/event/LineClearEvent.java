@@ -0,0 +1,145 @@
+package uk.ac.soton.comp1206.event;
+
+import uk.ac.soton.comp1206.engine.GameEngine;
+
+/**
+ * A Line Clear Event describes the lines and blocks cleared by the last placement in a Game. It
+ * holds the indices of the cleared rows and columns, and a bitmask of the cleared cells with bit
+ * (y * cols + x) set when the block at (x,y) was cleared.
+ * <p>
+ * One event is created per Game and reused for every clear, reading straight from the engine's
+ * buffers, so clearing lines creates no garbage. Listeners must use it during the callback and not
+ * keep hold of it.
+ */
+public class LineClearEvent {
+
+  /**
+   * The engine whose last clear is described
+   */
+  private final GameEngine engine;
+
+  /**
+   * Number of columns in the grid
+   */
+  private final int cols;
+
+  /**
+   * Create a new event describing the clears of the given engine
+   *
+   * @param engine the game engine
+   */
+  public LineClearEvent(GameEngine engine) {
+    this.engine = engine;
+    this.cols = engine.getGrid().getCols();
+  }
+
+  /**
+   * Get the number of rows cleared
+   *
+   * @return number of rows
+   */
+  public int getRowCount() {
+    return engine.getClearedRowCount();
+  }
+
+  /**
+   * Get a cleared row
+   *
+   * @param index index between 0 and getRowCount()
+   * @return y-coordinate of the row
+   */
+  public int getRow(int index) {
+    return engine.getClearedRow(index);
+  }
+
+  /**
+   * Get the number of columns cleared
+   *
+   * @return number of columns
+   */
+  public int getColCount() {
+    return engine.getClearedColCount();
+  }
+
+  /**
+   * Get a cleared column
+   *
+   * @param index index between 0 and getColCount()
+   * @return x-coordinate of the column
+   */
+  public int getCol(int index) {
+    return engine.getClearedCol(index);
+  }
+
+  /**
+   * Get the number of lines cleared
+   *
+   * @return rows and columns cleared
+   */
+  public int getLines() {
+    return getRowCount() + getColCount();
+  }
+
+  /**
+   * Get the cleared cell bitmask. The array is shared and must not be modified.
+   *
+   * @return mask with bit (y * cols + x) set for each cleared block
+   */
+  public long[] getCells() {
+    return engine.getClearedCells();
+  }
+
+  /**
+   * Return if the block at the given x and y was cleared
+   *
+   * @param x column
+   * @param y row
+   * @return if the block was cleared
+   */
+  public boolean isCleared(int x, int y) {
+    return engine.wasCleared(x, y);
+  }
+
+  /**
+   * Find the next cleared cell, in row order, starting from the given cell. Cells can be turned
+   * back into coordinates with cellX and cellY.
+   *
+   * @param from cell to start searching from, 0 for the first
+   * @return the next cleared cell, or -1 if there are no more
+   */
+  public int nextCell(int from) {
+    long[] cells = engine.getClearedCells();
+    int word = from >>> 6;
+    if (word >= cells.length) {
+      return -1;
+    }
+    long bits = cells[word] & (-1L << from);
+    while (bits == 0) {
+      if (++word == cells.length) {
+        return -1;
+      }
+      bits = cells[word];
+    }
+    return word * 64 + Long.numberOfTrailingZeros(bits);
+  }
+
+  /**
+   * Get the x-coordinate of a cell returned by nextCell
+   *
+   * @param cell cell index
+   * @return column
+   */
+  public int cellX(int cell) {
+    return cell % cols;
+  }
+
+  /**
+   * Get the y-coordinate of a cell returned by nextCell
+   *
+   * @param cell cell index
+   * @return row
+   */
+  public int cellY(int cell) {
+    return cell / cols;
+  }
+}
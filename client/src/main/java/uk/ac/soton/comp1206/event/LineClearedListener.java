@@ -0,0 +1,16 @@
+package uk.ac.soton.comp1206.event;
+
+/**
+ * Line Cleared Listener handles an event when a line of blocks are cleared in the Game. It passes a
+ * LineClearEvent describing the cleared rows, columns and blocks in the message. The event is
+ * reused for every clear, so should not be kept after the call.
+ */
+public interface LineClearedListener {
+
+  /**
+   * Handle a line cleared event.
+   * @param event the lines and blocks affected by the line clear.
+   */
+  public void lineCleared(LineClearEvent event);
+
+}
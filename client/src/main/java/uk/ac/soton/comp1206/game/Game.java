@@ -1,34 +1,42 @@
 package uk.ac.soton.comp1206.game;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
-import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
-import javafx.application.Platform;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.scene.input.KeyEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.ac.soton.comp1206.FileUtilities;
+import uk.ac.soton.comp1206.GameScheduler;
 import uk.ac.soton.comp1206.Multimedia;
 import uk.ac.soton.comp1206.component.GameBlock;
-import uk.ac.soton.comp1206.component.GameBlockCoordinate;
+import uk.ac.soton.comp1206.engine.EngineListener;
+import uk.ac.soton.comp1206.engine.EngineTimer;
+import uk.ac.soton.comp1206.engine.GameClock;
+import uk.ac.soton.comp1206.engine.GameEngine;
+import uk.ac.soton.comp1206.engine.ai.PlayerControls;
+import uk.ac.soton.comp1206.engine.replay.ReplayFormat;
+import uk.ac.soton.comp1206.engine.replay.ReplayRecorder;
 import uk.ac.soton.comp1206.event.GameFinishedListener;
 import uk.ac.soton.comp1206.event.GameLoopListener;
 import uk.ac.soton.comp1206.event.KeyPressedListener;
+import uk.ac.soton.comp1206.event.LineClearEvent;
 import uk.ac.soton.comp1206.event.LineClearedListener;
 import uk.ac.soton.comp1206.event.NextPieceListener;
 import uk.ac.soton.comp1206.event.PiecePlayedListener;
+import uk.ac.soton.comp1206.profiling.LifeLostEvent;
+import uk.ac.soton.comp1206.profiling.LinesClearedEvent;
+import uk.ac.soton.comp1206.profiling.PiecePlacedEvent;
 
 /**
- * The Game class handles the main logic, state and properties of the TetrECS game. Methods to
- * manipulate the game state and to handle actions made by the player should take place inside this
- * class.
+ * The Game class connects the TetrECS rules to the user interface. The rules themselves (spawning,
+ * placement, line clearing, scoring, levels, lives and multiplier) live in the JavaFX-free
+ * GameEngine; the Game wraps it with JavaFX properties, listeners, sound effects and the game timer.
+ * Methods to handle actions made by the player should take place inside this class.
  */
-public class Game {
+public class Game implements PlayerControls {
 
   /**
    * Boolean to show if this Game is running.
@@ -74,82 +82,84 @@ public class Game {
   /**
    * Score Property.
    */
-  protected final SimpleIntegerProperty scoreProperty = new SimpleIntegerProperty(SCORE_START);
+  protected final SimpleIntegerProperty scoreProperty = new SimpleIntegerProperty(
+      GameEngine.SCORE_START);
   /**
    * Lives Property.
    */
-  protected final SimpleIntegerProperty livesProperty = new SimpleIntegerProperty(LIVES_START);
+  protected final SimpleIntegerProperty livesProperty = new SimpleIntegerProperty(
+      GameEngine.LIVES_START);
   /**
    * Level Property.
    */
-  protected final SimpleIntegerProperty levelProperty = new SimpleIntegerProperty(LEVEL_START);
+  protected final SimpleIntegerProperty levelProperty = new SimpleIntegerProperty(
+      GameEngine.LEVEL_START);
   /**
    * Multiplier Property.
    */
   protected final SimpleIntegerProperty multiplierProperty = new SimpleIntegerProperty(
-      MULTIPLIER_START);
+      GameEngine.MULTIPLIER_START);
   /**
    * High Score Property.
    */
   private final SimpleIntegerProperty hiScoreProperty = new SimpleIntegerProperty(69);
   /**
-   * Initial score value.
+   * Clock the game is timed on. Polled on the JavaFX thread when the timer is due.
    */
-  protected static final int SCORE_START = 0;
+  protected final GameClock clock = GameClock.realTime();
   /**
-   * Initial lives value.
+   * Timer that loses a life when it runs out, timed on the game clock.
    */
-  protected static final int LIVES_START = 3;
-  /**
-   * Inital level value.
-   */
-  protected static final int LEVEL_START = 1;
-  /**
-   * Initial multiplier value.
-   */
-  protected static final int MULTIPLIER_START = 1;
+  protected final EngineTimer timer;
 
-  //Score and level calculations
   /**
-   * Score to increase per block cleared.
+   * Number of rows
    */
-  protected static final int SCORE_INCREASE_PER_BLOCK = 10;
+  protected final int rows;
+
   /**
-   * Score requirement, per level, to reach a new level.
+   * Number of columns
    */
-  protected static final int SCORE_INCREASE_FOR_NEXT_LEVEL = 1000;
-  //Game Timer
+  protected final int cols;
+
   /**
-   * Maximum time in milliseconds.
+   * The engine holding the rules and state of the game
    */
-  protected static final int TIMER_MAXTIME = 12500;
+  protected final GameEngine engine;
+
   /**
-   * Minimum time in milliseconds.
+   * The grid model linked to the game, a view over the engine's grid
    */
-  protected static final int TIMER_MINTIME = 2500;
+  protected final Grid grid;
+
   /**
-   * Timer decrease in milliseconds, per level.
+   * Directory replays of single player games are recorded to, in the user's home directory by
+   * default. Set the tetrecs.replays system property to change it, or to an empty string to turn
+   * recording off.
    */
-  protected static final int TIMER_DECREASEPERLEVEL = 500;
+  private static final String REPLAY_DIRECTORY = System.getProperty("tetrecs.replays",
+      Path.of(System.getProperty("user.home"), ".tetrecs", "replays").toString());
+
   /**
-   * Timer that triggers a Game Loop on completion.
+   * Number of replays kept in the replay directory, older ones are deleted as new games start
    */
-  protected Timer timer;
+  private static final int MAX_REPLAYS = 20;
 
   /**
-   * Number of rows
+   * Records a replay of this game while it runs
    */
-  protected final int rows;
+  private ReplayRecorder replayRecorder;
 
   /**
-   * Number of columns
+   * Whether the score of this game may be entered in the high scores. Cleared once anything other
+   * than the player has played it.
    */
-  protected final int cols;
+  private boolean ranked = true;
 
   /**
-   * The grid model linked to the game
+   * The line clear event passed to the line cleared listener, reused for every clear
    */
-  protected final Grid grid;
+  private final LineClearEvent lineClearEvent;
 
   /**
    * Create a new game with the specified rows and columns. Creates a corresponding grid model.
@@ -161,65 +171,143 @@ public class Game {
     this.cols = cols;
     this.rows = rows;
 
-    //Create a new grid model to represent the game state
-    this.grid = new Grid(cols, rows);
-  }
+    //Create the engine, and a grid model over its grid to represent the game state
+    this.engine = new GameEngine(cols, rows);
+    this.grid = new Grid(engine.getGrid());
+    this.lineClearEvent = new LineClearEvent(engine);
 
-  /**
-   * Start the game
-   */
-  public void start() {
-    logger.info("Starting game");
-    setHiScore(); //Set hi score
-    initialiseGame();
+    engine.addListener(new EngineEvents());
+    //The timer restarts itself as pieces are placed and lives are lost
+    this.timer = new EngineTimer(engine, clock);
+    clock.setWakeup(GameScheduler.fxTask("GameClock", clock::poll));
   }
 
   /**
-   * Initialise a new game and set up anything that needs to be done at the start
+   * Handles the events raised by the engine, updating properties, listeners and sound effects.
    */
-  public void initialiseGame() {
-    logger.info("Initialising game");
-    IsRunning = true;
+  private class EngineEvents implements EngineListener {
 
-    currentPiece = spawnPiece(); //Set current piece to a new random piece
-    followingPiece = spawnPiece(); //Set following piece to the next random piece
+    @Override
+    public void piecesChanged() {
+      syncPieces();
+    }
 
-    updatePieceDisplays(); //Send message to listener
+    @Override
+    public void piecePlaced(int type, int rotation, int x, int y) {
+      triggerPiecePlayedListeners(GamePiece.createPiece(type, rotation));
+      //Play normal place sound effect
+      Multimedia.place();
+    }
 
-    startTimer(); //Start timer
+    @Override
+    public void placementRejected(int x, int y) {
+      //Play error place sound effect
+      Multimedia.placeError();
+    }
+
+    @Override
+    public void pieceRotated(int rotations) {
+      Multimedia.rotate();
+    }
+
+    @Override
+    public void piecesSwapped() {
+      Multimedia.swap();
+    }
+
+    @Override
+    public void linesCleared(int lines, int blocks) {
+      logger.debug("Cleared {} lines, {} blocks", lines, blocks);
+      LinesClearedEvent event = new LinesClearedEvent();
+      event.lines = lines;
+      event.blocks = blocks;
+      event.commit();
+      //Trigger listener
+      if (lineClearedListener != null) {
+        lineClearedListener.lineCleared(lineClearEvent);
+      }
+      //Set hi score, if the score beats the hi score
+      setHiScore();
+      //Play sound
+      Multimedia.clearLine();
+    }
+
+    @Override
+    public void statsChanged() {
+      syncStats();
+    }
+
+    @Override
+    public void levelUp(int level) {
+      logger.info("Reached level {}", level);
+      Multimedia.level(); //Play sound effect
+    }
+
+    @Override
+    public void lifeLost(int lives) {
+      logger.info("Life lost, resetting CurrentPiece, Multiplier and Timer.");
+      LifeLostEvent event = new LifeLostEvent();
+      event.lives = lives;
+      event.level = engine.getLevel();
+      event.commit();
+      if (gameLoopListener != null) {
+        gameLoopListener.gameLoop(lives);
+      }
+      Multimedia.lifeLose(); //Life lose sound effect
+    }
+
+    @Override
+    public void gameOver() {
+      endGame();
+    }
   }
 
   /**
-   * Called whenever the timer runs out, lose a life and discard current piece. Reset multiplier and
-   * timer.
+   * Update the current and following GamePieces from the engine, and update the piece displays.
    */
-  private void gameLoop() {
-    logger.info("Life lost, resetting CurrentPiece, Multiplier and Timer.");
-    Platform.runLater(() -> {
-      setLives(getLives() - 1);
-      //If out of lives, end the game
-      if (getLives() < 0) {
-        endGame();
-        return;
-      }
+  private void syncPieces() {
+    currentPiece = engine.getCurrentType() < 0 ? null
+        : GamePiece.createPiece(engine.getCurrentType(), engine.getCurrentRotation());
+    followingPiece = engine.getFollowingType() < 0 ? null
+        : GamePiece.createPiece(engine.getFollowingType(), engine.getFollowingRotation());
 
-      gameLoopListener.gameLoop(getLives());
-      Multimedia.lifeLose(); //Life lose sound effect
+    if (nextPieceListener != null) {
+      updatePieceDisplays();
+    }
+  }
 
-      replaceCurrentPiece(); //Replace current piece with a new, random piece
-      updatePieceDisplays(); //Update PieceBoards
-      resetMultiplier(); //Reset score multiplier
+  /**
+   * Update the stat properties from the engine.
+   */
+  private void syncStats() {
+    scoreProperty.set(engine.getScore());
+    livesProperty.set(engine.getLives());
+    levelProperty.set(engine.getLevel());
+    multiplierProperty.set(engine.getMultiplier());
+  }
 
-      resetTimer(); //Reset game timer
-    });
 
+  /**
+   * Start the game
+   */
+  public void start() {
+    logger.info("Starting game");
+    setHiScore(); //Set hi score
+    initialiseGame();
   }
 
   /**
-   * Replace the current piece with a new, random piece.
+   * Initialise a new game and set up anything that needs to be done at the start
    */
-  protected void replaceCurrentPiece() {
-    setCurrentPiece(spawnPiece());
+  public void initialiseGame() {
+    logger.info("Initialising game");
+    IsRunning = true;
+
+    startRecording();
+    //Spawn the current and following pieces, sending a message to the listener
+    engine.start();
+
+    startTimer(); //Start timer
   }
 
   /**
@@ -228,7 +316,9 @@ public class Game {
   public void endGame() {
     logger.info("Ending game");
     IsRunning = false;
+    engine.stop();
     cancelTimer();
+    stopRecording();
 
     Multimedia.gameOver(); //Game over sound effect
 
@@ -241,47 +331,88 @@ public class Game {
   public void shutdownGame() {
     logger.info("Forcibly ended game");
     IsRunning = false;
+    engine.stop();
     cancelTimer();
+    stopRecording();
 
     Multimedia.gameOver(); //Game over sound effect
   }
 
+  /**
+   * Start recording a replay of this game, if replays are enabled. Must be called before the
+   * engine is started so the first pieces are recorded.
+   */
+  protected void startRecording() {
+    if (REPLAY_DIRECTORY.isEmpty()) {
+      return;
+    }
+    Path file = Path.of(REPLAY_DIRECTORY,
+        "replay-" + System.currentTimeMillis() + ReplayFormat.EXTENSION);
+    //Make room for this replay
+    FileUtilities.deleteOldest(file.getParent().toFile(), ReplayFormat.EXTENSION, MAX_REPLAYS - 1);
+    try {
+      replayRecorder = ReplayRecorder.toFile(engine, file);
+      logger.info("Recording replay to {}", file);
+    } catch (IOException e) {
+      logger.error("Unable to record replay to {}", file, e);
+    }
+  }
+
+  /**
+   * Finish the replay of this game, if one is being recorded. The replay is written in the
+   * background.
+   */
+  protected void stopRecording() {
+    if (replayRecorder != null) {
+      replayRecorder.close();
+      replayRecorder = null;
+    }
+  }
+
   /**
    * Handle what should happen when a particular block is clicked
    *
    * @param gameBlock the block that was clicked
    */
   public void blockClicked(GameBlock gameBlock) {
-    if (!IsRunning) {
-      logger.info("Cannot play piece when game not running");
+    blockClicked(gameBlock.getX(), gameBlock.getY());
+  }
+
+  /**
+   * Handle what should happen when the block at the given position is clicked, playing the
+   * current piece centred on it
+   *
+   * @param blockX column of the block that was clicked
+   * @param blockY row of the block that was clicked
+   */
+  @Override
+  public void blockClicked(int blockX, int blockY) {
+    if (!IsRunning || isPaused()) {
+      logger.debug("Cannot play piece when game not running");
       return;
     }
     if (currentPiece == null) {
-      logger.info("Requires currentPiece to exist");
+      logger.debug("Requires currentPiece to exist");
       return;
     }
 
     //Get the position of this block
-    int x = gameBlock.getX() - 1;
-    int y = gameBlock.getY() - 1;
-
-    // I think this handles the base colour changing function of the skeleton grid
-
-    if (grid.canPlayPiece(currentPiece, x, y)) {
-      logger.info("Played GamePiece " + currentPiece.getValue() + " at (" + x + ", " + y + ")");
-      grid.playPiece(currentPiece, x, y);
-
-      //piecePlayedListener.piecePlayed(currentPiece);
-      triggerPiecePlayedListeners(currentPiece);
-
-      nextPiece();
-      afterPiece();
+    int x = blockX - 1;
+    int y = blockY - 1;
+
+    PiecePlacedEvent event = new PiecePlacedEvent();
+    event.begin();
+    event.pieceType = engine.getCurrentType();
+    event.rotation = engine.getCurrentRotation();
+    event.x = x;
+    event.y = y;
+    event.placed = engine.place(x, y);
+    event.commit();
+
+    if (event.placed) {
+      logger.debug("Played GamePiece at ({}, {})", x, y);
     } else {
-      logger.info(
-          "Cannot play GamePiece " + currentPiece.getValue() + " at (" + x + ", " + y + ")");
-
-      //Play error place sound effect
-      Multimedia.placeError();
+      logger.debug("Cannot play GamePiece {} at ({}, {})", currentPiece.getValue(), x, y);
     }
   }
 
@@ -325,28 +456,12 @@ public class Game {
   }
 
   /**
-   * Create a new random GamePiece
+   * Get the engine holding the rules and state of this game
    *
-   * @return random GamePiece
+   * @return game engine
    */
-  protected GamePiece spawnPiece() {
-    Random random = new Random();
-    int piece = random.nextInt(GamePiece.PIECES);
-    return GamePiece.createPiece(piece);
-  }
-
-  /**
-   * Replace the current GamePiece with a new, random GamePiece. Also updates the PieceBoard
-   * display.
-   */
-  protected void nextPiece() {
-    logger.info("Spawning next GamePiece");
-
-    setCurrentPiece(followingPiece);
-    setFollowingPiece(spawnPiece());
-
-    //Send message to listener
-    updatePieceDisplays();
+  public GameEngine getEngine() {
+    return engine;
   }
 
   /**
@@ -354,8 +469,8 @@ public class Game {
    *
    * @param currentPiece GamePiece to set the current GamePiece to.
    */
-  public static void setCurrentPiece(GamePiece currentPiece) {
-    Game.currentPiece = currentPiece;
+  public void setCurrentPiece(GamePiece currentPiece) {
+    engine.setCurrentPiece(currentPiece.getType(), currentPiece.getRotation());
   }
 
   /**
@@ -363,8 +478,8 @@ public class Game {
    *
    * @param followingPiece GamePiece to set the following GamePiece to.
    */
-  public static void setFollowingPiece(GamePiece followingPiece) {
-    Game.followingPiece = followingPiece;
+  public void setFollowingPiece(GamePiece followingPiece) {
+    engine.setFollowingPiece(followingPiece.getType(), followingPiece.getRotation());
   }
 
   /**
@@ -379,52 +494,46 @@ public class Game {
   /**
    * Rotate the current piece right. Also updates the PieceBoard display.
    */
+  @Override
   public void rotateRight() {
-    if (!IsRunning) {
-      logger.info("Cannot rotate piece when game not running");
+    if (!IsRunning || isPaused()) {
+      logger.debug("Cannot rotate piece when game not running");
       return;
     }
 
-    logger.info("Rotating GamePiece right");
-    currentPiece.rotate(1);
-    Multimedia.rotate();
-
-    //Send message to listener
-    updatePieceDisplays();
+    logger.trace("Rotating GamePiece right");
+    //Sends message to listener
+    engine.rotate(1);
   }
 
   /**
    * Rotate the current piece left. Also updates the PieceBoard display.
    */
+  @Override
   public void rotateLeft() {
-    if (!IsRunning) {
-      logger.info("Cannot rotate piece when game not running");
+    if (!IsRunning || isPaused()) {
+      logger.debug("Cannot rotate piece when game not running");
       return;
     }
 
-    logger.info("Rotating GamePiece left");
-    currentPiece.rotate(3);
-    Multimedia.rotate();
-
-    //Send message to listener
-    updatePieceDisplays();
+    logger.trace("Rotating GamePiece left");
+    //Sends message to listener
+    engine.rotate(3);
   }
 
   /**
    * Swap the current GamePiece with the following GamePiece.
    */
+  @Override
   public void swapCurrentPiece() {
-    if (!IsRunning) {
-      logger.info("Cannot swap piece when game not running");
+    if (!IsRunning || isPaused()) {
+      logger.debug("Cannot swap piece when game not running");
       return;
     }
-    logger.info("Swapping current GamePiece with following GamePiece");
+    logger.trace("Swapping current GamePiece with following GamePiece");
 
-    GamePiece temp = currentPiece;
-    setCurrentPiece(followingPiece);
-    setFollowingPiece(temp);
-    updatePieceDisplays();
-    Multimedia.swap();
+    //Sends message to listener
+    engine.swap();
   }
 
   /**
@@ -435,194 +544,111 @@ public class Game {
   }
 
   /**
-   * Handles logic after placing a piece. Clears any full rows or columns that have been made.
-   * Multiple lines may be cleared at once, including intersecting lines.
-   * <p>
-   * If any lines are cleared, clear the affected coordinates, increase the score and multiplier
-   * appropriately and play the necessary sound effect. Else, reset the score multiplier.
-   * <p>
-   * If a new level is reached, update the level.
-   * <p>
-   * Reset the game loop timer.
-   */
-  protected void afterPiece() {
-    //Play normal place sound effect
-    Multimedia.place();
-
-    //Set of coordinates to clear
-    Set<GameBlockCoordinate> clearedCoordinates = new HashSet<>();
-    //New counter for number of cleared columns and rows
-    int clearedLines = 0;
-
-    //Check all rows
-    for (int x = 0; x < getRows(); x++) {
-      //If row full
-      if (grid.rowIsFull(x)) {
-        clearedLines++; //Increase number of cleared lines
-        //Get all coordinates from that row
-        for (int y = 0; y < grid.getCols(); y++) {
-          //Add coordinate to set
-          clearedCoordinates.add(new GameBlockCoordinate(x, y));
-        }
-      }
-    }
-    //Check all columns
-    for (int y = 0; y < getCols(); y++) {
-      //If column full
-      if (grid.colIsFull(y)) {
-        clearedLines++; //Increase number of cleared lines
-        //Get all coordinates from that column
-        for (int x = 0; x < grid.getRows(); x++) {
-          //Add coordinate to set
-          clearedCoordinates.add(new GameBlockCoordinate(x, y));
-        }
-      }
-    }
-    //Get blocks removed
-    //Better than the previous formula, which relied on a square grid
-    int blocksRemoved = clearedCoordinates.size();
-    //If any removed
-    if (blocksRemoved != 0) {
-      //Clear all affected coordinates
-      //For each coordinate in Set
-      for (GameBlockCoordinate coordinate : clearedCoordinates) {
-        grid.clear(coordinate.getX(), coordinate.getY()); //grid.clear()
-      }
-      //Calculate and increase score
-      int scoreIncrease = calculateScore(blocksRemoved, clearedLines, getMultiplier());
-      score(scoreIncrease);
-      //Increase multiplier
-      increaseMultiplier();
-      //Trigger listener
-      lineClearedListener.lineCleared(clearedCoordinates);
-      //Set hi score, if the score beats the hi score
-      setHiScore();
-      //Play sound
-      Multimedia.clearLine();
-    }
-    //Else, reset multiplier
-    else {
-      resetMultiplier();
-    }
-    //If reached a new level
-    if (ReachedNewLevel()) {
-      setNewLevel();
-      Multimedia.level(); //Play sound effect
-    }
-
-    //Reset timer
-    resetTimer();
-  }
-
-
-  /**
-   * Calculate the score according to the following formula: number of lines * number of grid blocks
-   * cleared * 10 * the current multiplier
+   * Return the time, in milliseconds, that the current game timer should use. Timer is the maximum
+   * of either 2500 milliseconds or 12000 - 500 * the current level.
    *
-   * @param blocks     number of blocks cleared
-   * @param lines      number of lines cleared
-   * @param multiplier current score multiplier
-   * @return int representing the calculated score.
+   * @return timer length, in milliseconds
    */
-  private int calculateScore(int blocks, int lines, int multiplier) {
-    return (lines * blocks * SCORE_INCREASE_PER_BLOCK * multiplier);
+  public long getTimerDelay() {
+    return engine.getTimerDelay();
   }
 
   /**
-   * Add the score from cleared lines to the current score property.
-   *
-   * @param score int representing the score to increase the score property by.
+   * Start the game timer for the calculated delay which, on completion, loses a life. The timer
+   * then restarts itself whenever a piece is played or a life is lost.
    */
-  private void score(int score) {
-    int newScore = getScore() + score;
-    logger.info("Scored " + score + " (" + newScore + ")");
-    setScore(newScore);
+  protected void startTimer() {
+    logger.debug("Started new Timer for {} milliseconds", getTimerDelay());
+    timer.start();
   }
 
   /**
-   * Increase the multiplier by 1.
+   * Cancel the game timer.
    */
-  private void increaseMultiplier() {
-    setMultiplier(getMultiplier() + 1);
-    logger.info("Multiplier increased (" + getMultiplier() + ")");
+  protected void cancelTimer() {
+    logger.debug("Timer cancelled");
+    timer.stop();
   }
 
   /**
-   * Reset the multiplier
+   * Get the countdown of the game timer, to display it.
+   *
+   * @return timer countdown
    */
-  private void resetMultiplier() {
-    setMultiplier(1);
-    logger.info("Multiplier reset (" + getMultiplier() + ")");
+  public GameClock.Countdown getTimerCountdown() {
+    return timer.getCountdown();
   }
 
   /**
-   * Return if the total score exceeds the boundary to reach a new level.
-   * <p>
-   * If the current score is greater than the next level * 1000, return true.
+   * Get the clock this game is timed on.
    *
-   * @return if a new level can be reached with the current score
+   * @return game clock
    */
-  private boolean ReachedNewLevel() {
-    int levelThreshold = (getLevel() + 1) * SCORE_INCREASE_FOR_NEXT_LEVEL;
-    return getScore() >= levelThreshold;
+  public GameClock getClock() {
+    return clock;
   }
 
   /**
-   * Set the level property to the highest available level.
+   * Pause the game if it is running, or resume it if it is paused. No pieces can be played while
+   * the game is paused. The board stays visible while paused, so pausing a game unranks it.
    */
-  private void setNewLevel() {
-    int newLevel = (int) Math.floor(getScore() / SCORE_INCREASE_FOR_NEXT_LEVEL);
-    logger.info("Reached level " + newLevel);
-    setLevel(newLevel);
+  public void togglePause() {
+    if (!IsRunning) {
+      return;
+    }
+    if (clock.isPaused()) {
+      logger.info("Resuming game");
+      clock.resume();
+    } else {
+      logger.info("Pausing game");
+      //A paused game can be studied for as long as the player likes, so it no longer counts
+      if (ranked) {
+        setUnranked();
+      }
+      clock.pause();
+    }
   }
 
   /**
-   * Return the time, in milliseconds, that the current game timer should use. Timer is the maximum
-   * of either 2500 milliseconds or 12000 - 500 * the current level.
+   * Return whether the game is paused.
    *
-   * @return timer length, in milliseconds
+   * @return boolean.
    */
-  public long getTimerDelay() {
-    long timeForThisLevel = TIMER_MAXTIME - ((long) TIMER_DECREASEPERLEVEL * getLevel());
-    return Math.max(timeForThisLevel, TIMER_MINTIME);
+  public boolean isPaused() {
+    return clock.isPaused();
   }
 
   /**
-   * Start the game timer for the calculated delay which, on completion, calls the game loop.
+   * Set how fast game time passes, 2 being twice as fast as real time.
+   *
+   * @param timeScale time scale, above zero
    */
-  protected void startTimer() {
-    logger.info("Started new Timer for " + getTimerDelay() + " milliseconds");
-
-    timer = new Timer();
-    TimerTask timerTask = new TimerTask() {
-      @Override
-      public void run() {
-        gameLoop();
-      }
-    };
-    timer.schedule(timerTask, getTimerDelay());
+  public void setTimeScale(double timeScale) {
+    logger.info("Setting time scale to {}", timeScale);
+    clock.setTimeScale(timeScale);
   }
 
+  //Score accessors
+  /////////////////
+
   /**
-   * Cancel, then start the game timer.
+   * Return if the score of this game may be entered in the high scores.
+   *
+   * @return if the game is ranked
    */
-  private void resetTimer() {
-    cancelTimer();
-    startTimer();
+  public boolean isRanked() {
+    return ranked;
   }
 
   /**
-   * Cancel the game timer.
+   * Keep the score of this game out of the high scores, such as when it was played by the
+   * computer.
    */
-  protected void cancelTimer() {
-    logger.info("Timer cancelled");
-    timer.cancel();
-    timer.purge();
+  public void setUnranked() {
+    logger.info("Game is unranked, its score will not be submitted");
+    ranked = false;
   }
 
-  //Score accessors
-  /////////////////
-
   /**
    * Return the value of the score property.
    *
@@ -638,7 +664,7 @@ public class Game {
    * @param scoreProperty int representing the game score.
    */
   public void setScore(int scoreProperty) {
-    this.scoreProperty.set(scoreProperty);
+    engine.setScore(scoreProperty);
   }
 
   /**
@@ -668,7 +694,7 @@ public class Game {
    * @param levelProperty game level.
    */
   public void setLevel(int levelProperty) {
-    this.levelProperty.set(levelProperty);
+    engine.setLevel(levelProperty);
   }
 
   /**
@@ -698,7 +724,7 @@ public class Game {
    * @param livesProperty game lives
    */
   public void setLives(int livesProperty) {
-    this.livesProperty.set(livesProperty);
+    engine.setLives(livesProperty);
   }
 
   /**
@@ -728,7 +754,7 @@ public class Game {
    * @param multiplierProperty game multiplier
    */
   public void setMultiplier(int multiplierProperty) {
-    this.multiplierProperty.set(multiplierProperty);
+    engine.setMultiplier(multiplierProperty);
   }
 
   /**
@@ -757,9 +783,9 @@ public class Game {
    * score.
    */
   public void setHiScore() {
-    logger.info("Setting hi score");
+    logger.debug("Setting hi score");
     int hiScore = Math.max(getScore(), FileUtilities.getLocalHighScore());
-    logger.info("Hi score = " + hiScore);
+    logger.debug("Hi score = {}", hiScore);
     this.hiScoreProperty.set(hiScore);
   }
 
@@ -105,7 +105,7 @@ public class GameAim {
    * Send a message to the Logger about the current aim's position
    */
   void logAimPosition() {
-    logger.info("Aim: ({},{})", x.get(), y.get());
+    logger.trace("Aim: ({},{})", x.get(), y.get());
   }
 
   /**
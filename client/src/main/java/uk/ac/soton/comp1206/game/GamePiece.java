@@ -0,0 +1,165 @@
+package uk.ac.soton.comp1206.game;
+
+import uk.ac.soton.comp1206.engine.PieceCatalog;
+
+/**
+ * Instances of GamePiece Represents the model of a specific Game Piece with it's block makeup.
+ *
+ * GamePieces are immutable flyweights: there is exactly one instance for each piece and rotation, created once from the
+ * engine's PieceCatalog. Rotating a piece returns the instance for the new rotation rather than changing the piece, so
+ * spawning and rotating never allocate.
+ *
+ * The GamePiece class also contains a factory for producing a GamePiece of a particular shape, as specified by it's
+ * number.
+ */
+public class GamePiece {
+
+    /**
+     * The total number of pieces in this game
+     */
+    public static final int PIECES = PieceCatalog.PIECES;
+
+    /**
+     * The single instance of every piece and rotation, indexed by PieceCatalog.orientation
+     */
+    private static final GamePiece[] ORIENTATIONS = new GamePiece[PIECES * PieceCatalog.ROTATIONS];
+
+    static {
+        for (int type = 0; type < PIECES; type++) {
+            for (int rotation = 0; rotation < PieceCatalog.ROTATIONS; rotation++) {
+                ORIENTATIONS[PieceCatalog.orientation(type, rotation)] = new GamePiece(type, rotation);
+            }
+        }
+    }
+
+    /**
+     * The type of this piece, its number in the PieceCatalog
+     */
+    private final int type;
+
+    /**
+     * The number of clockwise quarter turns this piece is rotated by
+     */
+    private final int rotation;
+
+    /**
+     * The 2D grid representation of the shape of this piece, shared with the PieceCatalog
+     */
+    private final int[][] blocks;
+
+    /**
+     * The 9-bit shape mask of this piece, bit (y * 3 + x) is set when the piece has a block at (x,y)
+     */
+    private final int shape;
+
+    /**
+     * The value of this piece
+     */
+    private final int value;
+
+    /**
+     * The name of this piece
+     */
+    private final String name;
+
+    /**
+     * Get the GamePiece of the specified piece number
+     * @param piece piece number
+     * @return the GamePiece
+     */
+    public static GamePiece createPiece(int piece) {
+        return createPiece(piece, 0);
+    }
+
+    /**
+     * Get the GamePiece of the specified piece number and rotation
+     * @param piece piece number
+     * @param rotation number of times to rotate
+     * @return the GamePiece
+     */
+    public static GamePiece createPiece(int piece, int rotation) {
+        //Throws IndexOutOfBoundsException if not a valid piece number
+        return ORIENTATIONS[PieceCatalog.orientation(piece, rotation)];
+    }
+
+    /**
+     * Create the GamePiece of the given type and rotation. Should not be called directly, only when building the
+     * flyweights.
+     * @param type type of the piece
+     * @param rotation rotation of the piece
+     */
+    private GamePiece(int type, int rotation) {
+        this.type = type;
+        this.rotation = rotation;
+        this.name = PieceCatalog.name(type);
+        this.blocks = PieceCatalog.blocks(type, rotation);
+        this.shape = PieceCatalog.shape(type, rotation);
+        this.value = PieceCatalog.value(type);
+    }
+
+    /**
+     * Get the type of this piece
+     * @return piece type, as used by the PieceCatalog
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Get the rotation of this piece
+     * @return number of clockwise quarter turns
+     */
+    public int getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Get the value of this piece
+     * @return piece value
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Get the block makeup of this piece. The array is shared and must not be modified.
+     * @return 2D grid of the blocks representing the piece shape
+     */
+    public int[][] getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Get the shape mask of this piece, used by the grid for mask based placement
+     * @return 9-bit shape mask, bit (y * 3 + x) set when a block is present at (x,y)
+     */
+    public int getShape() {
+        return shape;
+    }
+
+    /**
+     * Get this piece rotated the given number of rotations
+     * @param rotations number of clockwise rotations
+     * @return the rotated GamePiece
+     */
+    public GamePiece rotate(int rotations) {
+        return createPiece(type, rotation + rotations);
+    }
+
+    /**
+     * Get this piece rotated exactly once
+     * @return the rotated GamePiece
+     */
+    public GamePiece rotate() {
+        return rotate(1);
+    }
+
+    /**
+     * Return the string representation of this piece
+     * @return the name of this piece
+     */
+    public String toString() {
+        return this.name;
+    }
+
+}
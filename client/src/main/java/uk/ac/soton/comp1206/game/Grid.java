@@ -0,0 +1,341 @@
+package uk.ac.soton.comp1206.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.component.GameBlockCoordinate;
+import uk.ac.soton.comp1206.engine.BitGrid;
+import uk.ac.soton.comp1206.engine.PlacementIndex;
+import uk.ac.soton.comp1206.engine.PlacementIndex.PlacementConsumer;
+
+/**
+ * The Grid is a model which holds the state of a game board. It is made up of a set of Integer
+ * values arranged in a 2D arrow, with rows and columns.
+ * <p>
+ * The values are stored in a BitGrid, which keeps packed occupancy masks for fast placement and
+ * full-line checks. Each value can also be viewed as an IntegerProperty, which can be bound to
+ * enable display of the contents of the grid. The properties are only created when first asked
+ * for, so grids that are never displayed do not pay for them.
+ * <p>
+ * The Grid contains functions related to modifying the model, for example, placing a piece inside
+ * the grid.
+ * <p>
+ * The Grid should be linked to a GameBoard for it's display.
+ */
+public class Grid {
+  private static final Logger logger = LogManager.getLogger(Grid.class);
+
+  /**
+   * The number of columns in this grid
+   */
+  private final int cols;
+
+  /**
+   * The number of rows in this grid
+   */
+  private final int rows;
+
+  /**
+   * The packed storage holding the value of every block
+   */
+  private final BitGrid core;
+
+  /**
+   * Optional property view of the grid, indexed by y * cols + x. Null until a property is
+   * requested.
+   */
+  private SimpleIntegerProperty[] view;
+
+  /**
+   * Create a new Grid with the specified number of columns and rows and initialise them
+   *
+   * @param cols number of columns
+   * @param rows number of rows
+   */
+  public Grid(int cols, int rows) {
+    this(new BitGrid(cols, rows));
+  }
+
+  /**
+   * Create a new Grid over existing storage, such as the grid of a GameEngine. Changes made
+   * directly to the storage are reflected in the property view.
+   *
+   * @param core the BitGrid holding the grid values
+   */
+  public Grid(BitGrid core) {
+    this.cols = core.getCols();
+    this.rows = core.getRows();
+    this.core = core;
+
+    //Keep the property view in step with the storage
+    core.addCellListener(this::cellChanged);
+  }
+
+  /**
+   * Update the property view when a value in the storage changes
+   *
+   * @param x     column
+   * @param y     row
+   * @param value the new value
+   */
+  private void cellChanged(int x, int y, int value) {
+    if (view != null) {
+      view[y * cols + x].set(value);
+    }
+  }
+
+  /**
+   * Get the Integer property contained inside the grid at a given row and column index. Can be used
+   * for binding.
+   *
+   * @param x column
+   * @param y row
+   * @return the IntegerProperty at the given x and y in this grid
+   */
+  public IntegerProperty getGridProperty(int x, int y) {
+    if (view == null) {
+      createView();
+    }
+    return view[y * cols + x];
+  }
+
+  /**
+   * Create the property view of this grid, with every property holding the current value
+   */
+  private void createView() {
+    view = new SimpleIntegerProperty[cols * rows];
+    for (var y = 0; y < rows; y++) {
+      for (var x = 0; x < cols; x++) {
+        view[y * cols + x] = new SimpleIntegerProperty(core.get(x, y));
+      }
+    }
+  }
+
+  /**
+   * Update the value at the given x and y index within the grid
+   *
+   * @param x     column
+   * @param y     row
+   * @param value the new value
+   */
+  public void set(int x, int y, int value) {
+    core.set(x, y, value);
+  }
+
+  /**
+   * Get the value represented at the given x and y index within the grid
+   *
+   * @param x column
+   * @param y row
+   * @return the value, or -1 if there is no such index
+   */
+  public int get(int x, int y) {
+    return core.get(x, y);
+  }
+
+  /**
+   * Get the packed storage behind this grid
+   *
+   * @return the BitGrid holding the grid values
+   */
+  public BitGrid getCore() {
+    return core;
+  }
+
+  /**
+   * Get the number of columns in this game
+   *
+   * @return number of columns
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * Get the number of rows in this game
+   *
+   * @return number of rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  //End of skeleton
+
+  /**
+   * Given a specified piece and (x,y) of the grid, return if the piece can be played in this
+   * space.
+   *
+   * @param gamePiece GamePiece to play
+   * @param x         x-coordinate
+   * @param y         y-coordinate
+   * @return if the given GamePiece can be played at this coordinate
+   */
+  public boolean canPlayPiece(GamePiece gamePiece, int x, int y) {
+    //Pieces in play have their legal positions indexed already
+    PlacementIndex index = core.placementsFor(gamePiece.getType());
+    if (index != null) {
+      return index.isLegal(gamePiece.getRotation(), x, y);
+    }
+    return core.canPlace(gamePiece.getShape(), x, y);
+  }
+
+  /**
+   * Return if the given piece, at its current rotation, can be played anywhere in the grid
+   *
+   * @param gamePiece GamePiece to play
+   * @return if there is at least one valid position
+   */
+  public boolean hasValidPosition(GamePiece gamePiece) {
+    PlacementIndex index = core.placementsFor(gamePiece.getType());
+    if (index != null) {
+      return index.count(gamePiece.getRotation()) > 0;
+    }
+    //Not in play, so search until the first valid position
+    for (int y = -2; y < rows; y++) {
+      for (int x = -2; x < cols; x++) {
+        if (core.canPlace(gamePiece.getShape(), x, y)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Return if the given piece can be played anywhere in the grid in any of its rotations
+   *
+   * @param gamePiece GamePiece to play
+   * @return if there is at least one valid position in any rotation
+   */
+  public boolean hasAnyValidPosition(GamePiece gamePiece) {
+    for (int rotation = 0; rotation < 4; rotation++) {
+      if (hasValidPosition(gamePiece.rotate(rotation))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Call the consumer with every position the given piece, at its current rotation, can be played
+   * at. Positions are the top-left of the piece's 3x3 grid, as passed to playPiece, in row order.
+   *
+   * @param gamePiece GamePiece to play
+   * @param consumer  consumer to call with each x and y
+   */
+  public void forEachValidPosition(GamePiece gamePiece, PlacementConsumer consumer) {
+    PlacementIndex index = core.placementsFor(gamePiece.getType());
+    if (index != null) {
+      index.forEachLegal(gamePiece.getRotation(), consumer);
+      return;
+    }
+    for (int y = -2; y < rows; y++) {
+      for (int x = -2; x < cols; x++) {
+        if (core.canPlace(gamePiece.getShape(), x, y)) {
+          consumer.accept(x, y);
+        }
+      }
+    }
+  }
+
+  /**
+   * Get every position the given piece, at its current rotation, can be played at
+   *
+   * @param gamePiece GamePiece to play
+   * @return list of the top-left of each valid placement, in row order
+   */
+  public List<GameBlockCoordinate> getValidPositions(GamePiece gamePiece) {
+    List<GameBlockCoordinate> positions = new ArrayList<>();
+    forEachValidPosition(gamePiece, (x, y) -> positions.add(new GameBlockCoordinate(x, y)));
+    return positions;
+  }
+
+  /**
+   * Play a specified game piece on to the board, with the centre being at the given (x,y)
+   *
+   * @param gamePiece game piece to play
+   * @param x         x-coordinate
+   * @param y         y-coordinate
+   */
+  public void playPiece(GamePiece gamePiece, int x, int y) {
+    if(gamePiece == null) {
+      logger.info("Piece is null");
+      return;
+    }
+
+    int shape = gamePiece.getShape();
+    //Shape defines a 3x3 array of blocks
+    for (int bit = 0; bit < 9; bit++) {
+      //Bit will be set if a block is present
+      if ((shape & (1 << bit)) != 0) {
+        set(x + bit % 3, y + bit / 3, gamePiece.getValue());
+      }
+    }
+  }
+
+  /**
+   * Return if a horizontal row is full.
+   * Returns true if every space in this row has a non-zero value.
+   *
+   * @param row y-coordinate of this row
+   * @return if this row is full
+   */
+  public boolean rowIsFull(int row) {
+    return core.rowIsFull(row);
+  }
+
+  /**
+   * Return if a vertical column is full.
+   * Returns true if every space in this column has a non-zero value.
+   *
+   * @param col x-coordinate of this column
+   * @return if this column is full
+   */
+  public boolean colIsFull(int col) {
+    return core.colIsFull(col);
+  }
+
+  /**
+   * Clear this row.
+   * Set every space on this row to 0.
+   * @param row y-coordinate of this row
+   */
+  public void clearRow(int row) {
+    //For each block on this row
+    for (int x = 0; x < getCols(); x++) {
+      set(x, row, 0); //Set value to 0
+    }
+  }
+
+  /**
+   * Clear this column.
+   * Set every space on this column to 0.
+   * @param col x-coordinate of this column
+   */
+  public void clearCol(int col) {
+    //For each block on this column
+    for (int y = 0; y < getRows(); y++) {
+      set(col, y, 0); //Set value to 0
+    }
+  }
+
+  /**
+   * Set the value of the given (x,y) coordinate to 0.
+   * @param x x-coordinate
+   * @param y y-coordinate
+   */
+  public void clear(int x, int y) {
+    set(x, y, 0);
+  }
+
+  /**
+   * Clear the entire grid.
+   */
+  public void clearGrid() {
+    core.clearAll();
+  }
+}
@@ -1,11 +1,10 @@
 package uk.ac.soton.comp1206.game;
 
-import java.util.LinkedList;
-import java.util.Queue;
 import javafx.beans.property.SimpleListProperty;
 import javafx.collections.ObservableList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.engine.QueuePieceGenerator;
 import uk.ac.soton.comp1206.event.GamePartingListener;
 import uk.ac.soton.comp1206.event.PieceRequestListener;
 
@@ -17,9 +16,9 @@ import uk.ac.soton.comp1206.event.PieceRequestListener;
 public class MultiplayerGame extends Game {
   private static final Logger logger = LogManager.getLogger(MultiplayerGame.class);
   /**
-   * Queue of Game Pieces.
+   * Queue of piece types received from the server.
    */
-  public Queue<GamePiece> pieceQueue;
+  public QueuePieceGenerator pieceQueue;
   /**
    * Length of the Piece Queue.
    */
@@ -41,7 +40,9 @@ public class MultiplayerGame extends Game {
   public MultiplayerGame(int cols, int rows) {
     super(cols, rows);
 
-    pieceQueue = new LinkedList<>();
+    pieceQueue = new QueuePieceGenerator();
+    //Instead of spawning, dequeue pieces received from the server
+    engine.setPieceGenerator(pieceQueue);
   }
 
   /**
@@ -51,6 +52,8 @@ public class MultiplayerGame extends Game {
   public void initialiseGame() {
     logger.info("Initialising multiplayer game");
     IsRunning = true;
+    //Pieces are set as they arrive from the server
+    engine.start(false);
 
     initialisePieceQueue();
     startTimer(); //Start timer
@@ -62,6 +65,7 @@ public class MultiplayerGame extends Game {
   public void endGame() {
     logger.info("Ending game");
     IsRunning = false;
+    engine.stop();
     cancelTimer();
 
     gameFinishedListener.gameFinished(this);
@@ -73,6 +77,7 @@ public class MultiplayerGame extends Game {
   public void shutdownGame() {
     logger.info("Forcibly ended game");
     IsRunning = false;
+    engine.stop();
     cancelTimer();
 
     gamePartingListener.gameParted(this);
@@ -103,7 +108,7 @@ public class MultiplayerGame extends Game {
    * @param pieceIndex index of the GamePiece.
    */
   public void enqueuePiece(int pieceIndex) {
-    logger.info("Queuing new piece " + pieceIndex);
+    logger.debug("Queuing new piece {}", pieceIndex);
 
     if (initialiseIndex == 2) {
       setCurrentPiece(GamePiece.createPiece(pieceIndex));
@@ -112,44 +117,13 @@ public class MultiplayerGame extends Game {
       setFollowingPiece(GamePiece.createPiece(pieceIndex));
       initialiseIndex--;
     } else {
-      pieceQueue.add(GamePiece.createPiece(pieceIndex));
+      pieceQueue.enqueue(pieceIndex);
     }
-    logger.info(pieceQueue.toString());
+    logger.trace("Piece queue: {}", pieceQueue);
 
     updatePieceDisplays(); //Send message to listener
   }
 
-  /**
-   * Replace the current GamePiece with a new, random GamePiece. Also updates the PieceBoard
-   * display.
-   */
-  @Override
-  protected void nextPiece() {
-    logger.info("Spawning next GamePiece");
-
-    setCurrentPiece(followingPiece);
-    //Instead of spawning, dequeue piece
-    GamePiece piece = pieceQueue.remove();
-    setFollowingPiece(piece);
-    //Requesting piece is handled by listener, no need to call here
-
-    //Send message to listener
-    updatePieceDisplays();
-  }
-
-  /**
-   * Replace the current piece with a piece dequeued from the piece queue.
-   */
-  @Override
-  protected void replaceCurrentPiece() {
-    logger.info("Replacing with piece from queue");
-    //Dequeue piece
-    GamePiece piece = pieceQueue.remove();
-    setCurrentPiece(piece);
-    //Send message to listeners
-    updatePieceDisplays();
-  }
-
   /**
    * Return the state of this grid as a String of ints, rows left to right and columns top to
    * bottom, separated by spaces.
@@ -5,9 +5,12 @@ import javafx.scene.control.Alert;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.ac.soton.comp1206.event.CommunicationsListener;
+import uk.ac.soton.comp1206.profiling.NetworkMessageEvent;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Uses web sockets to talk to a web socket server and relays communication to attached listeners
@@ -25,6 +28,22 @@ public class Communicator {
 
     private WebSocket ws = null;
 
+    //Traffic counters, read by the performance overlay
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong charsSent = new AtomicLong();
+    private final AtomicLong messagesReceived = new AtomicLong();
+    private final AtomicLong charsReceived = new AtomicLong();
+
+    /**
+     * When the oldest unanswered message was sent, or 0 if every message has had a reply
+     */
+    private volatile long awaitingSince;
+
+    /**
+     * Time between the last unanswered message and the reply that followed it, or -1
+     */
+    private volatile long lastRoundTrip = -1;
+
     /**
      * Create a new communicator to the given web socket server
      *
@@ -38,7 +57,7 @@ public class Communicator {
             //Connect to the server
             ws = socketFactory.createSocket(server);
             ws.connect();
-            logger.info("Connected to " + server);
+            logger.info("Connected to {}", server);
 
             //When a message is received, call the receive method
             ws.addListener(new WebSocketAdapter() {
@@ -48,7 +67,7 @@ public class Communicator {
                 }
                 @Override
                 public void onPingFrame(WebSocket webSocket, WebSocketFrame webSocketFrame) throws Exception {
-                    logger.info("Ping? Pong!");
+                    logger.trace("Ping? Pong!");
                 }
             });
 
@@ -62,19 +81,16 @@ public class Communicator {
                 }
                 @Override
                 public void handleCallbackError(WebSocket webSocket, Throwable throwable) throws Exception {
-                    logger.error("Callback Error:" + throwable.getMessage());
-                    throwable.printStackTrace();
+                    logger.error("Callback Error", throwable);
                 }
                 @Override
                 public void onError(WebSocket webSocket, WebSocketException e) throws Exception {
-                    logger.error("Error:" + e.getMessage());
-                    e.printStackTrace();
+                    logger.error("Error", e);
                 }
             });
 
         } catch (Exception e){
-            logger.error("Socket error: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Socket error", e);
 
             Alert error = new Alert(Alert.AlertType.ERROR,"Unable to communicate with the TetrECS server\n\n" + e.getMessage() + "\n\nPlease ensure you are connected to the VPN");
             error.showAndWait();
@@ -87,9 +103,55 @@ public class Communicator {
      * @param message Message to send
      */
     public void send(String message) {
-        logger.info("Sending message: " + message);
+        logger.debug("Sending message: {}", message);
 
+        messagesSent.incrementAndGet();
+        charsSent.addAndGet(message.length());
+        if (awaitingSince == 0) {
+            awaitingSince = System.nanoTime();
+        }
         ws.sendText(message);
+        record("send", message);
+    }
+
+    /**
+     * Get the number of messages sent
+     * @return messages sent
+     */
+    public long getMessagesSent() {
+        return messagesSent.get();
+    }
+
+    /**
+     * Get the number of characters sent
+     * @return characters sent
+     */
+    public long getCharsSent() {
+        return charsSent.get();
+    }
+
+    /**
+     * Get the number of messages received
+     * @return messages received
+     */
+    public long getMessagesReceived() {
+        return messagesReceived.get();
+    }
+
+    /**
+     * Get the number of characters received
+     * @return characters received
+     */
+    public long getCharsReceived() {
+        return charsReceived.get();
+    }
+
+    /**
+     * Get the time between the last request and the reply that followed it
+     * @return round trip in nanoseconds, or -1 if there has not been one
+     */
+    public long getLastRoundTrip() {
+        return lastRoundTrip;
     }
 
     /**
@@ -113,11 +175,39 @@ public class Communicator {
      * @param message the message that was received
      */
     private void receive(WebSocket websocket, String message) {
-        logger.info("Received: " + message);
+        logger.debug("Received: {}", message);
+
+        messagesReceived.incrementAndGet();
+        charsReceived.addAndGet(message.length());
+        long sent = awaitingSince;
+        if (sent != 0) {
+            //Treat the first message after a request as its reply
+            lastRoundTrip = System.nanoTime() - sent;
+            awaitingSince = 0;
+        }
+
+        record("receive", message);
 
         for(CommunicationsListener handler : handlers) {
             handler.receiveCommunication(message);
         }
     }
 
+    /**
+     * Record a message for the flight recorder, if it is recording network messages
+     * @param direction send or receive
+     * @param message the message
+     */
+    private void record(String direction, String message) {
+        NetworkMessageEvent event = new NetworkMessageEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.direction = direction;
+        int space = message.indexOf(' ');
+        event.command = space < 0 ? message : message.substring(0, space);
+        event.bytes = message.getBytes(StandardCharsets.UTF_8).length;
+        event.commit();
+    }
+
 }
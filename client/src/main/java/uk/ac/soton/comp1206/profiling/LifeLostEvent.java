@@ -0,0 +1,27 @@
+package uk.ac.soton.comp1206.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the game timer running out and a life being lost.
+ */
+@Name("uk.ac.soton.comp1206.LifeLost")
+@Label("Life Lost")
+@Category({"TetrECS", "Game"})
+public class LifeLostEvent extends Event {
+
+  /**
+   * Lives left after losing one
+   */
+  @Label("Lives Left")
+  public int lives;
+
+  /**
+   * Level the life was lost on
+   */
+  @Label("Level")
+  public int level;
+}
@@ -0,0 +1,27 @@
+package uk.ac.soton.comp1206.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for lines being cleared by a placement.
+ */
+@Name("uk.ac.soton.comp1206.LinesCleared")
+@Label("Lines Cleared")
+@Category({"TetrECS", "Game"})
+public class LinesClearedEvent extends Event {
+
+  /**
+   * Number of rows and columns cleared
+   */
+  @Label("Lines")
+  public int lines;
+
+  /**
+   * Number of blocks cleared
+   */
+  @Label("Blocks")
+  public int blocks;
+}
@@ -0,0 +1,35 @@
+package uk.ac.soton.comp1206.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a message sent to or received from the server.
+ */
+@Name("uk.ac.soton.comp1206.NetworkMessage")
+@Label("Network Message")
+@Category({"TetrECS", "Network"})
+public class NetworkMessageEvent extends Event {
+
+  /**
+   * Whether the message was sent or received
+   */
+  @Label("Direction")
+  public String direction;
+
+  /**
+   * First word of the message, such as LIST or SCORE
+   */
+  @Label("Command")
+  public String command;
+
+  /**
+   * Size of the message in UTF-8
+   */
+  @Label("Size")
+  @DataAmount
+  public int bytes;
+}
@@ -0,0 +1,49 @@
+package uk.ac.soton.comp1206.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for an attempt to place the current piece, timing the placement including
+ * any line clears it causes.
+ */
+@Name("uk.ac.soton.comp1206.PiecePlaced")
+@Label("Piece Placed")
+@Category({"TetrECS", "Game"})
+@Description("An attempt to place the current piece on the board")
+public class PiecePlacedEvent extends Event {
+
+  /**
+   * Type of the piece
+   */
+  @Label("Piece Type")
+  public int pieceType;
+
+  /**
+   * Rotation of the piece
+   */
+  @Label("Rotation")
+  public int rotation;
+
+  /**
+   * Column of the left of the piece
+   */
+  @Label("X")
+  public int x;
+
+  /**
+   * Row of the top of the piece
+   */
+  @Label("Y")
+  public int y;
+
+  /**
+   * Whether the piece could be played there
+   */
+  @Label("Placed")
+  @Description("Whether the piece could be played at the position")
+  public boolean placed;
+}
@@ -0,0 +1,65 @@
+package uk.ac.soton.comp1206.profiling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Profiling starts a continuous Flight Recorder recording of the game, including the TetrECS
+ * events in this package, so frames and pauses can be lined up with what the player was doing.
+ * <p>
+ * The recording keeps a rolling window of recent data on disk and is written to the chosen file
+ * when the game exits.
+ */
+public class Profiling {
+
+  /**
+   * How much recent history the recording keeps
+   */
+  public static final Duration MAX_AGE = Duration.ofMinutes(30);
+
+  /**
+   * Largest size the recording can grow to, in bytes
+   */
+  public static final long MAX_SIZE = 100L * 1024 * 1024;
+
+  /**
+   * The running recording, or null
+   */
+  private static Recording recording;
+
+  /**
+   * Start a continuous recording with the default Flight Recorder settings, written to the given
+   * file when the game exits. Does nothing if a recording has already been started.
+   *
+   * @param destination file to write the recording to
+   * @throws IOException    if the destination cannot be written
+   * @throws ParseException if the default settings cannot be read
+   */
+  public static synchronized void startRecording(Path destination)
+      throws IOException, ParseException {
+    if (recording != null) {
+      return;
+    }
+    recording = new Recording(Configuration.getConfiguration("default"));
+    recording.setName("TetrECS");
+    recording.setToDisk(true);
+    recording.setMaxAge(MAX_AGE);
+    recording.setMaxSize(MAX_SIZE);
+    recording.setDestination(destination);
+    recording.setDumpOnExit(true);
+    recording.start();
+  }
+
+  /**
+   * Return whether a recording has been started
+   *
+   * @return if the game is being recorded
+   */
+  public static synchronized boolean isRecording() {
+    return recording != null;
+  }
+}
@@ -0,0 +1,21 @@
+package uk.ac.soton.comp1206.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a scene being built and shown, timing the build.
+ */
+@Name("uk.ac.soton.comp1206.SceneLoad")
+@Label("Scene Load")
+@Category({"TetrECS", "Rendering"})
+public class SceneLoadEvent extends Event {
+
+  /**
+   * Class name of the scene
+   */
+  @Label("Scene")
+  public String scene;
+}
@@ -0,0 +1,24 @@
+package uk.ac.soton.comp1206.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a sound effect, timing the latency from asking for the sound to it
+ * starting to play.
+ */
+@Name("uk.ac.soton.comp1206.SoundPlayed")
+@Label("Sound Played")
+@Category({"TetrECS", "Audio"})
+@Description("Latency between a sound being requested and starting to play")
+public class SoundPlayedEvent extends Event {
+
+  /**
+   * Resource path of the sound
+   */
+  @Label("Sound")
+  public String sound;
+}
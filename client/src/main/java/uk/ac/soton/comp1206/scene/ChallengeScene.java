@@ -1,5 +1,6 @@
 package uk.ac.soton.comp1206.scene;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.geometry.Insets;
@@ -14,6 +15,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
+import javafx.util.Duration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.ac.soton.comp1206.Multimedia;
@@ -22,8 +24,11 @@ import uk.ac.soton.comp1206.component.GameBlock;
 import uk.ac.soton.comp1206.component.GameBoard;
 import uk.ac.soton.comp1206.component.PieceBoard;
 import uk.ac.soton.comp1206.component.TimerBar;
+import uk.ac.soton.comp1206.engine.ai.AutoPlayer;
+import uk.ac.soton.comp1206.engine.ai.SearchPlayer;
 import uk.ac.soton.comp1206.game.Game;
 import uk.ac.soton.comp1206.game.GameAim;
+import uk.ac.soton.comp1206.game.GamePiece;
 import uk.ac.soton.comp1206.ui.GamePane;
 import uk.ac.soton.comp1206.ui.GameWindow;
 
@@ -84,6 +89,30 @@ public class ChallengeScene extends BaseScene {
    * Width of the Game Timer.
    */
   protected static final double GAMETIMER_WIDTH = 20;
+  /**
+   * Pause between moves when the game is playing itself, in milliseconds.
+   */
+  protected static final double AUTOPLAY_DELAY = 400;
+  /**
+   * Plays the game by itself when autoplay is on.
+   */
+  protected AutoPlayer autoPlayer;
+  /**
+   * Pause before the next automatic move.
+   */
+  protected PauseTransition autoplayPause;
+  /**
+   * Boolean to show if the game is playing itself.
+   */
+  protected boolean autoplay = false;
+  /**
+   * Time scales to cycle through when fast forwarding.
+   */
+  protected static final double[] TIME_SCALES = {1, 2, 4};
+  /**
+   * Index of the current time scale.
+   */
+  private int timeScaleIndex = 0;
 
   /**
    * Create a new Single Player challenge scene
@@ -96,7 +125,7 @@ public class ChallengeScene extends BaseScene {
   }
 
   /**
-   * Build the Challenge window
+   * Build the Challenge window. Subclasses change the board by overriding buildBoard.
    */
   @Override
   public void build() {
@@ -115,31 +144,15 @@ public class ChallengeScene extends BaseScene {
     mainPane = new BorderPane();
     challengePane.getChildren().add(mainPane);
 
-    var centerBoardStack = new StackPane();
-    centerBoardStack.setPrefSize(gameWindow.getWidth() / 2, gameWindow.getWidth() / 2);
-    mainPane.setCenter(centerBoardStack);
-
-    ///////////////////////
-    //Build the game board
-    board = new GameBoard(game.getGrid(), gameWindow.getWidth() / 2, gameWindow.getWidth() / 2);
-    //Handle block on gameboard grid being clicked
-    board.setOnBlockClick(this::blockClicked);
-    //Handle block on gameboard grid being right clicked
-    board.setOnRightClicked((event) -> {
-      //Default rotate on click is rotate right
-      logger.info("Right click");
-      game.rotateRight();
-    });
-    //Handle block being hovered
-    board.setBlockHoveredListener(this::blockHovered);
-    mainPane.setCenter(board);
+    buildAutoplay();
 
     //Key Listeners
     gameAim = new GameAim(game.getGrid());
-    assignControls(); //Assign rest of controls
 
-    //Game Line Cleared
-    game.setLineClearedListener(gameBlockCoordinateSet -> board.fadeOut(gameBlockCoordinateSet));
+    ///////////////////////
+    //Build the game board
+    buildBoard();
+
     //Game Finished
     game.setGameFinishedListener(thisGame -> {
       logger.info("Received GameFinishedListener, showing scores");
@@ -149,35 +162,80 @@ public class ChallengeScene extends BaseScene {
 
     ///////////////////////
     //Build the game stats
-    var gameStats = buildGameStats();
-    //sideBar.getChildren().add(gameStats);
-    mainPane.setRight(gameStats);
+    mainPane.setRight(buildGameStats());
 
     ///////////////////////
-    //Build the piece queue
+    //Build the piece queue and the game timer
     //Bottom display
     var baseGrid = new GridPane();
     mainPane.setBottom(baseGrid);
     baseGrid.setPrefWidth(gameWindow.getWidth());
+    baseGrid.add(buildPieceBoards(), 0, 0);
+    baseGrid.add(buildTimerBar(), 0, 1);
+
+    //Title
+    mainPane.setTop(buildTitle());
+
+    IsBuilt = true;
+  }
+
+  /**
+   * Build the game board, set it in the centre of the main pane and assign the controls that play
+   * on it. Line clears fade out on the board.
+   */
+  protected void buildBoard() {
+    board = new GameBoard(game.getGrid(), gameWindow.getWidth() / 2, gameWindow.getWidth() / 2);
+    //Handle block on gameboard grid being clicked
+    board.setOnBlockClick(this::blockClicked);
+    //Handle block on gameboard grid being right clicked
+    board.setOnRightClicked((event) -> {
+      //Default rotate on click is rotate right
+      logger.info("Right click");
+      game.rotateRight();
+    });
+    //Handle block being hovered
+    board.setBlockHoveredListener(this::blockHovered);
+    mainPane.setCenter(board);
 
+    assignControls();
+
+    //Game Line Cleared
+    game.setLineClearedListener(board::fadeOut);
+  }
+
+  /**
+   * Set up autoplay, driven through the same controls as the player.
+   */
+  protected void buildAutoplay() {
+    autoPlayer = new AutoPlayer(game.getEngine(), game, new SearchPlayer());
+    autoplayPause = new PauseTransition(Duration.millis(AUTOPLAY_DELAY));
+    autoplayPause.setOnFinished(event -> autoplayTurn());
+  }
+
+  /**
+   * Build the displays of the next and following pieces, which rotate and swap the pieces when
+   * clicked.
+   *
+   * @return HBox holding the piece boards
+   */
+  protected HBox buildPieceBoards() {
     //Build current piece display
     var pieceDisplay = new HBox(10);
     pieceDisplay.setAlignment(Pos.BASELINE_RIGHT);
     pieceDisplay.setPrefWidth(gameWindow.getWidth() / 2);
     pieceDisplay.setPadding(new Insets(0, 10, 10, 10));
-    baseGrid.add(pieceDisplay, 0, 0);
 
     //Create following piece PieceBoard
     //(Making this one first such that it is positioned to the left)
     followingPieceBoard = new PieceBoard(FOLLOWINGPIECEBOARD_SIZE, FOLLOWINGPIECEBOARD_SIZE);
-    followingPieceBoard.setOnBlockClick(block -> game.swapCurrentPiece());
+    followingPieceBoard.setOnMouseClicked(event -> game.swapCurrentPiece());
     pieceDisplay.getChildren().add(followingPieceBoard);
 
     //Create next piece PieceBoard (with center circle)
     var nextPieceStack = new StackPane(); //Create stackpane to hold the pieceboard and the circle
     nextPieceStack.setPrefSize(NEXTPIECEBOARD_SIZE, NEXTPIECEBOARD_SIZE);
     nextPieceBoard = new PieceBoard(NEXTPIECEBOARD_SIZE, NEXTPIECEBOARD_SIZE);
-    nextPieceBoard.setOnBlockClick(block -> {
+    nextPieceBoard.setOnMouseClicked(event -> {
       //Default rotate on click is rotate right
       game.rotateRight();
     });
@@ -187,33 +245,58 @@ public class ChallengeScene extends BaseScene {
 
     //PieceBoard logic
     game.setNextPieceListener((nextPiece, followingPiece) -> {
+      showPreviewPiece(nextPiece);
       nextPieceBoard.displayPiece(nextPiece);
       followingPieceBoard.displayPiece(followingPiece);
     });
 
-    ///////////////////////
-    //Build the game timer
+    return pieceDisplay;
+  }
+
+  /**
+   * Show the piece about to be played as a ghost on the game board.
+   *
+   * @param piece the current piece
+   */
+  protected void showPreviewPiece(GamePiece piece) {
+    board.setPreviewPiece(piece);
+  }
+
+  /**
+   * Build the game timer, which follows the game clock once the game starts.
+   *
+   * @return the game timer
+   */
+  protected TimerBar buildTimerBar() {
     gameTimer = new TimerBar(gameWindow.getWidth(), GAMETIMER_WIDTH);
-    game.setOnGameLoop(lives -> Platform.runLater(this::restartGameTimer));
-    game.addPiecePlayedListener(gamePiece -> {
-      Platform.runLater(this::restartGameTimer);
-      //restartGameTimer();
-    });
     gameTimer.setAlignment(Pos.TOP_CENTER);
-    baseGrid.add(gameTimer, 0, 1);
-    ///////////////////////
+    return gameTimer;
+  }
 
-    //Title
+  /**
+   * Build the title shown above the board.
+   *
+   * @return StackPane holding the title
+   */
+  protected StackPane buildTitle() {
     var titleTextStack = new StackPane();
-    mainPane.setTop(titleTextStack);
 
-    var titleText = new Text("Challenge");
+    var titleText = new Text(getTitle());
     titleText.getStyleClass().add("title");
     titleText.setTextAlignment(TextAlignment.CENTER);
     GentleShakeAnimation.startAnimation(titleText);
     titleTextStack.getChildren().add(titleText);
 
-    IsBuilt = true;
+    return titleTextStack;
+  }
+
+  /**
+   * Return the title of this mode.
+   *
+   * @return title
+   */
+  protected String getTitle() {
+    return "Challenge";
   }
 
   /**
@@ -320,6 +403,69 @@ public class ChallengeScene extends BaseScene {
         game.swapCurrentPiece();
       }
     });
+    //Toggle Autoplay
+    game.addKeyListener(event -> {
+      if (event.getCode() == KeyCode.F2) {
+        toggleAutoplay();
+      }
+    });
+    //Pause
+    game.addKeyListener(event -> {
+      if (event.getCode() == KeyCode.P) {
+        game.togglePause();
+      }
+    });
+    //Fast forward
+    game.addKeyListener(event -> {
+      if (event.getCode() == KeyCode.F4) {
+        timeScaleIndex = (timeScaleIndex + 1) % TIME_SCALES.length;
+        game.setTimeScale(TIME_SCALES[timeScaleIndex]);
+      }
+    });
+  }
+
+  /**
+   * Turn autoplay on or off. While on, the game plays itself one move at a time. Once autoplay has
+   * been used, the game's score is not submitted.
+   */
+  protected void toggleAutoplay() {
+    autoplay = !autoplay;
+    logger.info("Autoplay {}", autoplay ? "on" : "off");
+    if (autoplay) {
+      //A game the computer has played a part in does not count for the high scores
+      game.setUnranked();
+      autoplayPause.playFromStart();
+    } else {
+      autoplayPause.stop();
+    }
+  }
+
+  /**
+   * Search for a move in the background, then play it and wait before the next one. Nothing is
+   * searched for while the game is paused.
+   */
+  protected void autoplayTurn() {
+    if (!autoplay || !game.IsRunning) {
+      autoplay = false;
+      return;
+    }
+    if (game.isPaused()) {
+      autoplayPause.playFromStart();
+      return;
+    }
+    autoPlayer.planAsync().whenComplete((move, error) -> Platform.runLater(() -> {
+      if (error != null) {
+        logger.error("Autoplay search failed", error);
+      }
+      if (!autoplay || !game.IsRunning) {
+        return;
+      }
+      //With no move, wait for the timer to bring a new piece
+      if (move != null && !autoPlayer.apply(move)) {
+        logger.debug("Autoplay move was not placed, planning again");
+      }
+      autoplayPause.playFromStart();
+    }));
   }
 
   /**
@@ -358,6 +504,7 @@ public class ChallengeScene extends BaseScene {
 
     //Start new game
     game = new Game(5, 5);
+    gameWindow.getPerformanceHud().watch(game.getEngine());
   }
 
   /**
@@ -370,20 +517,13 @@ public class ChallengeScene extends BaseScene {
     game.start();
 
     scene.setOnKeyPressed(keyEvent -> game.keyPressed(keyEvent)); //Enable controls
-    gameTimer.startTimer(game.getTimerDelay());
+    gameTimer.track(game.getTimerCountdown()); //Follows the game clock, so needs no restarting
 
     Multimedia.stopMusic(); //Stop current music
     Multimedia.gameStart(); //Play game start sound effect
     Multimedia.gameMusic(); //Set to game music
   }
 
-  /**
-   * Restart the GameTimer with the timer delay calculated by the Game.
-   */
-  protected void restartGameTimer() {
-    gameTimer.restartTimer(game.getTimerDelay());
-  }
-
   /**
    * Build the stats display of the user interface. Keeps track of score, level, lives and score
    * multiplier.
@@ -0,0 +1,175 @@
+package uk.ac.soton.comp1206.scene;
+
+import javafx.scene.input.KeyCode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.component.CanvasGameBoard;
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.ui.GameWindow;
+
+/**
+ * The Endurance scene. Plays the single player challenge on a very large board, from 50x50 up to
+ * 200x200, as a stress test of the game and a benchmark of how the engine scales.
+ * <p>
+ * A board that large cannot be shown whole, so it is drawn by a CanvasGameBoard with a fixed cell
+ * size, which only paints the cells in view. The view follows the keyboard aim, and can be panned
+ * with the scroll wheel or by dragging with the middle button.
+ * <p>
+ * Endurance games are unranked, so their scores are shown but never entered in the high scores.
+ * Autoplay is kept, as each move is searched within the SearchPlayer's time budget whatever the
+ * board size.
+ */
+public class EnduranceScene extends ChallengeScene {
+
+  private static final Logger logger = LogManager.getLogger(EnduranceScene.class);
+
+  /**
+   * Board sizes that can be chosen from the menu.
+   */
+  public static final int[] SIZES = {50, 100, 200};
+
+  /**
+   * Width and height of each cell of the board.
+   */
+  private static final double CELL_SIZE = 24;
+
+  /**
+   * Number of columns and rows of the board.
+   */
+  private final int size;
+
+  /**
+   * Viewport on to the game board.
+   */
+  private CanvasGameBoard enduranceBoard;
+
+  /**
+   * Create a new Endurance scene
+   *
+   * @param gameWindow the Game Window
+   * @param size       number of columns and rows of the board
+   */
+  public EnduranceScene(GameWindow gameWindow, int size) {
+    super(gameWindow);
+    this.size = size;
+    logger.info("Creating Endurance Scene: {} x {}", size, size);
+  }
+
+  /**
+   * Build the game board, as a viewport on to the grid, with the middle of the board in view
+   */
+  @Override
+  protected void buildBoard() {
+    double boardSize = gameWindow.getWidth() / 2;
+    enduranceBoard = new CanvasGameBoard(game.getGrid(), boardSize, boardSize, CELL_SIZE);
+    enduranceBoard.setOnCellClick(game::blockClicked);
+    //Default rotate on right click is rotate right
+    enduranceBoard.setOnRightClicked((event) -> game.rotateRight());
+    enduranceBoard.setCellHoveredListener((x, y) -> {
+      if (x >= 0) {
+        gameAim.setAimPosition(x, y);
+      }
+    });
+    mainPane.setCenter(enduranceBoard);
+
+    gameAim.setAimPosition(size / 2, size / 2);
+    assignEnduranceControls();
+
+    //Start with the middle of the board in view
+    double middle = (size * CELL_SIZE - boardSize) / 2;
+    enduranceBoard.scrollTo(middle, middle);
+
+    //Game Line Cleared
+    game.setLineClearedListener(enduranceBoard::fadeOut);
+  }
+
+  /**
+   * The canvas board does not show a placement preview, so the piece is only shown in the queue
+   *
+   * @param piece the current piece
+   */
+  @Override
+  protected void showPreviewPiece(GamePiece piece) {
+  }
+
+  /**
+   * Return the title of this mode, with the board size.
+   *
+   * @return title
+   */
+  @Override
+  protected String getTitle() {
+    return "Endurance " + size + "x" + size;
+  }
+
+  /**
+   * Setup the game object and model, on a board of the chosen size
+   */
+  @Override
+  public void setupGame() {
+    logger.info("Starting a new endurance game");
+
+    game = new Game(size, size);
+    //Scores on these boards are not comparable with the 5x5 high scores
+    game.setUnranked();
+    gameWindow.getPerformanceHud().watch(game.getEngine());
+  }
+
+  /**
+   * Assign the keybinds used to control the Game. These match the Challenge scene, with the aim
+   * moving the view along with it.
+   */
+  private void assignEnduranceControls() {
+    game.addKeyListener(event -> {
+      KeyCode code = event.getCode();
+      if (code == KeyCode.ESCAPE) {
+        game.shutdownGame();
+        gameWindow.startMenu();
+      } else if (code == KeyCode.F2) {
+        toggleAutoplay();
+      } else if (code == KeyCode.P) {
+        game.togglePause();
+      }
+    });
+
+    //Game Aim
+    game.addKeyListener(event -> {
+      switch (event.getCode()) {
+        case LEFT, A -> gameAim.moveLeft();
+        case RIGHT, D -> gameAim.moveRight();
+        case UP, W -> gameAim.moveUp();
+        case DOWN, S -> gameAim.moveDown();
+        default -> {
+          return;
+        }
+      }
+      aimMoved();
+    });
+
+    game.addKeyListener(event -> {
+      if (!game.IsRunning) {
+        logger.info("Cannot play when game not running");
+        return;
+      }
+      KeyCode code = event.getCode();
+      if (code == KeyCode.ENTER || code == KeyCode.X) {
+        game.blockClicked(gameAim.getX(), gameAim.getY());
+      } else if (code == KeyCode.Q || code == KeyCode.Z || code == KeyCode.BRACELEFT) {
+        game.rotateLeft();
+      } else if (code == KeyCode.E || code == KeyCode.C || code == KeyCode.BRACERIGHT) {
+        game.rotateRight();
+      } else if (code == KeyCode.SPACE || code == KeyCode.R) {
+        game.swapCurrentPiece();
+      }
+    });
+  }
+
+  /**
+   * Highlight the cell targeted by the Game Aim, and bring it into view.
+   */
+  private void aimMoved() {
+    enduranceBoard.reveal(gameAim.getX(), gameAim.getY());
+    enduranceBoard.highlight(gameAim.getX(), gameAim.getY());
+  }
+}
@@ -1,9 +1,7 @@
 package uk.ac.soton.comp1206.scene;
 
-import java.util.Objects;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.BorderPane;
@@ -12,6 +10,7 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.AssetCache;
 import uk.ac.soton.comp1206.component.PieceBoard;
 import uk.ac.soton.comp1206.game.GamePiece;
 import uk.ac.soton.comp1206.ui.GamePane;
@@ -50,8 +49,7 @@ public class InstructionsScene extends BaseScene {
     var mainPane = new BorderPane();
     instructionsPane.getChildren().add(mainPane);
 
-    var instructions = new Image(
-        Objects.requireNonNull(this.getClass().getResource("/images/Instructions.png")).toExternalForm());
+    var instructions = AssetCache.image("/images/Instructions.png");
     var instructionsView = new ImageView();
     instructionsView.setImage(instructions);
     instructionsView.setPreserveRatio(true);
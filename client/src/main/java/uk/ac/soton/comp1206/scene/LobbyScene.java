@@ -1,7 +1,5 @@
 package uk.ac.soton.comp1206.scene;
 
-import java.util.Timer;
-import java.util.TimerTask;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -17,6 +15,7 @@ import javafx.scene.text.TextAlignment;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.ac.soton.comp1206.Multimedia;
+import uk.ac.soton.comp1206.GameScheduler;
 import uk.ac.soton.comp1206.component.TimerBar;
 import uk.ac.soton.comp1206.component.multiplayer.ChannelDisplay;
 import uk.ac.soton.comp1206.component.multiplayer.ChannelList;
@@ -38,7 +37,15 @@ public class LobbyScene extends BaseScene {
    * Timer bar reused from challenge scene to indicate channel requests
    */
   private TimerBar channelRequestTimerBar;
-  private Timer timer;
+  /**
+   * Timer that requests channels on completion
+   */
+  private final GameScheduler.Task timer = GameScheduler.fxTask("ChannelRequestTimer", () -> {
+    clearChannelDisplays();
+    requestChannels(); //Request channels
+    resetTimer(); //Restart timer
+    restartTimerBar(); //Restart animated timer
+  });
   private static final long CHANNEL_REQUEST_DELAY = 4000;
 
   /**
@@ -260,7 +267,7 @@ public class LobbyScene extends BaseScene {
    * @param message String representing a server message.
    */
   private void recieveMessage(String message) {
-    logger.info("Recieved message: " + message);
+    logger.info("Recieved message: {}", message);
 
     /////////////////////////
     //Server messages
@@ -352,13 +359,13 @@ public class LobbyScene extends BaseScene {
    * @param channelNames String of all channel names.
    */
   private void createListOfChannels(String channelNames) {
-    logger.info("Creating list of channel displays from " + channelNames);
+    logger.info("Creating list of channel displays from {}", channelNames);
 
     String[] channelNameArray = channelNames.split("\n");
-    logger.info("Number of channels: " + channelNameArray.length);
+    logger.info("Number of channels: {}", channelNameArray.length);
 
     for (String channelName : channelNameArray) {
-      logger.info("Channel: " + channelName);
+      logger.info("Channel: {}", channelName);
       if (!channelName.isBlank()) {
         createChannelDisplay(channelName);
       }
@@ -421,21 +428,8 @@ public class LobbyScene extends BaseScene {
    * the timer.
    */
   private void startTimer() {
-    logger.info("Started new Timer for " + CHANNEL_REQUEST_DELAY + " milliseconds");
-    timer = new Timer("ChannelRequestTimer");
-
-    TimerTask timerTask = new TimerTask() {
-      @Override
-      public void run() {
-        Platform.runLater(() -> {
-          clearChannelDisplays();
-          requestChannels(); //Request channels
-          resetTimer(); //Restart timer
-          restartTimerBar(); //Restart animated timer
-        });
-      }
-    };
-    timer.schedule(timerTask, CHANNEL_REQUEST_DELAY);
+    logger.info("Started new Timer for {} milliseconds", CHANNEL_REQUEST_DELAY);
+    timer.schedule(CHANNEL_REQUEST_DELAY);
   }
 
   /**
@@ -455,7 +449,6 @@ public class LobbyScene extends BaseScene {
   private void cancelTimer() {
     logger.info("Timer cancelled");
     timer.cancel();
-    timer.purge();
   }
 
   //////////////////////////////////////
@@ -1,14 +1,16 @@
 package uk.ac.soton.comp1206.scene;
 
-import java.util.Objects;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.AssetCache;
 import uk.ac.soton.comp1206.Multimedia;
 import uk.ac.soton.comp1206.animations.GentleShakeAnimation;
 import uk.ac.soton.comp1206.component.imageButtons.CandyButtonImageType;
@@ -57,9 +59,7 @@ public class MenuScene extends BaseScene {
     menuPane.getChildren().add(mainPane);
 
     //Picture title
-    var titleImage = new Image(
-        Objects.requireNonNull(this.getClass().getResource("/images/TetrECS.png"))
-            .toExternalForm());
+    var titleImage = AssetCache.image("/images/TetrECS.png");
     title = new ImageView();
     title.setImage(titleImage);
     title.setPreserveRatio(true);
@@ -91,6 +91,21 @@ public class MenuScene extends BaseScene {
     var settingsImageButton = new ImageButton(CandyButtonImageType.OPTIONS, buttonSize, buttonSize);
     menuButtons.getChildren().add(settingsImageButton);
     settingsImageButton.setButtonClickedListener(this::showSettings);
+
+    //Endurance board sizes
+    var enduranceSizes = new HBox(20);
+    enduranceSizes.setAlignment(Pos.CENTER);
+    enduranceSizes.setPadding(new Insets(0, 0, 10, 0));
+    mainPane.setBottom(enduranceSizes);
+    var enduranceLabel = new Text("Endurance");
+    enduranceLabel.getStyleClass().add("heading");
+    enduranceSizes.getChildren().add(enduranceLabel);
+    for (int size : EnduranceScene.SIZES) {
+      var sizeText = new Text(size + "x" + size);
+      sizeText.getStyleClass().add("menuItem");
+      sizeText.setOnMouseClicked(event -> gameWindow.startEndurance(size));
+      enduranceSizes.getChildren().add(sizeText);
+    }
   }
 
   /**
@@ -113,7 +113,7 @@ public class MultiplayerScene extends ChallengeScene {
     assignControls(); //Assign rest of controls
 
     //Game Line Cleared
-    game.setLineClearedListener(gameBlockCoordinateSet -> board.fadeOut(gameBlockCoordinateSet));
+    game.setLineClearedListener(board::fadeOut);
     //Game Finished
     game.setGameFinishedListener(game -> {
       logger.info("Received GameFinishedListener, showing scores");
@@ -146,14 +146,14 @@ public class MultiplayerScene extends ChallengeScene {
     //Create following piece PieceBoard
     //(Making this one first such that it is positioned to the left)
     followingPieceBoard = new PieceBoard(FOLLOWINGPIECEBOARD_SIZE, FOLLOWINGPIECEBOARD_SIZE);
-    followingPieceBoard.setOnBlockClick(block -> game.swapCurrentPiece());
+    followingPieceBoard.setOnMouseClicked(event -> game.swapCurrentPiece());
     pieceDisplay.getChildren().add(followingPieceBoard);
 
     //Create next piece PieceBoard (with center circle)
     var nextPieceStack = new StackPane(); //Create stackpane to hold the pieceboard and the circle
     nextPieceStack.setPrefSize(NEXTPIECEBOARD_SIZE, NEXTPIECEBOARD_SIZE);
     nextPieceBoard = new PieceBoard(NEXTPIECEBOARD_SIZE, NEXTPIECEBOARD_SIZE);
-    nextPieceBoard.setOnBlockClick(block -> {
+    nextPieceBoard.setOnMouseClicked(event -> {
       //Default rotate on click is rotate right
       game.rotateRight();
     });
@@ -165,11 +165,8 @@ public class MultiplayerScene extends ChallengeScene {
     //Build the game timer
     gameTimer = new TimerBar(gameWindow.getWidth(), GAMETIMER_WIDTH);
     game.setOnGameLoop(lives -> {
-      Platform.runLater(this::restartGameTimer);
-
       sendLives(lives); //Send lives messages
     });
-    game.addPiecePlayedListener(gamePiece -> Platform.runLater(this::restartGameTimer));
     baseGrid.add(gameTimer, 0, 1);
     ///////////////////////
 
@@ -217,6 +214,7 @@ public class MultiplayerScene extends ChallengeScene {
 
     //Start new multiplayer game
     game = new MultiplayerGame(5, 5);
+    gameWindow.getPerformanceHud().watch(game.getEngine());
   }
 
   /**
@@ -317,12 +315,13 @@ public class MultiplayerScene extends ChallengeScene {
     logger.info("Initialising Challenge");
     //PieceBoard logic
     game.setNextPieceListener((nextPiece, followingPiece) -> {
+      board.setPreviewPiece(nextPiece);
       nextPieceBoard.displayPiece(nextPiece);
       followingPieceBoard.displayPiece(followingPiece);
     });
 
     scene.setOnKeyPressed(keyEvent -> game.keyPressed(keyEvent)); //Enable controls
-    gameTimer.startTimer(game.getTimerDelay());
+    gameTimer.track(game.getTimerCountdown()); //Follows the game clock, so needs no restarting
 
     Multimedia.stopMusic(); //Stop current music
     Multimedia.gameMusic(); //Set to game music
@@ -336,13 +335,6 @@ public class MultiplayerScene extends ChallengeScene {
 
   }
 
-  /**
-   * Restart the GameTimer with the timer delay calculated by the Game.
-   */
-  protected void restartGameTimer() {
-    gameTimer.restartTimer(game.getTimerDelay());
-  }
-
   /**
    * Receive and process messages from the communicator.
    *
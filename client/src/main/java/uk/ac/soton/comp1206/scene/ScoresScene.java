@@ -3,13 +3,11 @@ package uk.ac.soton.comp1206.scene;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleListProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Pos;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.BorderPane;
@@ -21,6 +19,7 @@ import javafx.scene.text.TextAlignment;
 import javafx.util.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.AssetCache;
 import uk.ac.soton.comp1206.FileUtilities;
 import uk.ac.soton.comp1206.animations.GentleShakeAnimation;
 import uk.ac.soton.comp1206.component.scores.ScoresList;
@@ -140,9 +139,7 @@ public class ScoresScene extends BaseScene {
     scoresPane.getChildren().add(mainPane);
 
     //Picture title
-    var titleImage = new Image(
-        Objects.requireNonNull(this.getClass().getResource("/images/TetrECS.png"))
-            .toExternalForm());
+    var titleImage = AssetCache.image("/images/TetrECS.png");
     var title = new ImageView();
     title.setImage(titleImage);
     title.setPreserveRatio(true);
@@ -248,9 +245,20 @@ public class ScoresScene extends BaseScene {
 
   /**
    * Check if the game score beats the local or global scores. If it beats either, prompt the user
-   * prompt box.
+   * prompt box. Unranked games are never entered.
    */
   private void checkGameScores() {
+    //Unranked games are shown against the scores, but never entered in them
+    if (!game.isRanked()) {
+      logger.info("Game is unranked, not checking scores");
+      Platform.runLater(() -> {
+        showScoreLists();
+        showScoreListText(true);
+        userPromptBox.setActive(false);
+      });
+      return;
+    }
+
     //Check if game score beats local/global scores
     boolean beatsLocalScores = false;
     boolean beatsGlobalScores = false;
@@ -2,16 +2,24 @@ package uk.ac.soton.comp1206.ui;
 
 import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.ac.soton.comp1206.App;
+import uk.ac.soton.comp1206.AssetCache;
+import uk.ac.soton.comp1206.Logging;
 import uk.ac.soton.comp1206.Multimedia;
+import uk.ac.soton.comp1206.SoundBank;
+import uk.ac.soton.comp1206.animations.GentleShakeAnimation;
+import uk.ac.soton.comp1206.component.PerformanceHud;
+import uk.ac.soton.comp1206.component.imageButtons.CandyButtonImages;
 import uk.ac.soton.comp1206.game.Game;
 import uk.ac.soton.comp1206.network.Communicator;
+import uk.ac.soton.comp1206.profiling.SceneLoadEvent;
 import uk.ac.soton.comp1206.scene.*;
 import uk.ac.soton.comp1206.scene.ScoresScene;
 
@@ -36,6 +44,8 @@ public class GameWindow {
 
     final Communicator communicator;
 
+    private final PerformanceHud performanceHud;
+
     /**
      * Create a new GameWindow attached to the given stage with the specified width and height
      * @param stage stage
@@ -60,6 +70,9 @@ public class GameWindow {
         //Setup communicator
         communicator = new Communicator("ws://ofb-labs.soton.ac.uk:9700");
 
+        //Setup performance overlay, shown over every scene
+        performanceHud = new PerformanceHud(communicator);
+
         //Go to menu
         startMenu();
     }
@@ -71,9 +84,14 @@ public class GameWindow {
         logger.info("Loading resources");
 
         //We need to load fonts here due to the Font loader bug with spaces in URLs in the CSS files
-        Font.loadFont(getClass().getResourceAsStream("/style/Orbitron-Regular.ttf"),32);
-        Font.loadFont(getClass().getResourceAsStream("/style/Orbitron-Bold.ttf"),32);
-        Font.loadFont(getClass().getResourceAsStream("/style/Orbitron-ExtraBold.ttf"),32);
+        AssetCache.font("/style/Orbitron-Regular.ttf",32);
+        AssetCache.font("/style/Orbitron-Bold.ttf",32);
+        AssetCache.font("/style/Orbitron-ExtraBold.ttf",32);
+
+        //Start decoding the larger images, button atlas and sounds while the first scene is built
+        AssetCache.preload();
+        CandyButtonImages.load();
+        SoundBank.load();
     }
 
     /**
@@ -88,6 +106,15 @@ public class GameWindow {
      */
     public void startChallenge() { loadScene(new ChallengeScene(this)); }
 
+    /**
+     * Display the single player challenge on a large board, with the given number of rows and columns
+     * @param size number of rows and columns
+     */
+    public void startEndurance(int size) {
+        logger.info("Loading Endurance {} x {}", size, size);
+        loadScene(new EnduranceScene(this, size));
+    }
+
     ////////
 
     /**
@@ -137,6 +164,17 @@ public class GameWindow {
         stage.setMinWidth(width);
         stage.setMinHeight(height + 20);
         stage.setOnCloseRequest(ev -> App.getInstance().shutdown());
+        //Idle animations pause while the window is in the background
+        GentleShakeAnimation.attach(stage);
+        //F12 changes how much is logged, whichever scene is showing
+        stage.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.F12) {
+                Logging.cycleLevel();
+            }
+            if (event.getCode() == KeyCode.F3 && performanceHud != null) {
+                performanceHud.toggle();
+            }
+        });
     }
 
     /**
@@ -147,11 +185,19 @@ public class GameWindow {
         //Cleanup remains of the previous scene
         cleanup();
 
-        //Create the new scene and set it up
+        //Create the new scene and set it up, timing it for the flight recorder
+        SceneLoadEvent event = new SceneLoadEvent();
+        event.begin();
+        performanceHud.watch(null);
         newScene.build();
         currentScene = newScene;
         scene = newScene.setScene();
         stage.setScene(scene);
+        event.scene = newScene.getClass().getSimpleName();
+        event.commit();
+
+        //Move the performance overlay on top of the new scene
+        ((Pane) scene.getRoot()).getChildren().add(performanceHud);
 
         //Initialise the scene when ready
         logger.info("Preparing to initialise "+currentScene.getClass());
@@ -198,6 +244,14 @@ public class GameWindow {
         return this.height;
     }
 
+    /**
+     * Get the performance overlay
+     * @return performance overlay
+     */
+    public PerformanceHud getPerformanceHud() {
+        return performanceHud;
+    }
+
     /**
      * Get the communicator
      * @return communicator
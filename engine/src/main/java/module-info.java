@@ -0,0 +1,8 @@
+/**
+ * Module Info for the TetrECS game engine. Holds the game rules with no JavaFX dependency.
+ */
+module uk.ac.soton.comp1206.engine {
+    exports uk.ac.soton.comp1206.engine;
+    exports uk.ac.soton.comp1206.engine.ai;
+    exports uk.ac.soton.comp1206.engine.replay;
+}
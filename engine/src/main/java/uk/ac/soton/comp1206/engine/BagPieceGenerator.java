@@ -0,0 +1,62 @@
+package uk.ac.soton.comp1206.engine;
+
+/**
+ * The Bag Piece Generator deals pieces from a shuffled bag holding every piece type, refilling and
+ * reshuffling the bag once it is empty. Every type comes up once per bag, so droughts and floods
+ * of a piece are limited.
+ */
+public class BagPieceGenerator extends RandomPieceGenerator {
+
+  /**
+   * The bag, holding each piece type the given number of times
+   */
+  private final int[] bag;
+
+  /**
+   * Index of the next piece to deal from the bag
+   */
+  private int index;
+
+  /**
+   * Create a new bag generator holding each piece type once
+   *
+   * @param seed seed to shuffle with
+   */
+  public BagPieceGenerator(long seed) {
+    this(seed, 1, DEFAULT_PREFETCH);
+  }
+
+  /**
+   * Create a new bag generator
+   *
+   * @param seed     seed to shuffle with
+   * @param copies   number of copies of each piece type in a bag
+   * @param prefetch number of upcoming pieces that can be looked at
+   */
+  public BagPieceGenerator(long seed, int copies, int prefetch) {
+    super(seed, prefetch);
+    if (copies < 1) {
+      throw new IllegalArgumentException("A bag must hold at least one copy of each piece");
+    }
+    bag = new int[PieceCatalog.PIECES * copies];
+    for (int i = 0; i < bag.length; i++) {
+      bag[i] = i % PieceCatalog.PIECES;
+    }
+    index = bag.length;
+  }
+
+  @Override
+  protected int generate() {
+    if (index == bag.length) {
+      //Fisher-Yates shuffle
+      for (int i = bag.length - 1; i > 0; i--) {
+        int j = random.nextInt(i + 1);
+        int swap = bag[i];
+        bag[i] = bag[j];
+        bag[j] = swap;
+      }
+      index = 0;
+    }
+    return bag[index++];
+  }
+}
@@ -0,0 +1,446 @@
+package uk.ac.soton.comp1206.engine;
+
+import java.util.Arrays;
+
+/**
+ * The BitGrid is the storage core behind a Grid. Occupancy is held as packed long masks, one set
+ * of words per row (bit x set when column x is filled) and one set per column (bit y set when row
+ * y is filled). The colour of every cell is held in a compact byte plane, and a count of filled
+ * cells is kept for every row and column so full lines are found without scanning.
+ * <p>
+ * Pieces are described to the BitGrid as a 9-bit shape mask, where bit (dy * 3 + dx) is set when
+ * the piece has a block at offset (dx, dy) of its 3x3 grid. This lets placement checks and
+ * full-line checks be done with a handful of mask operations instead of walking cells.
+ * <p>
+ * The BitGrid holds no JavaFX state, so many of them can be created cheaply for simulations. A
+ * CellListener can be attached to observe changes, for example to keep a display in step.
+ */
+public class BitGrid {
+
+  /**
+   * Cell Listener handles an event when the value of a cell in a BitGrid changes.
+   */
+  public interface CellListener {
+
+    /**
+     * Handle a cell changing value
+     *
+     * @param x     column
+     * @param y     row
+     * @param value the new value
+     */
+    void cellChanged(int x, int y, int value);
+  }
+
+  /**
+   * Listeners to call when a cell changes
+   */
+  private CellListener[] listeners = new CellListener[0];
+
+  /**
+   * Placement indexes kept up to date by this grid
+   */
+  private PlacementIndex[] indexes = new PlacementIndex[0];
+
+  /**
+   * Number of bits in a mask word
+   */
+  private static final int WORD_BITS = 64;
+
+  /**
+   * The number of columns in this grid
+   */
+  private final int cols;
+
+  /**
+   * The number of rows in this grid
+   */
+  private final int rows;
+
+  /**
+   * Number of long words needed to hold one row
+   */
+  private final int rowWords;
+
+  /**
+   * Number of long words needed to hold one column
+   */
+  private final int colWords;
+
+  /**
+   * Occupancy of each row, rowWords words per row
+   */
+  private final long[] rowMasks;
+
+  /**
+   * Occupancy of each column, colWords words per column
+   */
+  private final long[] colMasks;
+
+  /**
+   * Value of each cell, indexed by y * cols + x
+   */
+  private final byte[] values;
+
+  /**
+   * Number of filled cells on each row
+   */
+  private final int[] rowCounts;
+
+  /**
+   * Number of filled cells on each column
+   */
+  private final int[] colCounts;
+
+  /**
+   * Create a new empty BitGrid with the given number of columns and rows
+   *
+   * @param cols number of columns
+   * @param rows number of rows
+   */
+  public BitGrid(int cols, int rows) {
+    if (cols <= 0 || rows <= 0) {
+      throw new IllegalArgumentException("Grid must have at least one row and column");
+    }
+    this.cols = cols;
+    this.rows = rows;
+
+    rowWords = (cols + WORD_BITS - 1) / WORD_BITS;
+    colWords = (rows + WORD_BITS - 1) / WORD_BITS;
+    rowMasks = new long[rowWords * rows];
+    colMasks = new long[colWords * cols];
+
+    values = new byte[cols * rows];
+    rowCounts = new int[rows];
+    colCounts = new int[cols];
+  }
+
+  /**
+   * Create a copy of this grid's cells. The copy has no listeners or placement indexes, so it can
+   * be changed freely, for example by a search.
+   *
+   * @return new grid holding the same values
+   */
+  public BitGrid copy() {
+    BitGrid copy = new BitGrid(cols, rows);
+    copy.copyFrom(this);
+    return copy;
+  }
+
+  /**
+   * Overwrite every cell of this grid with the cells of another grid of the same size, without
+   * notifying listeners. Used to reuse scratch grids without allocating.
+   *
+   * @param other grid to copy from
+   */
+  public void copyFrom(BitGrid other) {
+    if (other.cols != cols || other.rows != rows) {
+      throw new IllegalArgumentException("Cannot copy a " + other.cols + "x" + other.rows
+          + " grid into a " + cols + "x" + rows + " grid");
+    }
+    System.arraycopy(other.rowMasks, 0, rowMasks, 0, rowMasks.length);
+    System.arraycopy(other.colMasks, 0, colMasks, 0, colMasks.length);
+    System.arraycopy(other.values, 0, values, 0, values.length);
+    System.arraycopy(other.rowCounts, 0, rowCounts, 0, rows);
+    System.arraycopy(other.colCounts, 0, colCounts, 0, cols);
+  }
+
+  /**
+   * Add a listener to be called whenever a cell in this grid changes value
+   *
+   * @param listener listener to add
+   */
+  public void addCellListener(CellListener listener) {
+    listeners = Arrays.copyOf(listeners, listeners.length + 1);
+    listeners[listeners.length - 1] = listener;
+  }
+
+  /**
+   * Attach a placement index to this grid, so it is kept up to date as cells change and can be
+   * found with placementsFor
+   *
+   * @param index index to attach
+   */
+  void addPlacementIndex(PlacementIndex index) {
+    indexes = Arrays.copyOf(indexes, indexes.length + 1);
+    indexes[indexes.length - 1] = index;
+    addCellListener(index);
+  }
+
+  /**
+   * Get an attached placement index currently tracking the given piece type
+   *
+   * @param type piece type
+   * @return the index, or null if the piece type is not being tracked
+   */
+  public PlacementIndex placementsFor(int type) {
+    for (PlacementIndex index : indexes) {
+      if (index.getType() == type) {
+        return index;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the number of columns in this grid
+   *
+   * @return number of columns
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * Get the number of rows in this grid
+   *
+   * @return number of rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Return if the given coordinate lies inside this grid
+   *
+   * @param x column
+   * @param y row
+   * @return if the coordinate is inside the grid
+   */
+  public boolean inBounds(int x, int y) {
+    return x >= 0 && x < cols && y >= 0 && y < rows;
+  }
+
+  /**
+   * Get the value at the given x and y, or -1 if the coordinate is outside the grid
+   *
+   * @param x column
+   * @param y row
+   * @return the value
+   */
+  public int get(int x, int y) {
+    if (!inBounds(x, y)) {
+      return -1;
+    }
+    return values[y * cols + x];
+  }
+
+  /**
+   * Return if the cell at the given x and y is filled
+   *
+   * @param x column
+   * @param y row
+   * @return if the cell holds a block
+   */
+  public boolean isFilled(int x, int y) {
+    return (rowMasks[y * rowWords + (x >>> 6)] & (1L << x)) != 0;
+  }
+
+  /**
+   * Update the value at the given x and y, keeping the occupancy masks and fill counts in step
+   *
+   * @param x     column
+   * @param y     row
+   * @param value the new value, 0 for empty
+   */
+  public void set(int x, int y, int value) {
+    values[y * cols + x] = (byte) value;
+
+    int rowIndex = y * rowWords + (x >>> 6);
+    int colIndex = x * colWords + (y >>> 6);
+    boolean wasFilled = (rowMasks[rowIndex] & (1L << x)) != 0;
+    if (value != 0) {
+      rowMasks[rowIndex] |= 1L << x;
+      colMasks[colIndex] |= 1L << y;
+      if (!wasFilled) {
+        rowCounts[y]++;
+        colCounts[x]++;
+      }
+    } else {
+      rowMasks[rowIndex] &= ~(1L << x);
+      colMasks[colIndex] &= ~(1L << y);
+      if (wasFilled) {
+        rowCounts[y]--;
+        colCounts[x]--;
+      }
+    }
+
+    for (CellListener listener : listeners) {
+      listener.cellChanged(x, y, value);
+    }
+  }
+
+  /**
+   * Return the occupancy of columns x to x + 2 on the given row as the low three bits. Columns
+   * outside the grid read as empty, bounds are checked separately.
+   *
+   * @param x left-most column
+   * @param y row
+   * @return three bits of occupancy
+   */
+  private int window(int x, int y) {
+    int base = y * rowWords;
+    if (x < 0) {
+      return (int) (rowMasks[base] << -x) & 7;
+    }
+    int word = x >>> 6;
+    int bit = x & 63;
+    long bits = rowMasks[base + word] >>> bit;
+    if (bit > WORD_BITS - 3 && word + 1 < rowWords) {
+      bits |= rowMasks[base + word + 1] << (WORD_BITS - bit);
+    }
+    return (int) bits & 7;
+  }
+
+  /**
+   * Copy the occupancy of a row into a mask shifted along by pad bits, so bit x + pad is set for
+   * each filled column x. The pad bits either side of the grid are set as if filled, so a piece
+   * hanging off the edge is rejected along with one that overlaps a block.
+   *
+   * @param y    row
+   * @param pad  number of columns to pad each side with, less than a word
+   * @param dest words to copy into, holding at least cols + 2 * pad bits
+   * @param from first word of dest to write
+   */
+  void paddedRow(int y, int pad, long[] dest, int from) {
+    int words = (cols + 2 * pad + WORD_BITS - 1) / WORD_BITS;
+    Arrays.fill(dest, from, from + words, 0L);
+    int base = y * rowWords;
+    for (int word = 0; word < rowWords; word++) {
+      long bits = rowMasks[base + word];
+      dest[from + word] |= bits << pad;
+      if (pad > 0 && word + 1 < words) {
+        dest[from + word + 1] |= bits >>> (WORD_BITS - pad);
+      }
+    }
+    for (int bit = 0; bit < pad; bit++) {
+      dest[from] |= 1L << bit;
+      int right = cols + pad + bit;
+      dest[from + (right >>> 6)] |= 1L << right;
+    }
+  }
+
+  /**
+   * Return if a piece with the given shape mask can be placed with its 3x3 grid starting at the
+   * given x and y.
+   *
+   * @param shape 9-bit shape mask of the piece
+   * @param x     x-coordinate of the left of the piece
+   * @param y     y-coordinate of the top of the piece
+   * @return if every block of the piece lands on an empty cell inside the grid
+   */
+  public boolean canPlace(int shape, int x, int y) {
+    for (int dy = 0; dy < 3; dy++) {
+      int bits = (shape >>> (dy * 3)) & 7;
+      if (bits == 0) {
+        continue;
+      }
+      int row = y + dy;
+      if (row < 0 || row >= rows) {
+        return false;
+      }
+      int left = x + Integer.numberOfTrailingZeros(bits);
+      int right = x + 31 - Integer.numberOfLeadingZeros(bits);
+      if (left < 0 || right >= cols) {
+        return false;
+      }
+      if ((window(x, row) & bits) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Place a piece with the given shape mask and value with its 3x3 grid starting at the given x
+   * and y. The placement should be checked with canPlace first.
+   *
+   * @param shape 9-bit shape mask of the piece
+   * @param value value to fill the piece's cells with
+   * @param x     x-coordinate of the left of the piece
+   * @param y     y-coordinate of the top of the piece
+   */
+  public void place(int shape, int value, int x, int y) {
+    for (int bit = 0; bit < 9; bit++) {
+      if ((shape & (1 << bit)) != 0) {
+        set(x + bit % 3, y + bit / 3, value);
+      }
+    }
+  }
+
+  /**
+   * Return if every cell on the given row is filled
+   *
+   * @param row y-coordinate of the row
+   * @return if the row is full
+   */
+  public boolean rowIsFull(int row) {
+    return rowCounts[row] == cols;
+  }
+
+  /**
+   * Return if every cell on the given column is filled
+   *
+   * @param col x-coordinate of the column
+   * @return if the column is full
+   */
+  public boolean colIsFull(int col) {
+    return colCounts[col] == rows;
+  }
+
+  /**
+   * Get the number of filled cells on the given row
+   *
+   * @param row y-coordinate of the row
+   * @return number of filled cells
+   */
+  public int rowFillCount(int row) {
+    return rowCounts[row];
+  }
+
+  /**
+   * Get the number of filled cells on the given column
+   *
+   * @param col x-coordinate of the column
+   * @return number of filled cells
+   */
+  public int colFillCount(int col) {
+    return colCounts[col];
+  }
+
+  /**
+   * Return the number of filled cells in the grid
+   *
+   * @return number of filled cells
+   */
+  public int filledCount() {
+    int count = 0;
+    for (int rowCount : rowCounts) {
+      count += rowCount;
+    }
+    return count;
+  }
+
+  /**
+   * Set every cell in this grid to empty
+   */
+  public void clearAll() {
+    if (listeners.length == 0) {
+      Arrays.fill(values, (byte) 0);
+      Arrays.fill(rowMasks, 0L);
+      Arrays.fill(colMasks, 0L);
+      Arrays.fill(rowCounts, 0);
+      Arrays.fill(colCounts, 0);
+      return;
+    }
+    //Clear only the filled cells, so listeners hear about each one
+    for (int y = 0; y < rows; y++) {
+      for (int word = 0; word < rowWords; word++) {
+        long bits;
+        while ((bits = rowMasks[y * rowWords + word]) != 0) {
+          set(word * WORD_BITS + Long.numberOfTrailingZeros(bits), y, 0);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package uk.ac.soton.comp1206.engine;
+
+/**
+ * Engine Listener handles the events raised by a GameEngine as the game is played. Every method
+ * has an empty default, so a listener only needs to implement the events it is interested in.
+ */
+public interface EngineListener {
+
+  /**
+   * Handle the current or following piece changing, through spawning, rotation or swapping.
+   */
+  default void piecesChanged() {
+  }
+
+  /**
+   * Handle a new piece being spawned into the following slot, or the current slot after a life
+   * is lost.
+   *
+   * @param type piece type spawned
+   */
+  default void pieceSpawned(int type) {
+  }
+
+  /**
+   * Handle a piece being placed on the grid
+   *
+   * @param type     piece type placed
+   * @param rotation rotation of the placed piece
+   * @param x        x-coordinate of the left of the piece
+   * @param y        y-coordinate of the top of the piece
+   */
+  default void piecePlaced(int type, int rotation, int x, int y) {
+  }
+
+  /**
+   * Handle an attempt to place the current piece somewhere it does not fit
+   *
+   * @param x x-coordinate of the left of the piece
+   * @param y y-coordinate of the top of the piece
+   */
+  default void placementRejected(int x, int y) {
+  }
+
+  /**
+   * Handle the current piece being rotated
+   *
+   * @param rotations number of clockwise quarter turns
+   */
+  default void pieceRotated(int rotations) {
+  }
+
+  /**
+   * Handle the current and following pieces being swapped
+   */
+  default void piecesSwapped() {
+  }
+
+  /**
+   * Handle full lines being cleared from the grid. The cleared rows and columns can be read from
+   * the engine during this call.
+   *
+   * @param lines  number of lines cleared
+   * @param blocks number of blocks cleared
+   */
+  default void linesCleared(int lines, int blocks) {
+  }
+
+  /**
+   * Handle the score, lives, level or multiplier changing
+   */
+  default void statsChanged() {
+  }
+
+  /**
+   * Handle a new level being reached
+   *
+   * @param level the new level
+   */
+  default void levelUp(int level) {
+  }
+
+  /**
+   * Handle a life being lost when the timer ran out
+   *
+   * @param lives lives remaining
+   */
+  default void lifeLost(int lives) {
+  }
+
+  /**
+   * Handle the game ending by running out of lives
+   */
+  default void gameOver() {
+  }
+}
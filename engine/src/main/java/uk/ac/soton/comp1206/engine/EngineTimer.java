@@ -0,0 +1,87 @@
+package uk.ac.soton.comp1206.engine;
+
+/**
+ * The Engine Timer runs the life timer of a GameEngine on a GameClock. It restarts whenever a
+ * piece is placed or a life is lost, and calls timerExpired when getTimerDelay() of game time
+ * passes without a placement.
+ * <p>
+ * With a virtual clock, advancing the clock plays out the timer instantly, so life loss can be
+ * simulated without waiting.
+ */
+public class EngineTimer implements EngineListener {
+
+  private final GameEngine engine;
+  private final GameClock.Countdown countdown;
+
+  /**
+   * Whether the timer should be restarted by engine events
+   */
+  private boolean active;
+
+  /**
+   * Create a new, stopped timer for the given engine
+   *
+   * @param engine engine to time
+   * @param clock  clock to time it on
+   */
+  public EngineTimer(GameEngine engine, GameClock clock) {
+    this.engine = engine;
+    this.countdown = clock.countdown(engine::timerExpired);
+    engine.addListener(this);
+  }
+
+  /**
+   * Start the timer for the engine's current timer delay
+   */
+  public void start() {
+    active = true;
+    restart();
+  }
+
+  /**
+   * Stop the timer
+   */
+  public void stop() {
+    active = false;
+    countdown.cancel();
+  }
+
+  /**
+   * Get the countdown the timer runs on, for displays
+   *
+   * @return the countdown
+   */
+  public GameClock.Countdown getCountdown() {
+    return countdown;
+  }
+
+  /**
+   * Restart the countdown if the timer is active
+   */
+  private void restart() {
+    if (active) {
+      countdown.start(engine.getTimerDelay());
+    }
+  }
+
+  @Override
+  public void piecePlaced(int type, int rotation, int x, int y) {
+    restart();
+  }
+
+  @Override
+  public void levelUp(int level) {
+    //Levels only change while placing, so restart at the same instant with the shorter delay
+    restart();
+  }
+
+  @Override
+  public void lifeLost(int lives) {
+    restart();
+  }
+
+  @Override
+  public void gameOver() {
+    stop();
+  }
+}
@@ -0,0 +1,386 @@
+package uk.ac.soton.comp1206.engine;
+
+import java.util.Arrays;
+
+/**
+ * The GameClock is the single source of game time. Everything timed in a game, such as the life
+ * timer and the timer bar showing it, reads the same clock, so they cannot drift apart.
+ * <p>
+ * A real-time clock follows System.nanoTime, and can be paused, resumed and run faster or slower
+ * with a time scale. A virtual clock only moves when advance is called, so a headless simulation
+ * can play out many seconds of game time instantly.
+ * <p>
+ * Countdowns created by the clock expire in game time. A virtual clock expires them during
+ * advance. A real-time clock expires them during poll, and asks its Wakeup to call poll when the
+ * next countdown is due. While a countdown's expiry is being handled the clock reads exactly the
+ * expiry time, so a countdown restarted from its own expiry never gathers the lateness of the
+ * wake-up.
+ * <p>
+ * A clock is not thread-safe. It should be used from a single thread, such as the JavaFX thread.
+ */
+public class GameClock {
+
+  /**
+   * A Wakeup lets a real-time clock ask to be polled after a delay, for example by a scheduler.
+   */
+  public interface Wakeup {
+
+    /**
+     * Call poll on the clock after the given delay, replacing any earlier request
+     *
+     * @param delay delay in real milliseconds
+     */
+    void schedule(long delay);
+
+    /**
+     * Cancel any pending request
+     */
+    void cancel();
+  }
+
+  /**
+   * Whether the clock only moves when advanced
+   */
+  private final boolean virtual;
+
+  /**
+   * Game time when the clock was last rebased, in nanoseconds
+   */
+  private long baseNanos;
+
+  /**
+   * System.nanoTime when the clock was last rebased
+   */
+  private long anchorNanos;
+
+  /**
+   * How many game nanoseconds pass for each real nanosecond
+   */
+  private double timeScale = 1;
+
+  private boolean paused;
+
+  /**
+   * Time reported while a countdown expiry is being handled, or -1
+   */
+  private long firingNanos = -1;
+
+  private Countdown[] countdowns = new Countdown[0];
+
+  private Wakeup wakeup;
+
+  /**
+   * Create a new clock at time zero
+   *
+   * @param virtual whether the clock only moves when advanced
+   */
+  private GameClock(boolean virtual) {
+    this.virtual = virtual;
+    anchorNanos = System.nanoTime();
+  }
+
+  /**
+   * Create a clock which follows real time
+   *
+   * @return new running clock
+   */
+  public static GameClock realTime() {
+    return new GameClock(false);
+  }
+
+  /**
+   * Create a clock which only moves when advanced
+   *
+   * @return new clock at time zero
+   */
+  public static GameClock virtual() {
+    return new GameClock(true);
+  }
+
+  /**
+   * Return if the clock only moves when advanced
+   *
+   * @return if the clock is virtual
+   */
+  public boolean isVirtual() {
+    return virtual;
+  }
+
+  /**
+   * Set what polls this clock when a countdown is due. Only used by real-time clocks.
+   *
+   * @param wakeup the wakeup, or null to poll manually
+   */
+  public void setWakeup(Wakeup wakeup) {
+    if (this.wakeup != null) {
+      this.wakeup.cancel();
+    }
+    this.wakeup = wakeup;
+    rearm();
+  }
+
+  /**
+   * Get the current game time
+   *
+   * @return game time in nanoseconds
+   */
+  public long nanos() {
+    if (firingNanos >= 0) {
+      return firingNanos;
+    }
+    if (virtual || paused) {
+      return baseNanos;
+    }
+    return baseNanos + (long) ((System.nanoTime() - anchorNanos) * timeScale);
+  }
+
+  /**
+   * Get the current game time
+   *
+   * @return game time in milliseconds
+   */
+  public long millis() {
+    return nanos() / 1_000_000;
+  }
+
+  /**
+   * Start counting the game time from now, at the current time
+   */
+  private void rebase() {
+    baseNanos = nanos();
+    anchorNanos = System.nanoTime();
+  }
+
+  /**
+   * Stop game time from passing. Countdowns keep their remaining time.
+   */
+  public void pause() {
+    if (paused) {
+      return;
+    }
+    rebase();
+    paused = true;
+    rearm();
+  }
+
+  /**
+   * Let game time pass again after a pause
+   */
+  public void resume() {
+    if (!paused) {
+      return;
+    }
+    anchorNanos = System.nanoTime();
+    paused = false;
+    rearm();
+  }
+
+  /**
+   * Return if game time is paused
+   *
+   * @return if the clock is paused
+   */
+  public boolean isPaused() {
+    return paused;
+  }
+
+  /**
+   * Set how fast game time passes compared to real time, 2 being twice as fast
+   *
+   * @param timeScale the time scale, above zero
+   */
+  public void setTimeScale(double timeScale) {
+    if (!(timeScale > 0)) {
+      throw new IllegalArgumentException("Time scale must be above zero");
+    }
+    rebase();
+    this.timeScale = timeScale;
+    rearm();
+  }
+
+  /**
+   * Get how fast game time passes compared to real time
+   *
+   * @return the time scale
+   */
+  public double getTimeScale() {
+    return timeScale;
+  }
+
+  /**
+   * Move a virtual clock forward, expiring every countdown that falls due on the way in order.
+   * Countdowns started while expiring others are also expired if they fall due in time.
+   *
+   * @param millis game time to move forward by, in milliseconds
+   */
+  public void advance(long millis) {
+    if (!virtual) {
+      throw new IllegalStateException("Only a virtual clock can be advanced");
+    }
+    if (millis < 0) {
+      throw new IllegalArgumentException("Cannot move the clock backwards");
+    }
+    if (paused) {
+      return;
+    }
+    long target = baseNanos + millis * 1_000_000;
+    expireUntil(target);
+    baseNanos = target;
+  }
+
+  /**
+   * Expire every countdown due at the current time. Called by the Wakeup of a real-time clock.
+   */
+  public void poll() {
+    if (!paused) {
+      expireUntil(nanos());
+    }
+    rearm();
+  }
+
+  /**
+   * Expire, in order, every countdown due by the given time
+   *
+   * @param target game time in nanoseconds
+   */
+  private void expireUntil(long target) {
+    Countdown due;
+    while ((due = earliest()) != null && due.deadline <= target) {
+      due.running = false;
+      if (virtual) {
+        baseNanos = due.deadline;
+      }
+      firingNanos = due.deadline;
+      try {
+        due.onExpired.run();
+      } finally {
+        firingNanos = -1;
+      }
+    }
+  }
+
+  /**
+   * Find the running countdown due first
+   *
+   * @return the countdown, or null if none are running
+   */
+  private Countdown earliest() {
+    Countdown earliest = null;
+    for (Countdown countdown : countdowns) {
+      if (countdown.running && (earliest == null || countdown.deadline < earliest.deadline)) {
+        earliest = countdown;
+      }
+    }
+    return earliest;
+  }
+
+  /**
+   * Ask the wakeup to poll when the next countdown is due
+   */
+  private void rearm() {
+    if (wakeup == null || virtual || firingNanos >= 0) {
+      return;
+    }
+    Countdown next = earliest();
+    if (next == null || paused) {
+      wakeup.cancel();
+      return;
+    }
+    long remaining = Math.max(0, next.deadline - nanos());
+    //Round up, so the poll does not come just before the deadline
+    wakeup.schedule((long) Math.ceil(remaining / timeScale / 1_000_000));
+  }
+
+  /**
+   * Create a countdown on this clock
+   *
+   * @param onExpired called when the countdown expires
+   * @return new stopped countdown
+   */
+  public Countdown countdown(Runnable onExpired) {
+    Countdown countdown = new Countdown(onExpired);
+    countdowns = Arrays.copyOf(countdowns, countdowns.length + 1);
+    countdowns[countdowns.length - 1] = countdown;
+    return countdown;
+  }
+
+  /**
+   * A Countdown expires a set amount of game time after it is started. It can be started again at
+   * any time, replacing the previous deadline.
+   */
+  public class Countdown {
+
+    private final Runnable onExpired;
+    private boolean running;
+    private long deadline;
+    private long duration;
+
+    /**
+     * Create a new stopped countdown
+     *
+     * @param onExpired called when the countdown expires
+     */
+    private Countdown(Runnable onExpired) {
+      this.onExpired = onExpired;
+    }
+
+    /**
+     * Start the countdown from now, replacing any earlier deadline
+     *
+     * @param millis game time until it expires, in milliseconds
+     */
+    public void start(long millis) {
+      duration = millis * 1_000_000;
+      deadline = nanos() + duration;
+      running = true;
+      rearm();
+    }
+
+    /**
+     * Stop the countdown without expiring it
+     */
+    public void cancel() {
+      running = false;
+      rearm();
+    }
+
+    /**
+     * Return if the countdown is waiting to expire
+     *
+     * @return if the countdown is running
+     */
+    public boolean isRunning() {
+      return running;
+    }
+
+    /**
+     * Get the length the countdown was last started with
+     *
+     * @return duration in milliseconds
+     */
+    public long getDuration() {
+      return duration / 1_000_000;
+    }
+
+    /**
+     * Get the game time left before the countdown expires
+     *
+     * @return remaining time in milliseconds, 0 if it is not running
+     */
+    public long getRemaining() {
+      return running ? Math.max(0, deadline - nanos()) / 1_000_000 : 0;
+    }
+
+    /**
+     * Get the fraction of the countdown still to run, for displays
+     *
+     * @return between 1 when just started and 0 when expired or stopped
+     */
+    public double getFractionRemaining() {
+      if (!running || duration == 0) {
+        return 0;
+      }
+      return Math.min(1, Math.max(0, deadline - nanos()) / (double) duration);
+    }
+  }
+}
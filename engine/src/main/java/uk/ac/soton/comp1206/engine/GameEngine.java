@@ -0,0 +1,794 @@
+package uk.ac.soton.comp1206.engine;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The GameEngine holds the rules of TetrECS: spawning pieces, placing them on the grid, clearing
+ * full lines, scoring, levels, lives and the score multiplier. It has no dependency on JavaFX or on
+ * any clock, so it can be driven headless at full speed.
+ * <p>
+ * The engine does not own a timer. Whoever drives it is responsible for calling timerExpired()
+ * once getTimerDelay() milliseconds pass without a piece being placed, for example with an
+ * EngineTimer on a GameClock.
+ * <p>
+ * Pieces are held as a type and a rotation, see PieceCatalog.
+ */
+public class GameEngine {
+
+  /**
+   * Initial score value.
+   */
+  public static final int SCORE_START = 0;
+  /**
+   * Initial lives value.
+   */
+  public static final int LIVES_START = 3;
+  /**
+   * Initial level value.
+   */
+  public static final int LEVEL_START = 1;
+  /**
+   * Initial multiplier value.
+   */
+  public static final int MULTIPLIER_START = 1;
+  /**
+   * Score to increase per block cleared.
+   */
+  public static final int SCORE_INCREASE_PER_BLOCK = 10;
+  /**
+   * Score requirement, per level, to reach a new level.
+   */
+  public static final int SCORE_INCREASE_FOR_NEXT_LEVEL = 1000;
+  /**
+   * Maximum time in milliseconds.
+   */
+  public static final int TIMER_MAXTIME = 12500;
+  /**
+   * Minimum time in milliseconds.
+   */
+  public static final int TIMER_MINTIME = 2500;
+  /**
+   * Timer decrease in milliseconds, per level.
+   */
+  public static final int TIMER_DECREASEPERLEVEL = 500;
+
+  /**
+   * The grid the game is played on
+   */
+  private final BitGrid grid;
+
+  /**
+   * Generator of new piece types
+   */
+  private PieceGenerator pieceGenerator;
+
+  /**
+   * Listeners to notify of game events
+   */
+  private EngineListener[] listeners = new EngineListener[0];
+
+  private boolean running;
+  private int score = SCORE_START;
+  private int lives = LIVES_START;
+  private int level = LEVEL_START;
+  private int multiplier = MULTIPLIER_START;
+
+  private int currentType = -1;
+  private int currentRotation;
+  private int followingType = -1;
+  private int followingRotation;
+
+  /**
+   * Legal placements of the two piece types in play, kept up to date as the grid changes
+   */
+  private final PlacementIndex[] placements = new PlacementIndex[2];
+
+  /**
+   * Rows cleared by the last placement
+   */
+  private final int[] clearedRows;
+  private int clearedRowCount;
+
+  /**
+   * Columns cleared by the last placement
+   */
+  private final int[] clearedCols;
+  private int clearedColCount;
+
+  /**
+   * Cells cleared by the last placement, bit y * cols + x set when (x,y) was cleared
+   */
+  private final long[] clearedCells;
+
+  /**
+   * Number of pieces placed since the engine was created
+   */
+  private long placementCount;
+
+  /**
+   * Time taken to clear lines and score after the last placement, in nanoseconds
+   */
+  private long lastAfterPieceNanos;
+
+  /**
+   * Longest time taken to clear lines and score after a placement, in nanoseconds
+   */
+  private long maxAfterPieceNanos;
+
+  /**
+   * Seed of the default piece generator
+   */
+  private final long seed;
+
+  /**
+   * Create a new engine with an empty grid of the given size, spawning uniformly random pieces
+   * from a random seed.
+   *
+   * @param cols number of columns
+   * @param rows number of rows
+   */
+  public GameEngine(int cols, int rows) {
+    this(cols, rows, new Random().nextLong());
+  }
+
+  /**
+   * Create a new engine with an empty grid of the given size, spawning uniformly random pieces
+   * from the given seed. Two engines with the same seed spawn the same pieces.
+   *
+   * @param cols number of columns
+   * @param rows number of rows
+   * @param seed seed of the piece generator
+   */
+  public GameEngine(int cols, int rows, long seed) {
+    this.seed = seed;
+    grid = new BitGrid(cols, rows);
+    clearedRows = new int[rows];
+    clearedCols = new int[cols];
+    clearedCells = new long[(cols * rows + 63) >>> 6];
+    placements[0] = new PlacementIndex(grid);
+    placements[1] = new PlacementIndex(grid);
+
+    pieceGenerator = new UniformPieceGenerator(seed);
+  }
+
+  /**
+   * Get the seed of the default piece generator
+   *
+   * @return the seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Add a listener to be notified of game events
+   *
+   * @param listener listener to add
+   */
+  public void addListener(EngineListener listener) {
+    listeners = Arrays.copyOf(listeners, listeners.length + 1);
+    listeners[listeners.length - 1] = listener;
+  }
+
+  /**
+   * Set where new pieces come from
+   *
+   * @param pieceGenerator generator of piece types
+   */
+  public void setPieceGenerator(PieceGenerator pieceGenerator) {
+    this.pieceGenerator = pieceGenerator;
+  }
+
+  /**
+   * Get where new pieces come from
+   *
+   * @return generator of piece types
+   */
+  public PieceGenerator getPieceGenerator() {
+    return pieceGenerator;
+  }
+
+  /**
+   * Start the game, spawning the current and following pieces
+   */
+  public void start() {
+    start(true);
+  }
+
+  /**
+   * Start the game
+   *
+   * @param spawnPieces whether to spawn the current and following pieces, or leave them to be set
+   */
+  public void start(boolean spawnPieces) {
+    running = true;
+    if (spawnPieces) {
+      currentType = spawn();
+      currentRotation = 0;
+      followingType = spawn();
+      followingRotation = 0;
+      firePiecesChanged();
+    }
+  }
+
+  /**
+   * Stop the game without raising a game over
+   */
+  public void stop() {
+    running = false;
+  }
+
+  /**
+   * Take a new piece type from the piece generator
+   *
+   * @return new piece type
+   */
+  private int spawn() {
+    int type = pieceGenerator.next();
+    for (EngineListener listener : listeners) {
+      listener.pieceSpawned(type);
+    }
+    return type;
+  }
+
+  /**
+   * Attempt to place the current piece with its 3x3 grid starting at the given x and y. If it
+   * fits, the following piece becomes current, a new following piece is spawned and any full lines
+   * are cleared.
+   *
+   * @param x x-coordinate of the left of the piece
+   * @param y y-coordinate of the top of the piece
+   * @return if the piece was placed
+   */
+  public boolean place(int x, int y) {
+    if (!running || currentType < 0) {
+      return false;
+    }
+    if (!canPlace(x, y)) {
+      for (EngineListener listener : listeners) {
+        listener.placementRejected(x, y);
+      }
+      return false;
+    }
+
+    int type = currentType;
+    int rotation = currentRotation;
+    grid.place(PieceCatalog.shape(type, rotation), PieceCatalog.value(type), x, y);
+    placementCount++;
+    for (EngineListener listener : listeners) {
+      listener.piecePlaced(type, rotation, x, y);
+    }
+
+    nextPiece();
+    long started = System.nanoTime();
+    afterPiece(PieceCatalog.shape(type, rotation), x, y);
+    lastAfterPieceNanos = System.nanoTime() - started;
+    maxAfterPieceNanos = Math.max(maxAfterPieceNanos, lastAfterPieceNanos);
+    return true;
+  }
+
+  /**
+   * Move the following piece into the current slot and spawn a new following piece
+   */
+  private void nextPiece() {
+    currentType = followingType;
+    currentRotation = followingRotation;
+    followingType = spawn();
+    followingRotation = 0;
+    firePiecesChanged();
+  }
+
+  /**
+   * Clear any full rows or columns. Multiple lines may be cleared at once, including intersecting
+   * lines. If any are cleared, increase the score and multiplier, otherwise reset the multiplier.
+   * Then check for a new level. Only the lines covered by the placed piece are checked, as no
+   * other line can have become full.
+   *
+   * @param shape shape mask of the placed piece
+   * @param x     x-coordinate of the left of the placed piece
+   * @param y     y-coordinate of the top of the placed piece
+   */
+  private void afterPiece(int shape, int x, int y) {
+    //Forget the cells of the previous clear
+    if (clearedRowCount + clearedColCount > 0) {
+      Arrays.fill(clearedCells, 0L);
+    }
+    clearedRowCount = 0;
+    clearedColCount = 0;
+
+    //Only the lines the piece landed on can have become full
+    int cols = grid.getCols();
+    int rows = grid.getRows();
+    for (int dy = 0; dy < 3; dy++) {
+      if (((shape >>> (dy * 3)) & 7) != 0 && grid.rowIsFull(y + dy)) {
+        clearedRows[clearedRowCount++] = y + dy;
+      }
+    }
+    for (int dx = 0; dx < 3; dx++) {
+      if ((shape & (0b1001001 << dx)) != 0 && grid.colIsFull(x + dx)) {
+        clearedCols[clearedColCount++] = x + dx;
+      }
+    }
+
+    int lines = clearedRowCount + clearedColCount;
+    if (lines > 0) {
+      //Intersecting cells are only counted once
+      int blocks = clearedRowCount * cols + clearedColCount * rows
+          - clearedRowCount * clearedColCount;
+      for (int i = 0; i < clearedRowCount; i++) {
+        int row = clearedRows[i];
+        for (int col = 0; col < cols; col++) {
+          clearCell(col, row);
+        }
+      }
+      for (int i = 0; i < clearedColCount; i++) {
+        int col = clearedCols[i];
+        for (int row = 0; row < rows; row++) {
+          //Cells where a row and column cross are already empty
+          if (grid.isFilled(col, row)) {
+            clearCell(col, row);
+          }
+        }
+      }
+
+      score += calculateScore(blocks, lines, multiplier);
+      multiplier++;
+      for (EngineListener listener : listeners) {
+        listener.linesCleared(lines, blocks);
+      }
+    } else {
+      multiplier = MULTIPLIER_START;
+    }
+
+    boolean newLevel = reachedNewLevel();
+    if (newLevel) {
+      level = score / SCORE_INCREASE_FOR_NEXT_LEVEL;
+    }
+    fireStatsChanged();
+    if (newLevel) {
+      for (EngineListener listener : listeners) {
+        listener.levelUp(level);
+      }
+    }
+  }
+
+  /**
+   * Empty a cell of the grid, recording it as cleared
+   *
+   * @param x column
+   * @param y row
+   */
+  private void clearCell(int x, int y) {
+    int index = y * grid.getCols() + x;
+    clearedCells[index >>> 6] |= 1L << index;
+    grid.set(x, y, 0);
+  }
+
+  /**
+   * Calculate the score according to the following formula: number of lines * number of grid blocks
+   * cleared * 10 * the current multiplier
+   *
+   * @param blocks     number of blocks cleared
+   * @param lines      number of lines cleared
+   * @param multiplier current score multiplier
+   * @return the calculated score
+   */
+  public static int calculateScore(int blocks, int lines, int multiplier) {
+    return lines * blocks * SCORE_INCREASE_PER_BLOCK * multiplier;
+  }
+
+  /**
+   * Return if the score has reached the threshold for the next level
+   *
+   * @return if a new level can be reached with the current score
+   */
+  private boolean reachedNewLevel() {
+    return score >= (level + 1) * SCORE_INCREASE_FOR_NEXT_LEVEL;
+  }
+
+  /**
+   * Rotate the current piece clockwise
+   *
+   * @param rotations number of quarter turns
+   * @return if the piece was rotated
+   */
+  public boolean rotate(int rotations) {
+    if (!running || currentType < 0) {
+      return false;
+    }
+    currentRotation = (currentRotation + rotations) & 3;
+    for (EngineListener listener : listeners) {
+      listener.pieceRotated(rotations);
+    }
+    firePiecesChanged();
+    return true;
+  }
+
+  /**
+   * Swap the current piece with the following piece
+   *
+   * @return if the pieces were swapped
+   */
+  public boolean swap() {
+    if (!running) {
+      return false;
+    }
+    int type = currentType;
+    int rotation = currentRotation;
+    currentType = followingType;
+    currentRotation = followingRotation;
+    followingType = type;
+    followingRotation = rotation;
+    for (EngineListener listener : listeners) {
+      listener.piecesSwapped();
+    }
+    firePiecesChanged();
+    return true;
+  }
+
+  /**
+   * Handle the timer running out: lose a life, discard the current piece and reset the
+   * multiplier. If there are no lives left, the game is over.
+   */
+  public void timerExpired() {
+    if (!running) {
+      return;
+    }
+    lives--;
+    if (lives < 0) {
+      fireStatsChanged();
+      running = false;
+      for (EngineListener listener : listeners) {
+        listener.gameOver();
+      }
+      return;
+    }
+
+    for (EngineListener listener : listeners) {
+      listener.lifeLost(lives);
+    }
+    currentType = spawn();
+    currentRotation = 0;
+    firePiecesChanged();
+    multiplier = MULTIPLIER_START;
+    fireStatsChanged();
+  }
+
+  /**
+   * Return the time, in milliseconds, before the timer runs out at the current level. Timer is the
+   * maximum of either 2500 milliseconds or 12500 - 500 * the current level.
+   *
+   * @return timer length, in milliseconds
+   */
+  public long getTimerDelay() {
+    long timeForThisLevel = TIMER_MAXTIME - ((long) TIMER_DECREASEPERLEVEL * level);
+    return Math.max(timeForThisLevel, TIMER_MINTIME);
+  }
+
+  private void firePiecesChanged() {
+    trackPieces();
+    for (EngineListener listener : listeners) {
+      listener.piecesChanged();
+    }
+  }
+
+  private void fireStatsChanged() {
+    for (EngineListener listener : listeners) {
+      listener.statsChanged();
+    }
+  }
+
+  /**
+   * Make sure the placement indexes track the current and following piece types. An index that
+   * already tracks one of them is kept, so swapping and moving to the next piece only rebuild the
+   * index of a newly spawned type.
+   */
+  private void trackPieces() {
+    track(currentType, followingType);
+    track(followingType, currentType);
+  }
+
+  /**
+   * Make sure one of the placement indexes tracks the given type, without disturbing the index of
+   * the other type in play
+   *
+   * @param type  type to track
+   * @param other the other type in play
+   */
+  private void track(int type, int other) {
+    if (type < 0 || placements[0].getType() == type || placements[1].getType() == type) {
+      return;
+    }
+    PlacementIndex free = placements[0].getType() != other ? placements[0] : placements[1];
+    free.track(type);
+  }
+
+  /**
+   * Return if the current piece, at its current rotation, can be placed at the given x and y
+   *
+   * @param x x-coordinate of the left of the piece
+   * @param y y-coordinate of the top of the piece
+   * @return if the placement is legal
+   */
+  public boolean canPlace(int x, int y) {
+    PlacementIndex index = getPlacements(currentType);
+    return index != null && index.isLegal(currentRotation, x, y);
+  }
+
+  /**
+   * Return if either the current or the following piece can be placed anywhere in any rotation,
+   * allowing for a swap
+   *
+   * @return if any move is left
+   */
+  public boolean hasAnyMove() {
+    PlacementIndex current = getPlacements(currentType);
+    PlacementIndex following = getPlacements(followingType);
+    return (current != null && current.anyLegal()) || (following != null && following.anyLegal());
+  }
+
+  /**
+   * Get the placement index of a piece type in play
+   *
+   * @param type the current or following piece type
+   * @return the index, or null if the type is not in play
+   */
+  public PlacementIndex getPlacements(int type) {
+    if (type < 0) {
+      return null;
+    }
+    return grid.placementsFor(type);
+  }
+
+  //Piece accessors
+  /////////////////
+
+  /**
+   * Set the current piece
+   *
+   * @param type     piece type, or -1 for none
+   * @param rotation rotation of the piece
+   */
+  public void setCurrentPiece(int type, int rotation) {
+    currentType = type;
+    currentRotation = rotation & 3;
+    firePiecesChanged();
+  }
+
+  /**
+   * Set the following piece
+   *
+   * @param type     piece type, or -1 for none
+   * @param rotation rotation of the piece
+   */
+  public void setFollowingPiece(int type, int rotation) {
+    followingType = type;
+    followingRotation = rotation & 3;
+    firePiecesChanged();
+  }
+
+  /**
+   * Get the type of the current piece
+   *
+   * @return piece type, or -1 for none
+   */
+  public int getCurrentType() {
+    return currentType;
+  }
+
+  /**
+   * Get the rotation of the current piece
+   *
+   * @return number of clockwise quarter turns
+   */
+  public int getCurrentRotation() {
+    return currentRotation;
+  }
+
+  /**
+   * Get the type of the following piece
+   *
+   * @return piece type, or -1 for none
+   */
+  public int getFollowingType() {
+    return followingType;
+  }
+
+  /**
+   * Get the rotation of the following piece
+   *
+   * @return number of clockwise quarter turns
+   */
+  public int getFollowingRotation() {
+    return followingRotation;
+  }
+
+  //Line clear accessors
+  //////////////////////
+
+  /**
+   * Get the number of rows cleared by the last placement
+   *
+   * @return number of rows
+   */
+  public int getClearedRowCount() {
+    return clearedRowCount;
+  }
+
+  /**
+   * Get a row cleared by the last placement
+   *
+   * @param index index between 0 and getClearedRowCount()
+   * @return y-coordinate of the row
+   */
+  public int getClearedRow(int index) {
+    return clearedRows[index];
+  }
+
+  /**
+   * Get the number of columns cleared by the last placement
+   *
+   * @return number of columns
+   */
+  public int getClearedColCount() {
+    return clearedColCount;
+  }
+
+  /**
+   * Get a column cleared by the last placement
+   *
+   * @param index index between 0 and getClearedColCount()
+   * @return x-coordinate of the column
+   */
+  public int getClearedCol(int index) {
+    return clearedCols[index];
+  }
+
+  /**
+   * Get the cells cleared by the last placement as a bitmask, with bit (y * cols + x) set when the
+   * cell at (x,y) was cleared. The array is reused by every placement and must not be modified.
+   *
+   * @return cleared cell mask
+   */
+  public long[] getClearedCells() {
+    return clearedCells;
+  }
+
+  /**
+   * Return if the cell at the given x and y was cleared by the last placement
+   *
+   * @param x column
+   * @param y row
+   * @return if the cell was cleared
+   */
+  public boolean wasCleared(int x, int y) {
+    int index = y * grid.getCols() + x;
+    return (clearedCells[index >>> 6] & (1L << index)) != 0;
+  }
+
+  //Stat accessors
+  ////////////////
+
+  /**
+   * Get the grid the game is played on
+   *
+   * @return game grid
+   */
+  public BitGrid getGrid() {
+    return grid;
+  }
+
+  /**
+   * Get the number of pieces placed since the engine was created
+   *
+   * @return placement count
+   */
+  public long getPlacementCount() {
+    return placementCount;
+  }
+
+  /**
+   * Get the time taken to clear lines and score after the last placement, including the listeners
+   * notified along the way
+   *
+   * @return time in nanoseconds
+   */
+  public long getLastAfterPieceNanos() {
+    return lastAfterPieceNanos;
+  }
+
+  /**
+   * Get the longest time taken to clear lines and score after a placement
+   *
+   * @return time in nanoseconds
+   */
+  public long getMaxAfterPieceNanos() {
+    return maxAfterPieceNanos;
+  }
+
+  /**
+   * Return if the game is running
+   *
+   * @return if the game is running
+   */
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Get the score
+   *
+   * @return score
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * Set the score
+   *
+   * @param score score
+   */
+  public void setScore(int score) {
+    this.score = score;
+    fireStatsChanged();
+  }
+
+  /**
+   * Get the lives remaining
+   *
+   * @return lives
+   */
+  public int getLives() {
+    return lives;
+  }
+
+  /**
+   * Set the lives remaining
+   *
+   * @param lives lives
+   */
+  public void setLives(int lives) {
+    this.lives = lives;
+    fireStatsChanged();
+  }
+
+  /**
+   * Get the level
+   *
+   * @return level
+   */
+  public int getLevel() {
+    return level;
+  }
+
+  /**
+   * Set the level
+   *
+   * @param level level
+   */
+  public void setLevel(int level) {
+    this.level = level;
+    fireStatsChanged();
+  }
+
+  /**
+   * Get the score multiplier
+   *
+   * @return multiplier
+   */
+  public int getMultiplier() {
+    return multiplier;
+  }
+
+  /**
+   * Set the score multiplier
+   *
+   * @param multiplier multiplier
+   */
+  public void setMultiplier(int multiplier) {
+    this.multiplier = multiplier;
+    fireStatsChanged();
+  }
+}
@@ -0,0 +1,329 @@
+package uk.ac.soton.comp1206.engine;
+
+/**
+ * The PieceCatalog holds the definition of every piece in the game. A piece is identified by its
+ * type, a number from 0 to PIECES - 1, and a rotation, the number of quarter turns clockwise.
+ * <p>
+ * Every orientation of every piece is computed once when the catalog is loaded, so looking up a
+ * rotated piece never allocates. Each orientation has a block array, a shape mask and a bounding
+ * box.
+ * <p>
+ * Block arrays are indexed [x][y] over a 3x3 grid, holding the piece's value where a block is
+ * present and 0 otherwise. They are shared and must not be modified. Shape masks hold the same
+ * information as 9 bits, with bit (y * 3 + x) set when a block is present at (x,y).
+ */
+public final class PieceCatalog {
+
+  /**
+   * The total number of pieces in this game
+   */
+  public static final int PIECES = 15;
+
+  /**
+   * The number of distinct rotations of a piece
+   */
+  public static final int ROTATIONS = 4;
+
+  /**
+   * The name of each piece type
+   */
+  private static final String[] NAMES = {
+      "Line", "C", "Plus", "Dot", "Square", "L", "J", "S", "Z", "T", "X", "Corner",
+      "Inverse Corner", "Diagonal", "Double"
+  };
+
+  /**
+   * The unrotated block makeup of each piece type, 1 where a block is present
+   */
+  private static final int[][][] SHAPES = {
+      //Line
+      {{0, 0, 0},
+          {1, 1, 1},
+          {0, 0, 0}},
+      //C
+      {{0, 0, 0},
+          {1, 1, 1},
+          {1, 0, 1}},
+      //Plus
+      {{0, 1, 0},
+          {1, 1, 1},
+          {0, 1, 0}},
+      //Dot
+      {{0, 0, 0},
+          {0, 1, 0},
+          {0, 0, 0}},
+      //Square
+      {{1, 1, 0},
+          {1, 1, 0},
+          {0, 0, 0}},
+      //L
+      {{0, 0, 0},
+          {1, 1, 1},
+          {0, 0, 1}},
+      //J
+      {{0, 0, 1},
+          {1, 1, 1},
+          {0, 0, 0}},
+      //S
+      {{0, 0, 0},
+          {0, 1, 1},
+          {1, 1, 0}},
+      //Z
+      {{1, 1, 0},
+          {0, 1, 1},
+          {0, 0, 0}},
+      //T
+      {{1, 0, 0},
+          {1, 1, 0},
+          {1, 0, 0}},
+      //X
+      {{1, 0, 1},
+          {0, 1, 0},
+          {1, 0, 1}},
+      //Corner
+      {{0, 0, 0},
+          {1, 1, 0},
+          {1, 0, 0}},
+      //Inverse Corner
+      {{1, 0, 0},
+          {1, 1, 0},
+          {0, 0, 0}},
+      //Diagonal
+      {{1, 0, 0},
+          {0, 1, 0},
+          {0, 0, 1}},
+      //Double
+      {{0, 1, 0},
+          {0, 1, 0},
+          {0, 0, 0}}
+  };
+
+  /**
+   * Block array of each orientation, indexed by type * ROTATIONS + rotation
+   */
+  private static final int[][][] ORIENTATION_BLOCKS = new int[PIECES * ROTATIONS][][];
+
+  /**
+   * Shape mask of each orientation
+   */
+  private static final int[] ORIENTATION_SHAPES = new int[PIECES * ROTATIONS];
+
+  /**
+   * Bounding box of each orientation, packed as minX | maxX << 2 | minY << 4 | maxY << 6
+   */
+  private static final byte[] ORIENTATION_BOUNDS = new byte[PIECES * ROTATIONS];
+
+  /**
+   * Number of blocks in each piece type
+   */
+  private static final int[] BLOCK_COUNTS = new int[PIECES];
+
+  static {
+    for (int type = 0; type < PIECES; type++) {
+      int value = type + 1;
+      int[][] blocks = new int[3][3];
+      for (int x = 0; x < 3; x++) {
+        for (int y = 0; y < 3; y++) {
+          blocks[x][y] = SHAPES[type][x][y] * value;
+        }
+      }
+      for (int rotation = 0; rotation < ROTATIONS; rotation++) {
+        int index = type * ROTATIONS + rotation;
+        int shape = shapeOf(blocks);
+        ORIENTATION_BLOCKS[index] = blocks;
+        ORIENTATION_SHAPES[index] = shape;
+        ORIENTATION_BOUNDS[index] = (byte) boundsOf(shape);
+        blocks = rotate(blocks);
+      }
+      BLOCK_COUNTS[type] = Integer.bitCount(ORIENTATION_SHAPES[type * ROTATIONS]);
+    }
+  }
+
+  private PieceCatalog() {
+  }
+
+  /**
+   * Compute the packed bounding box of a shape mask
+   *
+   * @param shape 9-bit shape mask
+   * @return minX | maxX << 2 | minY << 4 | maxY << 6
+   */
+  private static int boundsOf(int shape) {
+    int minX = 2;
+    int maxX = 0;
+    int minY = 2;
+    int maxY = 0;
+    for (int bit = 0; bit < 9; bit++) {
+      if ((shape & (1 << bit)) != 0) {
+        minX = Math.min(minX, bit % 3);
+        maxX = Math.max(maxX, bit % 3);
+        minY = Math.min(minY, bit / 3);
+        maxY = Math.max(maxY, bit / 3);
+      }
+    }
+    return minX | maxX << 2 | minY << 4 | maxY << 6;
+  }
+
+  /**
+   * Get the index of an orientation in the catalog tables
+   *
+   * @param type     piece type
+   * @param rotation number of clockwise quarter turns
+   * @return orientation index, between 0 and PIECES * ROTATIONS
+   */
+  public static int orientation(int type, int rotation) {
+    checkType(type);
+    return type * ROTATIONS + (rotation & 3);
+  }
+
+  /**
+   * Check that the given piece type exists
+   *
+   * @param type piece type
+   */
+  private static void checkType(int type) {
+    if (type < 0 || type >= PIECES) {
+      throw new IndexOutOfBoundsException("No such piece: " + type);
+    }
+  }
+
+  /**
+   * Get the name of a piece type
+   *
+   * @param type piece type
+   * @return name of the piece
+   */
+  public static String name(int type) {
+    checkType(type);
+    return NAMES[type];
+  }
+
+  /**
+   * Get the value of a piece type, which is placed in the grid for each of its blocks
+   *
+   * @param type piece type
+   * @return value of the piece
+   */
+  public static int value(int type) {
+    checkType(type);
+    return type + 1;
+  }
+
+  /**
+   * Get the number of blocks in a piece type
+   *
+   * @param type piece type
+   * @return number of blocks
+   */
+  public static int blockCount(int type) {
+    checkType(type);
+    return BLOCK_COUNTS[type];
+  }
+
+  /**
+   * Get the block makeup of a piece type at the given rotation. The array is shared and must not
+   * be modified.
+   *
+   * @param type     piece type
+   * @param rotation number of clockwise quarter turns
+   * @return 3x3 array of the piece's blocks
+   */
+  public static int[][] blocks(int type, int rotation) {
+    return ORIENTATION_BLOCKS[orientation(type, rotation)];
+  }
+
+  /**
+   * Get the shape mask of a piece type at the given rotation
+   *
+   * @param type     piece type
+   * @param rotation number of clockwise quarter turns
+   * @return 9-bit shape mask
+   */
+  public static int shape(int type, int rotation) {
+    return ORIENTATION_SHAPES[orientation(type, rotation)];
+  }
+
+  /**
+   * Get the left-most column of the 3x3 grid used by a piece orientation
+   *
+   * @param type     piece type
+   * @param rotation number of clockwise quarter turns
+   * @return column offset, 0 to 2
+   */
+  public static int minX(int type, int rotation) {
+    return ORIENTATION_BOUNDS[orientation(type, rotation)] & 3;
+  }
+
+  /**
+   * Get the right-most column of the 3x3 grid used by a piece orientation
+   *
+   * @param type     piece type
+   * @param rotation number of clockwise quarter turns
+   * @return column offset, 0 to 2
+   */
+  public static int maxX(int type, int rotation) {
+    return (ORIENTATION_BOUNDS[orientation(type, rotation)] >> 2) & 3;
+  }
+
+  /**
+   * Get the top-most row of the 3x3 grid used by a piece orientation
+   *
+   * @param type     piece type
+   * @param rotation number of clockwise quarter turns
+   * @return row offset, 0 to 2
+   */
+  public static int minY(int type, int rotation) {
+    return (ORIENTATION_BOUNDS[orientation(type, rotation)] >> 4) & 3;
+  }
+
+  /**
+   * Get the bottom-most row of the 3x3 grid used by a piece orientation
+   *
+   * @param type     piece type
+   * @param rotation number of clockwise quarter turns
+   * @return row offset, 0 to 2
+   */
+  public static int maxY(int type, int rotation) {
+    return (ORIENTATION_BOUNDS[orientation(type, rotation)] >> 6) & 3;
+  }
+
+  /**
+   * Get the shape mask of a 3x3 array of blocks
+   *
+   * @param blocks blocks indexed [x][y]
+   * @return 9-bit shape mask
+   */
+  public static int shapeOf(int[][] blocks) {
+    int shape = 0;
+    for (int x = 0; x < 3; x++) {
+      for (int y = 0; y < 3; y++) {
+        if (blocks[x][y] != 0) {
+          shape |= 1 << (y * 3 + x);
+        }
+      }
+    }
+    return shape;
+  }
+
+  /**
+   * Rotate a 3x3 array of blocks exactly once
+   *
+   * @param blocks blocks to rotate
+   * @return new rotated array
+   */
+  public static int[][] rotate(int[][] blocks) {
+    int[][] rotated = new int[3][3];
+    rotated[2][0] = blocks[0][0];
+    rotated[1][0] = blocks[0][1];
+    rotated[0][0] = blocks[0][2];
+
+    rotated[2][1] = blocks[1][0];
+    rotated[1][1] = blocks[1][1];
+    rotated[0][1] = blocks[1][2];
+
+    rotated[2][2] = blocks[2][0];
+    rotated[1][2] = blocks[2][1];
+    rotated[0][2] = blocks[2][2];
+    return rotated;
+  }
+}
@@ -0,0 +1,27 @@
+package uk.ac.soton.comp1206.engine;
+
+/**
+ * A Piece Generator decides which piece types a GameEngine spawns. Different strategies give
+ * different distributions of pieces, and a generator can also be fed from outside, such as by a
+ * multiplayer server or a replay.
+ */
+@FunctionalInterface
+public interface PieceGenerator {
+
+  /**
+   * Take the next piece type
+   *
+   * @return piece type, between 0 and PieceCatalog.PIECES - 1
+   */
+  int next();
+
+  /**
+   * Look at an upcoming piece type without taking it
+   *
+   * @param ahead how far ahead to look, 0 for the piece next returns
+   * @return piece type, or -1 if it is not known yet
+   */
+  default int peek(int ahead) {
+    return -1;
+  }
+}
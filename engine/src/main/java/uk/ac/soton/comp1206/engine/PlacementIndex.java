@@ -0,0 +1,373 @@
+package uk.ac.soton.comp1206.engine;
+
+import java.util.Arrays;
+
+/**
+ * A PlacementIndex keeps, for one piece type, a bitset of every legal anchor position in each of
+ * its four rotations on a BitGrid. The anchor is the top-left of the piece's 3x3 grid, so it can lie
+ * up to two cells outside the top and left of the grid.
+ * <p>
+ * The index is built once when a piece type is tracked, and then updated incrementally as cells of
+ * the grid change: filling a cell removes every anchor that would cover it, and emptying a cell
+ * rechecks only those anchors.
+ * <p>
+ * Building works a whole anchor row at a time. The blocked anchors of a row are the OR of the
+ * grid's row masks shifted by each cell of the piece, so tracking a new piece costs a few word
+ * operations per row rather than a check of every anchor, and stays well under a millisecond on a
+ * 200x200 grid.
+ */
+public class PlacementIndex implements BitGrid.CellListener {
+
+  /**
+   * Placement Consumer handles each legal anchor position when enumerating placements.
+   */
+  public interface PlacementConsumer {
+
+    /**
+     * Handle a legal anchor position
+     *
+     * @param x x-coordinate of the left of the piece
+     * @param y y-coordinate of the top of the piece
+     */
+    void accept(int x, int y);
+  }
+
+  /**
+   * How far outside the grid an anchor may lie
+   */
+  private static final int OFFSET = 2;
+
+  /**
+   * The grid being indexed
+   */
+  private final BitGrid grid;
+
+  /**
+   * Number of anchor positions per anchor row
+   */
+  private final int stride;
+
+  /**
+   * Number of anchor positions in total
+   */
+  private final int size;
+
+  /**
+   * Legal anchors of each rotation, bit (y + 2) * stride + (x + 2) set when legal
+   */
+  private final long[][] legal;
+
+  /**
+   * Number of legal anchors of each rotation
+   */
+  private final int[] counts = new int[PieceCatalog.ROTATIONS];
+
+  /**
+   * Number of words in a padded row mask, holding the columns plus OFFSET either side
+   */
+  private final int paddedWords;
+
+  /**
+   * Padded occupancy of every row, paddedWords words per row, copied when a piece is tracked
+   */
+  private final long[] padded;
+
+  /**
+   * Anchors of one anchor row blocked by the piece, used while rebuilding
+   */
+  private final long[] blocked;
+
+  /**
+   * Shape mask of each rotation of the tracked piece
+   */
+  private final int[] shapes = new int[PieceCatalog.ROTATIONS];
+
+  /**
+   * The piece type being tracked, or -1 for none
+   */
+  private int type = -1;
+
+  /**
+   * Create a new PlacementIndex over the given grid, tracking no piece
+   *
+   * @param grid grid to index
+   */
+  public PlacementIndex(BitGrid grid) {
+    this.grid = grid;
+    stride = grid.getCols() + OFFSET;
+    size = stride * (grid.getRows() + OFFSET);
+    legal = new long[PieceCatalog.ROTATIONS][(size + 63) >>> 6];
+    paddedWords = (grid.getCols() + 2 * OFFSET + 63) >>> 6;
+    padded = new long[paddedWords * grid.getRows()];
+    blocked = new long[paddedWords];
+
+    grid.addPlacementIndex(this);
+  }
+
+  /**
+   * Start tracking the given piece type, rebuilding the index of all of its rotations
+   *
+   * @param type piece type, or -1 to track nothing
+   */
+  public void track(int type) {
+    this.type = type;
+    if (type >= 0) {
+      for (int y = 0; y < grid.getRows(); y++) {
+        grid.paddedRow(y, OFFSET, padded, y * paddedWords);
+      }
+    }
+    for (int rotation = 0; rotation < PieceCatalog.ROTATIONS; rotation++) {
+      Arrays.fill(legal[rotation], 0L);
+      counts[rotation] = 0;
+      if (type >= 0) {
+        shapes[rotation] = PieceCatalog.shape(type, rotation);
+        rebuild(rotation);
+      }
+    }
+  }
+
+  /**
+   * Rebuild the index of one rotation, one anchor row at a time. Anchor x is blocked by a cell of
+   * the piece dx across if padded bit x + 2 + dx of that cell's row is set, so shifting each row
+   * mask right by dx and combining them gives every blocked anchor of the row at once.
+   *
+   * @param rotation rotation to rebuild
+   */
+  private void rebuild(int rotation) {
+    int shape = shapes[rotation];
+    int rows = grid.getRows();
+    for (int y = -OFFSET; y < rows; y++) {
+      Arrays.fill(blocked, 0L);
+      boolean fits = true;
+      for (int dy = 0; dy < 3 && fits; dy++) {
+        int bits = (shape >>> (dy * 3)) & 7;
+        if (bits == 0) {
+          continue;
+        }
+        int row = y + dy;
+        if (row < 0 || row >= rows) {
+          fits = false;
+          continue;
+        }
+        for (int dx = 0; dx < 3; dx++) {
+          if ((bits & (1 << dx)) != 0) {
+            block(row * paddedWords, dx);
+          }
+        }
+      }
+      if (fits) {
+        addRow(rotation, (y + OFFSET) * stride);
+      }
+    }
+  }
+
+  /**
+   * Add a padded row mask, shifted right by the given number of columns, to the blocked anchors
+   *
+   * @param from  first word of the row in the padded masks
+   * @param shift number of columns to shift by, 0 to 2
+   */
+  private void block(int from, int shift) {
+    for (int word = 0; word < paddedWords; word++) {
+      long bits = padded[from + word] >>> shift;
+      if (shift > 0 && word + 1 < paddedWords) {
+        bits |= padded[from + word + 1] << (64 - shift);
+      }
+      blocked[word] |= bits;
+    }
+  }
+
+  /**
+   * Mark every anchor of an anchor row that is not blocked as legal. The index must be clear for
+   * the row beforehand.
+   *
+   * @param rotation rotation being rebuilt
+   * @param start    bit index of the first anchor of the row
+   */
+  private void addRow(int rotation, int start) {
+    long[] words = legal[rotation];
+    for (int word = 0; word * 64 < stride; word++) {
+      long bits = ~blocked[word];
+      int remaining = stride - word * 64;
+      if (remaining < 64) {
+        bits &= (1L << remaining) - 1;
+      }
+      if (bits == 0) {
+        continue;
+      }
+      counts[rotation] += Long.bitCount(bits);
+      int position = start + word * 64;
+      int shift = position & 63;
+      words[position >>> 6] |= bits << shift;
+      if (shift > 0 && (bits >>> (64 - shift)) != 0) {
+        words[(position >>> 6) + 1] |= bits >>> (64 - shift);
+      }
+    }
+  }
+
+  /**
+   * Get the piece type being tracked
+   *
+   * @return piece type, or -1 for none
+   */
+  public int getType() {
+    return type;
+  }
+
+  /**
+   * Get the bit index of an anchor
+   *
+   * @param x x-coordinate of the left of the piece
+   * @param y y-coordinate of the top of the piece
+   * @return bit index
+   */
+  private int index(int x, int y) {
+    return (y + OFFSET) * stride + x + OFFSET;
+  }
+
+  private void setLegal(int rotation, int index) {
+    long bit = 1L << index;
+    long[] words = legal[rotation];
+    if ((words[index >>> 6] & bit) == 0) {
+      words[index >>> 6] |= bit;
+      counts[rotation]++;
+    }
+  }
+
+  private void clearLegal(int rotation, int index) {
+    long bit = 1L << index;
+    long[] words = legal[rotation];
+    if ((words[index >>> 6] & bit) != 0) {
+      words[index >>> 6] &= ~bit;
+      counts[rotation]--;
+    }
+  }
+
+  /**
+   * Update the anchors affected by a cell changing value
+   *
+   * @param x     column
+   * @param y     row
+   * @param value the new value
+   */
+  @Override
+  public void cellChanged(int x, int y, int value) {
+    if (type < 0) {
+      return;
+    }
+    for (int rotation = 0; rotation < PieceCatalog.ROTATIONS; rotation++) {
+      int shape = shapes[rotation];
+      for (int bit = 0; bit < 9; bit++) {
+        if ((shape & (1 << bit)) == 0) {
+          continue;
+        }
+        int anchorX = x - bit % 3;
+        int anchorY = y - bit / 3;
+        if (value != 0) {
+          clearLegal(rotation, index(anchorX, anchorY));
+        } else if (grid.canPlace(shape, anchorX, anchorY)) {
+          setLegal(rotation, index(anchorX, anchorY));
+        }
+      }
+    }
+  }
+
+  /**
+   * Return if the tracked piece can be placed at the given anchor
+   *
+   * @param rotation rotation of the piece
+   * @param x        x-coordinate of the left of the piece
+   * @param y        y-coordinate of the top of the piece
+   * @return if the placement is legal
+   */
+  public boolean isLegal(int rotation, int x, int y) {
+    if (type < 0 || x < -OFFSET || y < -OFFSET || x >= grid.getCols() || y >= grid.getRows()) {
+      return false;
+    }
+    int index = index(x, y);
+    return (legal[rotation & 3][index >>> 6] & (1L << index)) != 0;
+  }
+
+  /**
+   * Get the number of legal anchors for a rotation of the tracked piece
+   *
+   * @param rotation rotation of the piece
+   * @return number of legal placements
+   */
+  public int count(int rotation) {
+    return counts[rotation & 3];
+  }
+
+  /**
+   * Return if the tracked piece can be placed anywhere, in any rotation
+   *
+   * @return if any placement is legal
+   */
+  public boolean anyLegal() {
+    for (int count : counts) {
+      if (count > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Find the next legal anchor of a rotation, in row order, starting from the given position.
+   * Positions can be turned back into coordinates with anchorX and anchorY.
+   *
+   * @param rotation rotation of the piece
+   * @param from     position to start searching from, 0 for the first
+   * @return position of the next legal anchor, or -1 if there are no more
+   */
+  public int nextLegal(int rotation, int from) {
+    long[] words = legal[rotation & 3];
+    if (from >= size) {
+      return -1;
+    }
+    int word = from >>> 6;
+    long bits = words[word] & (-1L << from);
+    while (true) {
+      if (bits != 0) {
+        return word * 64 + Long.numberOfTrailingZeros(bits);
+      }
+      if (++word == words.length) {
+        return -1;
+      }
+      bits = words[word];
+    }
+  }
+
+  /**
+   * Get the x-coordinate of an anchor position returned by nextLegal
+   *
+   * @param position anchor position
+   * @return x-coordinate of the left of the piece
+   */
+  public int anchorX(int position) {
+    return position % stride - OFFSET;
+  }
+
+  /**
+   * Get the y-coordinate of an anchor position returned by nextLegal
+   *
+   * @param position anchor position
+   * @return y-coordinate of the top of the piece
+   */
+  public int anchorY(int position) {
+    return position / stride - OFFSET;
+  }
+
+  /**
+   * Call the consumer with every legal anchor of a rotation, in row order
+   *
+   * @param rotation rotation of the piece
+   * @param consumer consumer to call
+   */
+  public void forEachLegal(int rotation, PlacementConsumer consumer) {
+    for (int position = nextLegal(rotation, 0); position >= 0;
+        position = nextLegal(rotation, position + 1)) {
+      consumer.accept(anchorX(position), anchorY(position));
+    }
+  }
+}
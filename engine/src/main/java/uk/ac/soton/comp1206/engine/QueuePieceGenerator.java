@@ -0,0 +1,88 @@
+package uk.ac.soton.comp1206.engine;
+
+import java.util.Arrays;
+
+/**
+ * The Queue Piece Generator hands out pieces that have been given to it from outside, in the order
+ * they arrived, such as pieces sent by a multiplayer server. Pieces are held in a ring buffer of
+ * ints that grows if more arrive than it can hold.
+ */
+public class QueuePieceGenerator implements PieceGenerator {
+
+  private int[] ring = new int[16];
+  private int head;
+  private int count;
+
+  /**
+   * Add a piece to the back of the queue
+   *
+   * @param type piece type
+   */
+  public void enqueue(int type) {
+    if (count == ring.length) {
+      //Unroll into a larger ring
+      int[] larger = new int[ring.length * 2];
+      for (int i = 0; i < count; i++) {
+        larger[i] = ring[(head + i) & (ring.length - 1)];
+      }
+      ring = larger;
+      head = 0;
+    }
+    ring[(head + count) & (ring.length - 1)] = type;
+    count++;
+  }
+
+  /**
+   * Take the piece at the front of the queue
+   *
+   * @return piece type
+   * @throws IllegalStateException if no pieces have arrived
+   */
+  @Override
+  public int next() {
+    if (count == 0) {
+      throw new IllegalStateException("No pieces queued");
+    }
+    int type = ring[head];
+    head = (head + 1) & (ring.length - 1);
+    count--;
+    return type;
+  }
+
+  /**
+   * Look at a queued piece without taking it
+   *
+   * @param ahead how far back in the queue to look, 0 for the front
+   * @return piece type, or -1 if it has not arrived yet
+   */
+  @Override
+  public int peek(int ahead) {
+    if (ahead < 0 || ahead >= count) {
+      return -1;
+    }
+    return ring[(head + ahead) & (ring.length - 1)];
+  }
+
+  /**
+   * Get the number of queued pieces
+   *
+   * @return queue length
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Return a string representation of the queued pieces
+   *
+   * @return the queued piece types, front first
+   */
+  @Override
+  public String toString() {
+    int[] queued = new int[count];
+    for (int i = 0; i < count; i++) {
+      queued[i] = ring[(head + i) & (ring.length - 1)];
+    }
+    return Arrays.toString(queued);
+  }
+}
@@ -0,0 +1,119 @@
+package uk.ac.soton.comp1206.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * A Random Piece Generator draws pieces from a seeded SplittableRandom, so two generators of the
+ * same kind with the same seed produce the same pieces. Upcoming pieces are prefetched into a ring
+ * buffer of ints, so they can be looked at before they are taken without allocating.
+ */
+public abstract class RandomPieceGenerator implements PieceGenerator {
+
+  /**
+   * Default number of upcoming pieces that can be looked at
+   */
+  public static final int DEFAULT_PREFETCH = 8;
+
+  /**
+   * The seed the generator started from
+   */
+  private final long seed;
+
+  /**
+   * The source of randomness
+   */
+  protected final SplittableRandom random;
+
+  /**
+   * Prefetched pieces, a power of two in size
+   */
+  private final int[] ring;
+  private int head;
+  private int count;
+
+  /**
+   * Create a new generator
+   *
+   * @param seed     seed to draw pieces from
+   * @param prefetch number of upcoming pieces that can be looked at
+   */
+  protected RandomPieceGenerator(long seed, int prefetch) {
+    if (prefetch < 1) {
+      throw new IllegalArgumentException("Must prefetch at least one piece");
+    }
+    this.seed = seed;
+    this.random = new SplittableRandom(seed);
+    //Round up to a power of two so the ring can wrap with a mask
+    int capacity = Integer.highestOneBit(prefetch);
+    ring = new int[capacity == prefetch ? capacity : capacity << 1];
+  }
+
+  /**
+   * Draw a new piece type from the random source
+   *
+   * @return piece type
+   */
+  protected abstract int generate();
+
+  /**
+   * Get the seed this generator started from
+   *
+   * @return the seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Get the number of upcoming pieces that can be looked at
+   *
+   * @return prefetch capacity
+   */
+  public int getPrefetch() {
+    return ring.length;
+  }
+
+  /**
+   * Take the next piece type, drawing one if none are prefetched
+   *
+   * @return piece type
+   */
+  @Override
+  public int next() {
+    if (count == 0) {
+      return generate();
+    }
+    int type = ring[head];
+    head = (head + 1) & (ring.length - 1);
+    count--;
+    return type;
+  }
+
+  /**
+   * Look at an upcoming piece type, drawing and prefetching pieces up to it
+   *
+   * @param ahead how far ahead to look, 0 for the piece next returns
+   * @return piece type, or -1 if it is further ahead than the prefetch capacity
+   */
+  @Override
+  public int peek(int ahead) {
+    if (ahead < 0 || ahead >= ring.length) {
+      return -1;
+    }
+    prefetch(ahead + 1);
+    return ring[(head + ahead) & (ring.length - 1)];
+  }
+
+  /**
+   * Make sure at least the given number of upcoming pieces are drawn
+   *
+   * @param pieces number of pieces, up to the prefetch capacity
+   */
+  public void prefetch(int pieces) {
+    int target = Math.min(pieces, ring.length);
+    while (count < target) {
+      ring[(head + count) & (ring.length - 1)] = generate();
+      count++;
+    }
+  }
+}
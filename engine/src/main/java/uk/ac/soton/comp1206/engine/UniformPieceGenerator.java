@@ -0,0 +1,32 @@
+package uk.ac.soton.comp1206.engine;
+
+/**
+ * The Uniform Piece Generator draws every piece type with equal chance, independently of the pieces
+ * before it. This is the standard TetrECS behaviour.
+ */
+public class UniformPieceGenerator extends RandomPieceGenerator {
+
+  /**
+   * Create a new uniform generator
+   *
+   * @param seed seed to draw pieces from
+   */
+  public UniformPieceGenerator(long seed) {
+    this(seed, DEFAULT_PREFETCH);
+  }
+
+  /**
+   * Create a new uniform generator
+   *
+   * @param seed     seed to draw pieces from
+   * @param prefetch number of upcoming pieces that can be looked at
+   */
+  public UniformPieceGenerator(long seed, int prefetch) {
+    super(seed, prefetch);
+  }
+
+  @Override
+  protected int generate() {
+    return random.nextInt(PieceCatalog.PIECES);
+  }
+}
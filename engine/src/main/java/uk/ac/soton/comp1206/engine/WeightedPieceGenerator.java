@@ -0,0 +1,66 @@
+package uk.ac.soton.comp1206.engine;
+
+/**
+ * The Weighted Piece Generator draws each piece type with a chance proportional to its weight, for
+ * example to make large awkward pieces rarer.
+ */
+public class WeightedPieceGenerator extends RandomPieceGenerator {
+
+  /**
+   * Running total of the weights, cumulative[t] being the sum of the weights of types 0 to t
+   */
+  private final int[] cumulative = new int[PieceCatalog.PIECES];
+
+  /**
+   * Create a new weighted generator
+   *
+   * @param seed    seed to draw pieces from
+   * @param weights weight of each piece type, indexed by type
+   */
+  public WeightedPieceGenerator(long seed, int[] weights) {
+    this(seed, weights, DEFAULT_PREFETCH);
+  }
+
+  /**
+   * Create a new weighted generator
+   *
+   * @param seed     seed to draw pieces from
+   * @param weights  weight of each piece type, indexed by type
+   * @param prefetch number of upcoming pieces that can be looked at
+   */
+  public WeightedPieceGenerator(long seed, int[] weights, int prefetch) {
+    super(seed, prefetch);
+    if (weights.length != PieceCatalog.PIECES) {
+      throw new IllegalArgumentException("Need a weight for each of the " + PieceCatalog.PIECES
+          + " pieces");
+    }
+    int total = 0;
+    for (int type = 0; type < weights.length; type++) {
+      if (weights[type] < 0) {
+        throw new IllegalArgumentException("Weights cannot be negative");
+      }
+      total += weights[type];
+      cumulative[type] = total;
+    }
+    if (total == 0) {
+      throw new IllegalArgumentException("At least one piece must have a weight");
+    }
+  }
+
+  @Override
+  protected int generate() {
+    int roll = random.nextInt(cumulative[cumulative.length - 1]);
+    //Binary search for the first type whose running total is above the roll
+    int low = 0;
+    int high = cumulative.length - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (cumulative[middle] > roll) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,112 @@
+package uk.ac.soton.comp1206.engine.ai;
+
+import java.util.concurrent.CompletableFuture;
+import uk.ac.soton.comp1206.engine.BitGrid;
+import uk.ac.soton.comp1206.engine.GameEngine;
+import uk.ac.soton.comp1206.engine.PieceCatalog;
+
+/**
+ * The AutoPlayer plays a game by itself. It reads the position from the game's engine, asks a
+ * SearchPlayer for a move, then carries the move out through the same controls a person uses:
+ * swapping, rotating and clicking a block.
+ */
+public class AutoPlayer {
+
+  /**
+   * The engine the position is read from
+   */
+  private final GameEngine engine;
+
+  /**
+   * The controls moves are carried out with
+   */
+  private final PlayerControls controls;
+
+  /**
+   * The search choosing moves
+   */
+  private final SearchPlayer search;
+
+  /**
+   * Create a new AutoPlayer
+   *
+   * @param engine   the engine of the game to play
+   * @param controls the controls of the game
+   * @param search   the search choosing moves
+   */
+  public AutoPlayer(GameEngine engine, PlayerControls controls, SearchPlayer search) {
+    this.engine = engine;
+    this.controls = controls;
+    this.search = search;
+  }
+
+  /**
+   * Choose a move for the current position. Must be called on the thread the game runs on.
+   *
+   * @return the chosen move, or null if no piece can be placed
+   */
+  public Move plan() {
+    return search.findMove(engine.getGrid(), engine.getCurrentType(), engine.getFollowingType());
+  }
+
+  /**
+   * Choose a move for the current position on the search's pool. The position is copied before
+   * returning, so the game can carry on while the search runs. Must be called on the thread the
+   * game runs on.
+   *
+   * @return future completed with the chosen move, or null if no piece can be placed
+   */
+  public CompletableFuture<Move> planAsync() {
+    BitGrid snapshot = engine.getGrid().copy();
+    int currentType = engine.getCurrentType();
+    int followingType = engine.getFollowingType();
+    return CompletableFuture.supplyAsync(
+        () -> search.findMove(snapshot, currentType, followingType), search.getPool());
+  }
+
+  /**
+   * Carry out a move through the controls. The move is skipped if the pieces in play are no longer
+   * the ones it was planned for, or it no longer fits.
+   *
+   * @param move the move to play
+   * @return if the engine placed the piece
+   */
+  public boolean apply(Move move) {
+    int type = move.isSwap() ? engine.getFollowingType() : engine.getCurrentType();
+    if (type != move.getType()) {
+      return false;
+    }
+    //Check the placement before touching the controls, so a stale move leaves the pieces alone
+    if (!engine.getGrid().canPlace(PieceCatalog.shape(type, move.getRotation()), move.getX(),
+        move.getY())) {
+      return false;
+    }
+
+    if (move.isSwap()) {
+      controls.swapCurrentPiece();
+    }
+    int turns = (move.getRotation() - engine.getCurrentRotation()) & 3;
+    if (turns == 3) {
+      controls.rotateLeft();
+    } else {
+      for (int i = 0; i < turns; i++) {
+        controls.rotateRight();
+      }
+    }
+
+    //The controls may still refuse the move, such as while the game is paused
+    long placed = engine.getPlacementCount();
+    controls.blockClicked(move.getClickX(), move.getClickY());
+    return engine.getPlacementCount() != placed;
+  }
+
+  /**
+   * Plan and play one move. Must be called on the thread the game runs on.
+   *
+   * @return if a piece was placed
+   */
+  public boolean playTurn() {
+    Move move = plan();
+    return move != null && apply(move);
+  }
+}
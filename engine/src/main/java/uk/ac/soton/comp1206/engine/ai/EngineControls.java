@@ -0,0 +1,59 @@
+package uk.ac.soton.comp1206.engine.ai;
+
+import uk.ac.soton.comp1206.engine.GameEngine;
+
+/**
+ * Engine Controls apply player actions straight to a GameEngine, for games played without a user
+ * interface.
+ */
+public class EngineControls implements PlayerControls {
+
+  /**
+   * The engine being controlled
+   */
+  private final GameEngine engine;
+
+  /**
+   * Create controls for the given engine
+   *
+   * @param engine engine to control
+   */
+  public EngineControls(GameEngine engine) {
+    this.engine = engine;
+  }
+
+  /**
+   * Play the current piece centred on the given block
+   *
+   * @param x column of the block
+   * @param y row of the block
+   */
+  @Override
+  public void blockClicked(int x, int y) {
+    engine.place(x - 1, y - 1);
+  }
+
+  /**
+   * Rotate the current piece clockwise
+   */
+  @Override
+  public void rotateRight() {
+    engine.rotate(1);
+  }
+
+  /**
+   * Rotate the current piece anticlockwise
+   */
+  @Override
+  public void rotateLeft() {
+    engine.rotate(3);
+  }
+
+  /**
+   * Swap the current piece with the following piece
+   */
+  @Override
+  public void swapCurrentPiece() {
+    engine.swap();
+  }
+}
@@ -0,0 +1,88 @@
+package uk.ac.soton.comp1206.engine.ai;
+
+import java.util.concurrent.ForkJoinPool;
+import uk.ac.soton.comp1206.engine.EngineTimer;
+import uk.ac.soton.comp1206.engine.GameClock;
+import uk.ac.soton.comp1206.engine.GameEngine;
+
+/**
+ * The Headless Runner plays games with an AutoPlayer and no user interface, reporting scores and
+ * throughput. The life timer runs on a virtual clock: moves take no game time, and when no piece
+ * can be placed the clock is advanced until the timer runs out, costing a life.
+ * <p>
+ * Options, all optional: --games, --cols, --rows, --depth, --budget (milliseconds per move),
+ * --beam, --threads, --moves (maximum placements per game) and --seed.
+ */
+public class HeadlessRunner {
+
+  /**
+   * Play the games described by the command line and print the results
+   *
+   * @param args command line options
+   */
+  public static void main(String[] args) {
+    int games = 10;
+    int cols = 5;
+    int rows = 5;
+    int depth = SearchPlayer.DEFAULT_DEPTH;
+    long budget = SearchPlayer.DEFAULT_TIME_BUDGET;
+    int beam = SearchPlayer.DEFAULT_BEAM_WIDTH;
+    int threads = Runtime.getRuntime().availableProcessors();
+    int maxMoves = 1000;
+    long seed = 1206;
+
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      String value = args[i + 1];
+      switch (args[i]) {
+        case "--games" -> games = Integer.parseInt(value);
+        case "--cols" -> cols = Integer.parseInt(value);
+        case "--rows" -> rows = Integer.parseInt(value);
+        case "--depth" -> depth = Integer.parseInt(value);
+        case "--budget" -> budget = Long.parseLong(value);
+        case "--beam" -> beam = Integer.parseInt(value);
+        case "--threads" -> threads = Integer.parseInt(value);
+        case "--moves" -> maxMoves = Integer.parseInt(value);
+        case "--seed" -> seed = Long.parseLong(value);
+        default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+      }
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    SearchPlayer search = new SearchPlayer(depth, budget, beam, pool);
+    System.out.printf("Playing %d games on %dx%d, depth %d, beam %d, budget %dms, %d threads%n",
+        games, cols, rows, depth, beam, budget, threads);
+
+    long totalScore = 0;
+    long totalMoves = 0;
+    long start = System.nanoTime();
+    for (int game = 0; game < games; game++) {
+      GameEngine engine = new GameEngine(cols, rows, seed + game);
+      AutoPlayer player = new AutoPlayer(engine, new EngineControls(engine), search);
+      GameClock clock = GameClock.virtual();
+      EngineTimer timer = new EngineTimer(engine, clock);
+      engine.start();
+      timer.start();
+
+      int moves = 0;
+      while (engine.isRunning() && moves < maxMoves) {
+        if (player.playTurn()) {
+          moves++;
+        } else {
+          clock.advance(timer.getCountdown().getRemaining());
+        }
+      }
+      System.out.printf("Game %d: score %d, level %d, %d placements, %s%n", game + 1,
+          engine.getScore(), engine.getLevel(), moves,
+          engine.isRunning() ? "still alive" : "game over");
+      totalScore += engine.getScore();
+      totalMoves += moves;
+    }
+    pool.shutdown();
+
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("Mean score %.1f, %.1f placements per game%n", (double) totalScore / games,
+        (double) totalMoves / games);
+    System.out.printf("%.1f placements/s, %.1f placements/s per thread%n", totalMoves / seconds,
+        totalMoves / seconds / threads);
+  }
+}
@@ -0,0 +1,117 @@
+package uk.ac.soton.comp1206.engine.ai;
+
+/**
+ * A Move is a placement chosen by a SearchPlayer: whether to swap pieces first, the rotation to
+ * play the piece at, and where to place it.
+ */
+public final class Move {
+
+  private final int type;
+  private final boolean swap;
+  private final int rotation;
+  private final int x;
+  private final int y;
+  private final double value;
+
+  /**
+   * Create a new move
+   *
+   * @param type     type of the piece to play
+   * @param swap     whether to swap the current and following pieces first
+   * @param rotation rotation to play the piece at
+   * @param x        x-coordinate of the left of the piece
+   * @param y        y-coordinate of the top of the piece
+   * @param value    value the search gave the move
+   */
+  public Move(int type, boolean swap, int rotation, int x, int y, double value) {
+    this.type = type;
+    this.swap = swap;
+    this.rotation = rotation;
+    this.x = x;
+    this.y = y;
+    this.value = value;
+  }
+
+  /**
+   * Get the type of the piece to play
+   *
+   * @return piece type
+   */
+  public int getType() {
+    return type;
+  }
+
+  /**
+   * Return if the current and following pieces should be swapped first
+   *
+   * @return if the move starts with a swap
+   */
+  public boolean isSwap() {
+    return swap;
+  }
+
+  /**
+   * Get the rotation to play the piece at
+   *
+   * @return number of clockwise quarter turns
+   */
+  public int getRotation() {
+    return rotation;
+  }
+
+  /**
+   * Get the x-coordinate of the left of the piece
+   *
+   * @return x-coordinate
+   */
+  public int getX() {
+    return x;
+  }
+
+  /**
+   * Get the y-coordinate of the top of the piece
+   *
+   * @return y-coordinate
+   */
+  public int getY() {
+    return y;
+  }
+
+  /**
+   * Get the column of the block to click to play this move, the centre of the piece
+   *
+   * @return column to click
+   */
+  public int getClickX() {
+    return x + 1;
+  }
+
+  /**
+   * Get the row of the block to click to play this move, the centre of the piece
+   *
+   * @return row to click
+   */
+  public int getClickY() {
+    return y + 1;
+  }
+
+  /**
+   * Get the value the search gave this move
+   *
+   * @return expected value, higher is better
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * Return a string representation of this move
+   *
+   * @return description of the move
+   */
+  @Override
+  public String toString() {
+    return "Move [type = " + type + ", swap = " + swap + ", rotation = " + rotation + ", x = " + x
+        + ", y = " + y + ", value = " + value + "]";
+  }
+}
@@ -0,0 +1,31 @@
+package uk.ac.soton.comp1206.engine.ai;
+
+/**
+ * Player Controls are the actions available to a player of the game, the same ones a person uses
+ * through the mouse and keyboard. An automatic player drives a game only through these.
+ */
+public interface PlayerControls {
+
+  /**
+   * Click the block at the given x and y, playing the current piece centred on it
+   *
+   * @param x column of the block
+   * @param y row of the block
+   */
+  void blockClicked(int x, int y);
+
+  /**
+   * Rotate the current piece clockwise
+   */
+  void rotateRight();
+
+  /**
+   * Rotate the current piece anticlockwise
+   */
+  void rotateLeft();
+
+  /**
+   * Swap the current piece with the following piece
+   */
+  void swapCurrentPiece();
+}
@@ -0,0 +1,774 @@
+package uk.ac.soton.comp1206.engine.ai;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import uk.ac.soton.comp1206.engine.BitGrid;
+import uk.ac.soton.comp1206.engine.GameEngine;
+import uk.ac.soton.comp1206.engine.PieceCatalog;
+
+/**
+ * The SearchPlayer chooses where to play a piece by searching ahead. Every placement of the
+ * current piece, and of the following piece after a swap, is tried in every distinct rotation.
+ * The piece left over is then placed as well, and beyond that the unknown pieces still to come are
+ * averaged over all piece types (expectimax). Only the best few placements at each level, by a
+ * quick board evaluation, are searched further (a beam).
+ * <p>
+ * The search runs in two passes over the first placements, both shared out over a ForkJoinPool.
+ * The first ranks every placement by its reward plus the evaluation of the board it leaves (one
+ * ply). Placing a piece only changes the evaluation near the piece, so this is worked out from the
+ * cells around it rather than by copying and evaluating the whole board. The second pass then
+ * searches ahead from the placements in that order, best first. Both passes check the time budget
+ * after every placement, and the search checks it on every row of anchors. A placement whose search
+ * did not finish in time is dropped, and if none finished the best one ply placement is played,
+ * so a move is always returned.
+ * <p>
+ * Each worker thread keeps its own scratch grids and move buffers, which are reused from one
+ * search to the next. Only the list of first placements and their values are allocated for each
+ * search.
+ * <p>
+ * Only placements a player could click are considered, so the centre of the piece is always inside
+ * the grid.
+ */
+public class SearchPlayer {
+
+  /**
+   * Default number of pieces to look ahead, including the current piece
+   */
+  public static final int DEFAULT_DEPTH = 2;
+
+  /**
+   * Default time budget for one search, in milliseconds
+   */
+  public static final long DEFAULT_TIME_BUDGET = 250;
+
+  /**
+   * Default number of placements searched further at each level
+   */
+  public static final int DEFAULT_BEAM_WIDTH = 4;
+
+  /**
+   * Value of a position where the piece cannot be placed anywhere
+   */
+  private static final double NO_MOVE = -100000;
+
+  /**
+   * Weight of the squared fill of every row and column, rewarding nearly complete lines
+   */
+  private static final double LINE_WEIGHT = 1.0;
+
+  /**
+   * Weight of each empty cell surrounded on all sides, which only a Dot can fill
+   */
+  private static final double HOLE_WEIGHT = 6.0;
+
+  /**
+   * Weight of each filled cell, rewarding an emptier board
+   */
+  private static final double FILL_WEIGHT = 1.0;
+
+  /**
+   * Number of tasks the first placements are shared out between for each thread of the pool
+   */
+  private static final int TASKS_PER_THREAD = 4;
+
+  /**
+   * The rotations of each piece type that give distinct shapes, bit r set for rotation r
+   */
+  private static final int[] DISTINCT_ROTATIONS = new int[PieceCatalog.PIECES];
+
+  static {
+    for (int type = 0; type < PieceCatalog.PIECES; type++) {
+      for (int rotation = 0; rotation < PieceCatalog.ROTATIONS; rotation++) {
+        boolean seen = false;
+        for (int earlier = 0; earlier < rotation; earlier++) {
+          seen |= PieceCatalog.shape(type, earlier) == PieceCatalog.shape(type, rotation);
+        }
+        if (!seen) {
+          DISTINCT_ROTATIONS[type] |= 1 << rotation;
+        }
+      }
+    }
+  }
+
+  /**
+   * Pool the search runs on
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * Number of pieces to look ahead
+   */
+  private final int depth;
+
+  /**
+   * Time budget for one search, in milliseconds
+   */
+  private final long timeBudget;
+
+  /**
+   * Number of placements searched further at each level
+   */
+  private final int beamWidth;
+
+  /**
+   * Scratch space of each thread taking part in searches
+   */
+  private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+  /**
+   * Number of searches started, identifying each search to the workers
+   */
+  private final AtomicLong searches = new AtomicLong();
+
+  /**
+   * Create a new SearchPlayer with the default depth, time budget and beam width, searching on the
+   * common pool
+   */
+  public SearchPlayer() {
+    this(DEFAULT_DEPTH, DEFAULT_TIME_BUDGET, DEFAULT_BEAM_WIDTH, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Create a new SearchPlayer
+   *
+   * @param depth      number of pieces to look ahead, at least 1
+   * @param timeBudget time budget for one search, in milliseconds
+   * @param beamWidth  number of placements searched further at each level, at least 1
+   * @param pool       pool to run the search on
+   */
+  public SearchPlayer(int depth, long timeBudget, int beamWidth, ForkJoinPool pool) {
+    if (depth < 1 || beamWidth < 1) {
+      throw new IllegalArgumentException("Depth and beam width must be at least 1");
+    }
+    this.depth = depth;
+    this.timeBudget = timeBudget;
+    this.beamWidth = beamWidth;
+    this.pool = pool;
+  }
+
+  /**
+   * Get the pool the search runs on
+   *
+   * @return the pool
+   */
+  public ForkJoinPool getPool() {
+    return pool;
+  }
+
+  /**
+   * Get the number of pieces looked ahead
+   *
+   * @return search depth
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Find the best move for the given position. The grid is only read, but must not be changed
+   * while the search runs, so callers on another thread should pass a copy.
+   *
+   * @param grid          the grid to play on
+   * @param currentType   type of the current piece
+   * @param followingType type of the following piece, or -1 for none
+   * @return the best move, or null if neither piece can be placed
+   */
+  public Move findMove(BitGrid grid, int currentType, int followingType) {
+    long deadline = System.nanoTime() + timeBudget * 1_000_000L;
+    int cols = grid.getCols();
+    int rows = grid.getRows();
+
+    //Every clickable placement of either piece, packed as swap, rotation, x and y
+    int[] candidates = new int[2 * PieceCatalog.ROTATIONS * cols * rows];
+    int count = 0;
+    for (int swap = 0; swap < 2; swap++) {
+      int type = swap == 0 ? currentType : followingType;
+      //Swapping for the same type changes nothing
+      if (type < 0 || (swap == 1 && followingType == currentType)) {
+        continue;
+      }
+      for (int rotation = 0; rotation < PieceCatalog.ROTATIONS; rotation++) {
+        if ((DISTINCT_ROTATIONS[type] & (1 << rotation)) == 0) {
+          continue;
+        }
+        int shape = PieceCatalog.shape(type, rotation);
+        for (int y = -1; y < rows - 1; y++) {
+          for (int x = -1; x < cols - 1; x++) {
+            if (grid.canPlace(shape, x, y)) {
+              candidates[count++] = pack(swap, rotation, x, y);
+            }
+          }
+        }
+      }
+    }
+    if (count == 0) {
+      return null;
+    }
+    long search = searches.incrementAndGet();
+    double base = evaluate(grid);
+    int tasks = Math.min(count, pool.getParallelism() * TASKS_PER_THREAD);
+
+    //One ply: every placement, in the order found, until the budget runs out
+    double[] quick = new double[count];
+    Arrays.fill(quick, Double.NaN);
+    pool.invoke(new Evaluate(grid, currentType, followingType, candidates, null, quick, count,
+        tasks, search, base, deadline));
+    int best = bestOf(quick, count);
+
+    if (depth > 1) {
+      //Search ahead from the best one ply placements first, keeping those finished in time
+      int[] order = order(quick, count);
+      double[] deep = new double[count];
+      Arrays.fill(deep, Double.NaN);
+      pool.invoke(new Evaluate(grid, currentType, followingType, candidates, order, deep,
+          order.length, Math.min(order.length, tasks), search, base, deadline));
+      int deepBest = bestOf(deep, count);
+      if (!Double.isNaN(deep[deepBest])) {
+        best = deepBest;
+        quick = deep;
+      }
+    }
+
+    int move = candidates[best];
+    boolean swap = unpackSwap(move);
+    return new Move(swap ? followingType : currentType, swap, unpackRotation(move),
+        unpackX(move), unpackY(move), quick[best]);
+  }
+
+  /**
+   * Find the highest value, ignoring placements left unvalued
+   *
+   * @param values value of each placement, NaN if not valued
+   * @param count  number of placements
+   * @return index of the best placement, or of the first if none were valued
+   */
+  private static int bestOf(double[] values, int count) {
+    int best = -1;
+    for (int i = 0; i < count; i++) {
+      if (!Double.isNaN(values[i]) && (best < 0 || values[i] > values[best])) {
+        best = i;
+      }
+    }
+    return Math.max(best, 0);
+  }
+
+  /**
+   * Sort the valued placements from best to worst
+   *
+   * @param values value of each placement, NaN if not valued
+   * @param count  number of placements
+   * @return indexes of the valued placements, best first
+   */
+  private static int[] order(double[] values, int count) {
+    //Pack each value above its index, with the bits of the value flipped to sort as a long
+    long[] keys = new long[count];
+    int valued = 0;
+    for (int i = 0; i < count; i++) {
+      if (!Double.isNaN(values[i])) {
+        int bits = Float.floatToIntBits((float) values[i]);
+        bits = bits < 0 ? bits ^ 0x7FFFFFFF : bits;
+        keys[valued++] = (long) ~bits << 32 | i;
+      }
+    }
+    Arrays.sort(keys, 0, valued);
+    int[] order = new int[valued];
+    for (int i = 0; i < valued; i++) {
+      order[i] = (int) keys[i];
+    }
+    return order;
+  }
+
+  //Packing of a placement into an int
+  /////////////////////////////////////
+
+  private static int pack(int swap, int rotation, int x, int y) {
+    return swap << 28 | rotation << 26 | (x + 2) << 13 | (y + 2);
+  }
+
+  private static boolean unpackSwap(int move) {
+    return (move >>> 28) != 0;
+  }
+
+  private static int unpackRotation(int move) {
+    return (move >>> 26) & 3;
+  }
+
+  private static int unpackX(int move) {
+    return ((move >>> 13) & 0x1FFF) - 2;
+  }
+
+  private static int unpackY(int move) {
+    return (move & 0x1FFF) - 2;
+  }
+
+  /**
+   * Play a piece on a grid and clear any lines it completes
+   *
+   * @param grid     grid to play on
+   * @param type     piece type
+   * @param rotation rotation of the piece
+   * @param x        x-coordinate of the left of the piece
+   * @param y        y-coordinate of the top of the piece
+   * @return the score the placement earns, without a multiplier
+   */
+  static int play(BitGrid grid, int type, int rotation, int x, int y) {
+    int shape = PieceCatalog.shape(type, rotation);
+    grid.place(shape, PieceCatalog.value(type), x, y);
+
+    //Only the lines the piece landed on can have become full
+    int fullRows = 0;
+    int fullCols = 0;
+    for (int d = 0; d < 3; d++) {
+      if (((shape >>> (d * 3)) & 7) != 0 && grid.rowIsFull(y + d)) {
+        fullRows |= 1 << d;
+      }
+      if ((shape & (0b1001001 << d)) != 0 && grid.colIsFull(x + d)) {
+        fullCols |= 1 << d;
+      }
+    }
+    if (fullRows == 0 && fullCols == 0) {
+      return 0;
+    }
+
+    int cols = grid.getCols();
+    int rows = grid.getRows();
+    for (int d = 0; d < 3; d++) {
+      if ((fullRows & (1 << d)) != 0) {
+        for (int col = 0; col < cols; col++) {
+          grid.set(col, y + d, 0);
+        }
+      }
+      if ((fullCols & (1 << d)) != 0) {
+        for (int row = 0; row < rows; row++) {
+          grid.set(x + d, row, 0);
+        }
+      }
+    }
+    int rowCount = Integer.bitCount(fullRows);
+    int colCount = Integer.bitCount(fullCols);
+    int blocks = rowCount * cols + colCount * rows - rowCount * colCount;
+    return GameEngine.calculateScore(blocks, rowCount + colCount, 1);
+  }
+
+  /**
+   * Judge how good a board is to keep playing on, higher is better. Rewards nearly complete
+   * lines, and penalises filled cells and cells that only a single block could fill.
+   *
+   * @param grid grid to judge
+   * @return board value
+   */
+  static double evaluate(BitGrid grid) {
+    int cols = grid.getCols();
+    int rows = grid.getRows();
+
+    double lines = 0;
+    for (int y = 0; y < rows; y++) {
+      int fill = grid.rowFillCount(y);
+      lines += (double) fill * fill / cols;
+    }
+    for (int x = 0; x < cols; x++) {
+      int fill = grid.colFillCount(x);
+      lines += (double) fill * fill / rows;
+    }
+
+    int holes = 0;
+    for (int y = 0; y < rows; y++) {
+      for (int x = 0; x < cols; x++) {
+        if (isHole(grid, x, y)) {
+          holes++;
+        }
+      }
+    }
+
+    return LINE_WEIGHT * lines - HOLE_WEIGHT * holes - FILL_WEIGHT * grid.filledCount();
+  }
+
+  /**
+   * Return if a cell is filled or outside the grid
+   */
+  private static boolean blocked(BitGrid grid, int x, int y) {
+    return !grid.inBounds(x, y) || grid.isFilled(x, y);
+  }
+
+  /**
+   * Values first placements on the pool. The placements are dealt out between the tasks in turn,
+   * so however far each task gets before the budget runs out, the placements valued are spread
+   * evenly from the start of the list.
+   */
+  private class Evaluate extends RecursiveAction {
+
+    private final BitGrid grid;
+    private final int currentType;
+    private final int followingType;
+    private final int[] candidates;
+
+    /**
+     * Order to value the placements in, or null to value them one ply in the order found
+     */
+    private final int[] order;
+    private final double[] values;
+    private final int count;
+    private final int tasks;
+    private final long search;
+    private final double base;
+    private final long deadline;
+
+    /**
+     * First of the placements this task values, or -1 for the task that forks the others
+     */
+    private final int first;
+
+    /**
+     * Task to value every placement, which forks a task for each share
+     */
+    Evaluate(BitGrid grid, int currentType, int followingType, int[] candidates, int[] order,
+        double[] values, int count, int tasks, long search, double base, long deadline) {
+      this(grid, currentType, followingType, candidates, order, values, count, tasks, search, base,
+          deadline, -1);
+    }
+
+    private Evaluate(BitGrid grid, int currentType, int followingType, int[] candidates,
+        int[] order, double[] values, int count, int tasks, long search, double base,
+        long deadline, int first) {
+      this.grid = grid;
+      this.currentType = currentType;
+      this.followingType = followingType;
+      this.candidates = candidates;
+      this.order = order;
+      this.values = values;
+      this.count = count;
+      this.tasks = tasks;
+      this.search = search;
+      this.base = base;
+      this.deadline = deadline;
+      this.first = first;
+    }
+
+    @Override
+    protected void compute() {
+      if (first < 0) {
+        Evaluate[] shares = new Evaluate[tasks];
+        for (int i = 0; i < tasks; i++) {
+          shares[i] = new Evaluate(grid, currentType, followingType, candidates, order, values,
+              count, tasks, search, base, deadline, i);
+        }
+        invokeAll(shares);
+        return;
+      }
+
+      Worker worker = workers.get();
+      worker.prepare(grid, search, deadline);
+      for (int i = first; i < count; i += tasks) {
+        if (order == null) {
+          //The very first placement is always valued, so there is a move to return
+          if (i != 0 && System.nanoTime() > deadline) {
+            return;
+          }
+          values[i] = worker.evaluateQuick(base, currentType, followingType, candidates[i]);
+        } else {
+          int index = order[i];
+          double value = worker.evaluateFirst(grid, currentType, followingType,
+              candidates[index]);
+          if (worker.timedOut) {
+            return;
+          }
+          values[index] = value;
+        }
+      }
+    }
+  }
+
+  /**
+   * The scratch space of one thread. Each level of the search has its own grid, move buffer and
+   * beam, reused for every search on a board of the same size.
+   */
+  private class Worker {
+
+    private BitGrid[] grids;
+    private int[][] moves;
+    private double[][] scores;
+    private int[][] beams;
+    private long deadline;
+
+    /**
+     * Copy of the grid being searched, which one ply placements are tried on and taken back from
+     */
+    private BitGrid root;
+
+    /**
+     * The search the root copy was taken for
+     */
+    private long search;
+
+    /**
+     * Whether the budget ran out during the last placement searched
+     */
+    private boolean timedOut;
+
+    /**
+     * Make sure the scratch space fits the given grid, and holds a copy of it for this search
+     *
+     * @param grid     grid being searched
+     * @param search   number of the search
+     * @param deadline time the search must finish by, from System.nanoTime
+     */
+    void prepare(BitGrid grid, long search, long deadline) {
+      this.deadline = deadline;
+      if (grids == null || grids[0].getCols() != grid.getCols()
+          || grids[0].getRows() != grid.getRows()) {
+        int levels = depth + 1;
+        int maxMoves = PieceCatalog.ROTATIONS * grid.getCols() * grid.getRows();
+        grids = new BitGrid[levels];
+        moves = new int[levels][maxMoves];
+        scores = new double[levels][maxMoves];
+        beams = new int[levels][beamWidth];
+        for (int level = 0; level < levels; level++) {
+          grids[level] = new BitGrid(grid.getCols(), grid.getRows());
+        }
+        root = new BitGrid(grid.getCols(), grid.getRows());
+        this.search = 0;
+      }
+      if (this.search != search) {
+        root.copyFrom(grid);
+        this.search = search;
+      }
+    }
+
+    /**
+     * Value a first placement one ply: its score plus the evaluation of the board it leaves
+     *
+     * @param base          evaluation of the grid being searched
+     * @param currentType   type of the current piece
+     * @param followingType type of the following piece
+     * @param move          packed placement
+     * @return value of the placement
+     */
+    double evaluateQuick(double base, int currentType, int followingType, int move) {
+      int type = unpackSwap(move) ? followingType : currentType;
+      return value(root, base, type, unpackRotation(move), unpackX(move), unpackY(move),
+          grids[0]);
+    }
+
+    /**
+     * Value a first placement: its score, plus the value of the best play that follows. If the
+     * budget runs out before the value is known, timedOut is set and the value is meaningless.
+     *
+     * @param grid          the grid being searched
+     * @param currentType   type of the current piece
+     * @param followingType type of the following piece
+     * @param move          packed placement
+     * @return value of the placement
+     */
+    double evaluateFirst(BitGrid grid, int currentType, int followingType, int move) {
+      timedOut = false;
+      boolean swap = unpackSwap(move);
+      int type = swap ? followingType : currentType;
+      //The piece not played becomes the current piece
+      int known = swap ? currentType : followingType;
+
+      BitGrid child = grids[0];
+      child.copyFrom(grid);
+      int reward = play(child, type, unpackRotation(move), unpackX(move), unpackY(move));
+      if (depth == 1) {
+        return reward + evaluate(child);
+      }
+      return reward + expand(child, known, depth - 1, 1);
+    }
+
+    /**
+     * Value a grid with the given number of pieces still to place
+     *
+     * @param grid      grid to value, which is left as it was
+     * @param known     the next piece, or -1 if it is not known yet
+     * @param remaining number of pieces still to place
+     * @param level     level of the search, choosing the scratch space
+     * @return expected value of the best play from here
+     */
+    private double expand(BitGrid grid, int known, int remaining, int level) {
+      if (timedOut || System.nanoTime() > deadline) {
+        timedOut = true;
+        return 0;
+      }
+      if (known < 0) {
+        //Chance node: every piece type is equally likely
+        double total = 0;
+        for (int type = 0; type < PieceCatalog.PIECES && !timedOut; type++) {
+          total += expand(grid, type, remaining, level);
+        }
+        return total / PieceCatalog.PIECES;
+      }
+
+      int count = generate(grid, known, level);
+      if (timedOut) {
+        return 0;
+      }
+      if (count == 0) {
+        return NO_MOVE + evaluate(grid);
+      }
+      double[] levelScores = scores[level];
+      if (remaining == 1) {
+        double best = levelScores[0];
+        for (int i = 1; i < count; i++) {
+          best = Math.max(best, levelScores[i]);
+        }
+        return best;
+      }
+
+      //Search further below only the best few placements
+      int[] beam = beams[level];
+      int width = Math.min(beamWidth, count);
+      for (int b = 0; b < width; b++) {
+        int best = -1;
+        for (int i = 0; i < count; i++) {
+          if (levelScores[i] != Double.NEGATIVE_INFINITY
+              && (best < 0 || levelScores[i] > levelScores[best])) {
+            best = i;
+          }
+        }
+        beam[b] = moves[level][best];
+        levelScores[best] = Double.NEGATIVE_INFINITY;
+      }
+
+      double best = Double.NEGATIVE_INFINITY;
+      BitGrid child = grids[level];
+      for (int b = 0; b < width && !timedOut; b++) {
+        int move = beam[b];
+        child.copyFrom(grid);
+        int reward = play(child, known, unpackRotation(move), unpackX(move), unpackY(move));
+        best = Math.max(best, reward + expand(child, -1, remaining - 1, level + 1));
+      }
+      return best;
+    }
+
+    /**
+     * Find every clickable placement of a piece, scoring each one ply. Stops early, setting
+     * timedOut, if the budget runs out.
+     *
+     * @param grid  grid to play on, which is left as it was
+     * @param type  piece type
+     * @param level level of the search, choosing the scratch space
+     * @return number of placements found
+     */
+    private int generate(BitGrid grid, int type, int level) {
+      int count = 0;
+      int[] levelMoves = moves[level];
+      double[] levelScores = scores[level];
+      double base = evaluate(grid);
+      int cols = grid.getCols();
+      int rows = grid.getRows();
+      for (int rotation = 0; rotation < PieceCatalog.ROTATIONS; rotation++) {
+        if ((DISTINCT_ROTATIONS[type] & (1 << rotation)) == 0) {
+          continue;
+        }
+        int shape = PieceCatalog.shape(type, rotation);
+        for (int y = -1; y < rows - 1; y++) {
+          if (System.nanoTime() > deadline) {
+            timedOut = true;
+            return count;
+          }
+          for (int x = -1; x < cols - 1; x++) {
+            if (!grid.canPlace(shape, x, y)) {
+              continue;
+            }
+            levelMoves[count] = pack(0, rotation, x, y);
+            levelScores[count] = value(grid, base, type, rotation, x, y, grids[level]);
+            count++;
+          }
+        }
+      }
+      return count;
+    }
+  }
+
+  /**
+   * Value a placement one ply: the score it earns plus the evaluation of the grid it leaves. The
+   * piece is placed on the grid and taken off again, and only the lines and cells around it are
+   * looked at. A placement that clears lines changes the whole board, so it is played on the
+   * spare grid and evaluated in full instead.
+   *
+   * @param grid     grid to play on, which is left as it was
+   * @param base     evaluation of the grid
+   * @param type     piece type
+   * @param rotation rotation of the piece
+   * @param x        x-coordinate of the left of the piece
+   * @param y        y-coordinate of the top of the piece
+   * @param spare    grid that can be overwritten
+   * @return value of the placement
+   */
+  static double value(BitGrid grid, double base, int type, int rotation, int x, int y,
+      BitGrid spare) {
+    int shape = PieceCatalog.shape(type, rotation);
+    double before = lines(grid, shape, x, y) - HOLE_WEIGHT * holesAround(grid, x, y);
+    grid.place(shape, PieceCatalog.value(type), x, y);
+
+    boolean clears = false;
+    for (int d = 0; d < 3 && !clears; d++) {
+      clears = ((shape >>> (d * 3)) & 7) != 0 && grid.rowIsFull(y + d)
+          || (shape & (0b1001001 << d)) != 0 && grid.colIsFull(x + d);
+    }
+    double after = clears ? 0 : lines(grid, shape, x, y) - HOLE_WEIGHT * holesAround(grid, x, y);
+    grid.place(shape, 0, x, y);
+
+    if (clears) {
+      spare.copyFrom(grid);
+      int reward = play(spare, type, rotation, x, y);
+      return reward + evaluate(spare);
+    }
+    return base + after - before - FILL_WEIGHT * Integer.bitCount(shape);
+  }
+
+  /**
+   * Get the line part of the evaluation for only the rows and columns a piece covers
+   *
+   * @param grid  grid to judge
+   * @param shape shape mask of the piece
+   * @param x     x-coordinate of the left of the piece
+   * @param y     y-coordinate of the top of the piece
+   * @return weighted squared fill of the covered lines
+   */
+  private static double lines(BitGrid grid, int shape, int x, int y) {
+    double lines = 0;
+    for (int d = 0; d < 3; d++) {
+      if (((shape >>> (d * 3)) & 7) != 0) {
+        int fill = grid.rowFillCount(y + d);
+        lines += (double) fill * fill / grid.getCols();
+      }
+      if ((shape & (0b1001001 << d)) != 0) {
+        int fill = grid.colFillCount(x + d);
+        lines += (double) fill * fill / grid.getRows();
+      }
+    }
+    return LINE_WEIGHT * lines;
+  }
+
+  /**
+   * Count the holes a piece could have made or filled, which all lie within one cell of its 3x3
+   * grid
+   *
+   * @param grid grid to judge
+   * @param x    x-coordinate of the left of the piece
+   * @param y    y-coordinate of the top of the piece
+   * @return holes around the piece
+   */
+  private static int holesAround(BitGrid grid, int x, int y) {
+    int holes = 0;
+    for (int row = Math.max(0, y - 1); row <= Math.min(grid.getRows() - 1, y + 3); row++) {
+      for (int col = Math.max(0, x - 1); col <= Math.min(grid.getCols() - 1, x + 3); col++) {
+        if (isHole(grid, col, row)) {
+          holes++;
+        }
+      }
+    }
+    return holes;
+  }
+
+  /**
+   * Return if a cell is empty and surrounded on all sides
+   */
+  private static boolean isHole(BitGrid grid, int x, int y) {
+    return !grid.isFilled(x, y) && blocked(grid, x - 1, y) && blocked(grid, x + 1, y)
+        && blocked(grid, x, y - 1) && blocked(grid, x, y + 1);
+  }
+}
@@ -0,0 +1,74 @@
+package uk.ac.soton.comp1206.engine.replay;
+
+/**
+ * The ReplayFormat describes the binary layout of a recorded game.
+ * <p>
+ * A replay starts with a header: the magic bytes "TRPL", a version byte, then the columns, rows,
+ * seed and start time (milliseconds since the epoch) as varints. The seed is zigzag encoded.
+ * <p>
+ * The header is followed by events. Each event starts with a varint holding the milliseconds since
+ * the previous event shifted left by 3, with the event tag in the low 3 bits, followed by the
+ * tag's payload:
+ * <ul>
+ *   <li>SPAWN: the piece type</li>
+ *   <li>ROTATE: the number of clockwise quarter turns</li>
+ *   <li>SWAP: nothing</li>
+ *   <li>PLACE: x and y, each zigzag encoded as the difference from the previous placement</li>
+ *   <li>TIMER: nothing, the timer ran out</li>
+ *   <li>END: the final score and level</li>
+ * </ul>
+ * Varints hold 7 bits per byte, least significant first, with the top bit set on every byte but
+ * the last. A typical game takes a few kilobytes.
+ */
+public final class ReplayFormat {
+
+  /**
+   * Magic bytes at the start of every replay
+   */
+  static final byte[] MAGIC = {'T', 'R', 'P', 'L'};
+
+  /**
+   * Version of the format written
+   */
+  static final int VERSION = 1;
+
+  /**
+   * File extension of replays
+   */
+  public static final String EXTENSION = ".trp";
+
+  static final int SPAWN = 0;
+  static final int ROTATE = 1;
+  static final int SWAP = 2;
+  static final int PLACE = 3;
+  static final int TIMER = 4;
+  static final int END = 5;
+
+  /**
+   * Number of bits of the first varint of an event holding the tag
+   */
+  static final int TAG_BITS = 3;
+
+  private ReplayFormat() {
+  }
+
+  /**
+   * Zigzag encode a signed value, so small negative values stay small
+   *
+   * @param value signed value
+   * @return unsigned encoding
+   */
+  static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  /**
+   * Decode a zigzag encoded value
+   *
+   * @param value unsigned encoding
+   * @return signed value
+   */
+  static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
@@ -0,0 +1,354 @@
+package uk.ac.soton.comp1206.engine.replay;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import uk.ac.soton.comp1206.engine.GameEngine;
+
+/**
+ * The ReplayPlayer plays a recorded game back on a GameEngine. The pieces spawned come from the
+ * recording rather than a random source, so the game plays out exactly as it was recorded. Any
+ * Game wrapping the engine follows along through its listeners.
+ * <p>
+ * The replay is decoded in full when it is opened. It can then be stepped one action at a time,
+ * with getNextDelay giving the recorded pause before each action for wall-clock playback, or run
+ * straight through as fast as possible.
+ */
+public class ReplayPlayer {
+
+  private final int cols;
+  private final int rows;
+  private final long seed;
+  private final long startTime;
+
+  /**
+   * Decoded events: tag, milliseconds since the previous event, and up to two arguments
+   */
+  private int[] tags = new int[256];
+  private long[] delays = new long[256];
+  private int[] firstArgs = new int[256];
+  private int[] secondArgs = new int[256];
+  private int count;
+
+  /**
+   * Index of the next event to play
+   */
+  private int next;
+
+  /**
+   * Spawns waiting to be taken by the engine
+   */
+  private final int[] spawns = new int[8];
+  private int spawnHead;
+  private int spawnCount;
+
+  /**
+   * The score and level recorded at the end of the game, or -1 if the replay has no end
+   */
+  private int recordedScore = -1;
+  private int recordedLevel = -1;
+
+  /**
+   * Raw replay bytes and read position, only used while decoding
+   */
+  private final byte[] data;
+  private int position;
+
+  /**
+   * Decode a replay from a stream, reading it to the end
+   *
+   * @param in stream holding the replay
+   * @throws IOException if the stream cannot be read or does not hold a replay
+   */
+  public ReplayPlayer(InputStream in) throws IOException {
+    data = in.readAllBytes();
+    for (byte b : ReplayFormat.MAGIC) {
+      if (readByte() != b) {
+        throw new IOException("Not a replay");
+      }
+    }
+    int version = readByte();
+    if (version != ReplayFormat.VERSION) {
+      throw new IOException("Unsupported replay version " + version);
+    }
+    cols = (int) readVarint();
+    rows = (int) readVarint();
+    seed = ReplayFormat.unzigzag(readVarint());
+    startTime = readVarint();
+    decodeEvents();
+  }
+
+  /**
+   * Decode a replay from a file
+   *
+   * @param file replay file
+   * @return the player
+   * @throws IOException if the file cannot be read or does not hold a replay
+   */
+  public static ReplayPlayer open(Path file) throws IOException {
+    try (InputStream in = Files.newInputStream(file)) {
+      return new ReplayPlayer(in);
+    }
+  }
+
+  //Decoding
+  //////////
+
+  private int readByte() throws IOException {
+    if (position == data.length) {
+      throw new IOException("Replay ends early");
+    }
+    return data[position++];
+  }
+
+  private long readVarint() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+
+  /**
+   * Decode every event up to the end of the game, or the end of the data if the recording was cut
+   * short
+   */
+  private void decodeEvents() throws IOException {
+    int lastX = 0;
+    int lastY = 0;
+    while (position < data.length) {
+      long header = readVarint();
+      int tag = (int) (header & ((1 << ReplayFormat.TAG_BITS) - 1));
+      long delay = header >>> ReplayFormat.TAG_BITS;
+      switch (tag) {
+        case ReplayFormat.SPAWN, ReplayFormat.ROTATE -> add(tag, delay, (int) readVarint(), 0);
+        case ReplayFormat.SWAP, ReplayFormat.TIMER -> add(tag, delay, 0, 0);
+        case ReplayFormat.PLACE -> {
+          lastX += (int) ReplayFormat.unzigzag(readVarint());
+          lastY += (int) ReplayFormat.unzigzag(readVarint());
+          add(tag, delay, lastX, lastY);
+        }
+        case ReplayFormat.END -> {
+          recordedScore = (int) readVarint();
+          recordedLevel = (int) readVarint();
+          return;
+        }
+        default -> throw new IOException("Unknown replay event " + tag);
+      }
+    }
+  }
+
+  private void add(int tag, long delay, int first, int second) {
+    if (count == tags.length) {
+      int size = count * 2;
+      tags = Arrays.copyOf(tags, size);
+      delays = Arrays.copyOf(delays, size);
+      firstArgs = Arrays.copyOf(firstArgs, size);
+      secondArgs = Arrays.copyOf(secondArgs, size);
+    }
+    tags[count] = tag;
+    delays[count] = delay;
+    firstArgs[count] = first;
+    secondArgs[count] = second;
+    count++;
+  }
+
+  //Playback
+  //////////
+
+  /**
+   * Create an engine to play this replay on, with the recorded grid size and seed, spawning the
+   * recorded pieces
+   *
+   * @return new engine
+   */
+  public GameEngine createEngine() {
+    GameEngine engine = new GameEngine(cols, rows, seed);
+    attach(engine);
+    return engine;
+  }
+
+  /**
+   * Make the given engine spawn the recorded pieces. Used when the engine belongs to a Game.
+   *
+   * @param engine engine to play the replay on
+   */
+  public void attach(GameEngine engine) {
+    engine.setPieceGenerator(this::takeSpawn);
+  }
+
+  /**
+   * Take the next recorded spawn
+   *
+   * @return piece type
+   */
+  private int takeSpawn() {
+    if (spawnCount == 0) {
+      throw new IllegalStateException("Replay has no more pieces");
+    }
+    int type = spawns[spawnHead];
+    spawnHead = (spawnHead + 1) % spawns.length;
+    spawnCount--;
+    return type;
+  }
+
+  /**
+   * Queue the spawns recorded straight after the next event, which the engine will ask for while
+   * handling it
+   */
+  private void queueSpawns() {
+    while (next < count && tags[next] == ReplayFormat.SPAWN) {
+      spawns[(spawnHead + spawnCount) % spawns.length] = firstArgs[next];
+      spawnCount++;
+      next++;
+    }
+  }
+
+  /**
+   * Start the game on the given engine, spawning the recorded first pieces
+   *
+   * @param engine engine attached to this replay
+   */
+  public void start(GameEngine engine) {
+    next = 0;
+    spawnHead = 0;
+    spawnCount = 0;
+    queueSpawns();
+    engine.start();
+  }
+
+  /**
+   * Return if there are actions left to play
+   *
+   * @return if the replay has more actions
+   */
+  public boolean hasNext() {
+    return next < count;
+  }
+
+  /**
+   * Get the recorded time between the previous action and the next one
+   *
+   * @return delay in milliseconds
+   */
+  public long getNextDelay() {
+    return hasNext() ? delays[next] : 0;
+  }
+
+  /**
+   * Play the next recorded action on the engine
+   *
+   * @param engine engine attached to this replay
+   * @return if there are more actions to play
+   */
+  public boolean step(GameEngine engine) {
+    if (!hasNext()) {
+      return false;
+    }
+    int event = next++;
+    queueSpawns();
+    switch (tags[event]) {
+      case ReplayFormat.ROTATE -> engine.rotate(firstArgs[event]);
+      case ReplayFormat.SWAP -> engine.swap();
+      case ReplayFormat.PLACE -> engine.place(firstArgs[event], secondArgs[event]);
+      case ReplayFormat.TIMER -> engine.timerExpired();
+      default -> throw new IllegalStateException("Unexpected replay event " + tags[event]);
+    }
+    return hasNext();
+  }
+
+  /**
+   * Play the whole replay from the start, as fast as possible
+   *
+   * @param engine engine attached to this replay
+   */
+  public void playToEnd(GameEngine engine) {
+    start(engine);
+    while (step(engine)) {
+      //Keep stepping
+    }
+  }
+
+  /**
+   * Play the whole replay from the start, pausing between actions for as long as the player did
+   *
+   * @param engine engine attached to this replay
+   * @throws InterruptedException if interrupted while pausing
+   */
+  public void playRealTime(GameEngine engine) throws InterruptedException {
+    start(engine);
+    while (hasNext()) {
+      Thread.sleep(getNextDelay());
+      step(engine);
+    }
+  }
+
+  /**
+   * Get the number of columns of the recorded grid
+   *
+   * @return number of columns
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * Get the number of rows of the recorded grid
+   *
+   * @return number of rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Get the seed of the recorded game
+   *
+   * @return the seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Get when the recorded game started
+   *
+   * @return milliseconds since the epoch
+   */
+  public long getStartTime() {
+    return startTime;
+  }
+
+  /**
+   * Get the number of recorded events, including spawns
+   *
+   * @return number of events
+   */
+  public int getEventCount() {
+    return count;
+  }
+
+  /**
+   * Get the score recorded at the end of the game
+   *
+   * @return the score, or -1 if the recording has no end
+   */
+  public int getRecordedScore() {
+    return recordedScore;
+  }
+
+  /**
+   * Get the level recorded at the end of the game
+   *
+   * @return the level, or -1 if the recording has no end
+   */
+  public int getRecordedLevel() {
+    return recordedLevel;
+  }
+}
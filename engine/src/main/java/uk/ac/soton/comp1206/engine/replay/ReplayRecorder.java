@@ -0,0 +1,289 @@
+package uk.ac.soton.comp1206.engine.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import uk.ac.soton.comp1206.engine.EngineListener;
+import uk.ac.soton.comp1206.engine.GameEngine;
+
+/**
+ * The ReplayRecorder listens to a GameEngine and records everything needed to play the game back:
+ * the seed, every piece spawned, every rotation, swap and placement, and every time the timer runs
+ * out. Events are encoded into a small buffer on the game's thread, and full buffers are written
+ * out by a single background writer thread, so recording never waits on the disk.
+ */
+public class ReplayRecorder implements EngineListener, Closeable {
+
+  /**
+   * Size of each buffer handed to the writer
+   */
+  private static final int CHUNK_SIZE = 4096;
+
+  /**
+   * The thread writing every recorder's buffers, in the order they are handed over
+   */
+  private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "replay-writer");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * The engine being recorded
+   */
+  private final GameEngine engine;
+
+  /**
+   * Where the replay is written, only used on the writer thread
+   */
+  private final OutputStream out;
+
+  /**
+   * Buffer of encoded events not yet handed to the writer
+   */
+  private byte[] buffer = new byte[CHUNK_SIZE];
+  private int length;
+
+  /**
+   * Time of the last event, from System.nanoTime
+   */
+  private long lastTime;
+
+  /**
+   * Coordinates of the last placement, placements are stored relative to it
+   */
+  private int lastX;
+  private int lastY;
+
+  private boolean closed;
+
+  /**
+   * Whether the timer running out at the end of the game has been recorded
+   */
+  private boolean gameOverRecorded;
+
+  /**
+   * The first error hit by the writer, if any
+   */
+  private volatile IOException error;
+
+  /**
+   * Released once the stream has been closed by the writer
+   */
+  private final CountDownLatch written = new CountDownLatch(1);
+
+  /**
+   * Start recording the given engine to a stream. Should be created before the engine is started,
+   * so the first pieces are recorded.
+   *
+   * @param engine engine to record
+   * @param out    stream to write the replay to, closed when the recorder is closed
+   */
+  public ReplayRecorder(GameEngine engine, OutputStream out) {
+    this.engine = engine;
+    this.out = out;
+    lastTime = System.nanoTime();
+
+    for (byte b : ReplayFormat.MAGIC) {
+      putByte(b);
+    }
+    putByte(ReplayFormat.VERSION);
+    putVarint(engine.getGrid().getCols());
+    putVarint(engine.getGrid().getRows());
+    putVarint(ReplayFormat.zigzag(engine.getSeed()));
+    putVarint(System.currentTimeMillis());
+
+    engine.addListener(this);
+  }
+
+  /**
+   * Start recording the given engine to a file, creating any missing directories
+   *
+   * @param engine engine to record
+   * @param file   file to write
+   * @return the recorder
+   * @throws IOException if the file cannot be created
+   */
+  public static ReplayRecorder toFile(GameEngine engine, Path file) throws IOException {
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    return new ReplayRecorder(engine, new BufferedOutputStream(Files.newOutputStream(file)));
+  }
+
+  //Encoding
+  //////////
+
+  private void putByte(int value) {
+    if (length == buffer.length) {
+      handOver();
+    }
+    buffer[length++] = (byte) value;
+  }
+
+  private void putVarint(long value) {
+    while ((value & ~0x7FL) != 0) {
+      putByte((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    putByte((int) value);
+  }
+
+  /**
+   * Start an event, with the time since the previous one
+   *
+   * @param tag event tag
+   */
+  private void putEvent(int tag) {
+    long now = System.nanoTime();
+    long delta = (now - lastTime) / 1_000_000L;
+    //Carry the remainder over, so rounding does not drift
+    lastTime += delta * 1_000_000L;
+    putVarint(delta << ReplayFormat.TAG_BITS | tag);
+  }
+
+  /**
+   * Give the full buffer to the writer thread and start a new one
+   */
+  private void handOver() {
+    byte[] chunk = buffer;
+    int chunkLength = length;
+    buffer = new byte[CHUNK_SIZE];
+    length = 0;
+    WRITER.execute(() -> write(chunk, chunkLength));
+  }
+
+  /**
+   * Write a chunk, on the writer thread
+   */
+  private void write(byte[] chunk, int chunkLength) {
+    if (error != null) {
+      return;
+    }
+    try {
+      out.write(chunk, 0, chunkLength);
+    } catch (IOException e) {
+      error = e;
+    }
+  }
+
+  //Engine events
+  ///////////////
+
+  @Override
+  public void pieceSpawned(int type) {
+    if (closed) {
+      return;
+    }
+    putEvent(ReplayFormat.SPAWN);
+    putVarint(type);
+  }
+
+  @Override
+  public void pieceRotated(int rotations) {
+    if (closed) {
+      return;
+    }
+    putEvent(ReplayFormat.ROTATE);
+    putVarint(rotations & 3);
+  }
+
+  @Override
+  public void piecesSwapped() {
+    if (closed) {
+      return;
+    }
+    putEvent(ReplayFormat.SWAP);
+  }
+
+  @Override
+  public void piecePlaced(int type, int rotation, int x, int y) {
+    if (closed) {
+      return;
+    }
+    putEvent(ReplayFormat.PLACE);
+    putVarint(ReplayFormat.zigzag(x - lastX));
+    putVarint(ReplayFormat.zigzag(y - lastY));
+    lastX = x;
+    lastY = y;
+  }
+
+  @Override
+  public void lifeLost(int lives) {
+    if (closed) {
+      return;
+    }
+    putEvent(ReplayFormat.TIMER);
+  }
+
+  @Override
+  public void gameOver() {
+    if (closed || gameOverRecorded) {
+      return;
+    }
+    //Game over only happens when the timer runs out
+    putEvent(ReplayFormat.TIMER);
+    gameOverRecorded = true;
+  }
+
+  /**
+   * Finish the replay with the final score and level, and close the stream once everything has
+   * been written. Does not wait for the writer.
+   * <p>
+   * A listener added before the recorder may close it from its own game over handler, before the
+   * recorder has heard of the game over. The last run of the timer is then recorded here, so the
+   * replay still ends the game.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    if (engine.getLives() < 0) {
+      gameOver();
+    }
+    putEvent(ReplayFormat.END);
+    putVarint(engine.getScore());
+    putVarint(engine.getLevel());
+    closed = true;
+
+    handOver();
+    WRITER.execute(() -> {
+      try {
+        out.close();
+      } catch (IOException e) {
+        if (error == null) {
+          error = e;
+        }
+      }
+      written.countDown();
+    });
+  }
+
+  /**
+   * Wait for the writer to finish writing and closing the replay, after close
+   *
+   * @param timeout longest time to wait, in milliseconds
+   * @return if the replay was written in time
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public boolean awaitWritten(long timeout) throws InterruptedException {
+    return written.await(timeout, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Get the first error hit while writing, if any
+   *
+   * @return the error, or null if everything written so far succeeded
+   */
+  public IOException getError() {
+    return error;
+  }
+}
@@ -0,0 +1,47 @@
+package uk.ac.soton.comp1206.engine.replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import uk.ac.soton.comp1206.engine.GameEngine;
+
+/**
+ * The Replay Runner plays replay files back as fast as possible without a user interface, and
+ * checks that each ends with the score and level that were recorded. Used to reproduce reported
+ * games and to catch changes to scoring.
+ * <p>
+ * Takes the replay files to play as arguments, and exits with status 1 if any replay does not
+ * match its recording.
+ */
+public class ReplayRunner {
+
+  /**
+   * Play every replay given on the command line
+   *
+   * @param args replay files
+   * @throws IOException if a replay cannot be read
+   */
+  public static void main(String[] args) throws IOException {
+    boolean allMatch = true;
+    for (String arg : args) {
+      Path file = Path.of(arg);
+      ReplayPlayer player = ReplayPlayer.open(file);
+      GameEngine engine = player.createEngine();
+
+      long start = System.nanoTime();
+      player.playToEnd(engine);
+      double millis = (System.nanoTime() - start) / 1e6;
+
+      boolean match = engine.getScore() == player.getRecordedScore()
+          && engine.getLevel() == player.getRecordedLevel();
+      allMatch &= match;
+      System.out.printf("%s: %d bytes, %d events, score %d (recorded %d), level %d (recorded %d),"
+              + " %.2fms %s%n", file.getFileName(), Files.size(file), player.getEventCount(),
+          engine.getScore(), player.getRecordedScore(), engine.getLevel(),
+          player.getRecordedLevel(), millis, match ? "OK" : "MISMATCH");
+    }
+    if (!allMatch) {
+      System.exit(1);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package uk.ac.soton.comp1206.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the fill counters of the BitGrid against a count of every cell.
+ */
+class BitGridTest {
+
+  /**
+   * Check every counter of the grid against the cells themselves
+   */
+  private static void checkCounts(BitGrid grid) {
+    int total = 0;
+    for (int y = 0; y < grid.getRows(); y++) {
+      int count = 0;
+      for (int x = 0; x < grid.getCols(); x++) {
+        if (grid.isFilled(x, y)) {
+          count++;
+        }
+      }
+      assertEquals(count, grid.rowFillCount(y), "row " + y);
+      assertEquals(count == grid.getCols(), grid.rowIsFull(y), "row " + y);
+      total += count;
+    }
+    for (int x = 0; x < grid.getCols(); x++) {
+      int count = 0;
+      for (int y = 0; y < grid.getRows(); y++) {
+        if (grid.isFilled(x, y)) {
+          count++;
+        }
+      }
+      assertEquals(count, grid.colFillCount(x), "column " + x);
+      assertEquals(count == grid.getRows(), grid.colIsFull(x), "column " + x);
+    }
+    assertEquals(total, grid.filledCount());
+  }
+
+  /**
+   * The counters follow random sets, including setting a filled cell to another value
+   */
+  @Test
+  void countersFollowSets() {
+    Random random = new Random(5);
+    BitGrid grid = new BitGrid(70, 6);
+    for (int change = 0; change < 5000; change++) {
+      int x = random.nextInt(grid.getCols());
+      int y = random.nextInt(grid.getRows());
+      grid.set(x, y, random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(15));
+      if (change % 500 == 0) {
+        checkCounts(grid);
+      }
+    }
+    checkCounts(grid);
+  }
+
+  /**
+   * Filling a whole row or column makes it full, and emptying one cell of it does not
+   */
+  @Test
+  void fullLines() {
+    BitGrid grid = new BitGrid(5, 4);
+    for (int x = 0; x < 5; x++) {
+      grid.set(x, 1, 2);
+    }
+    for (int y = 0; y < 4; y++) {
+      grid.set(3, y, 2);
+    }
+    assertEquals(true, grid.rowIsFull(1));
+    assertEquals(true, grid.colIsFull(3));
+    checkCounts(grid);
+
+    grid.set(3, 1, 0);
+    assertEquals(false, grid.rowIsFull(1));
+    assertEquals(false, grid.colIsFull(3));
+    checkCounts(grid);
+  }
+
+  /**
+   * Placing pieces and clearing the grid keep the counters in step
+   */
+  @Test
+  void placeAndClear() {
+    BitGrid grid = new BitGrid(9, 9);
+    for (int type = 0; type < PieceCatalog.PIECES; type++) {
+      int shape = PieceCatalog.shape(type, type % PieceCatalog.ROTATIONS);
+      int x = (type % 3) * 3;
+      int y = (type / 3 % 3) * 3;
+      if (grid.canPlace(shape, x, y)) {
+        grid.place(shape, PieceCatalog.value(type), x, y);
+      }
+      checkCounts(grid);
+    }
+    grid.clearAll();
+    checkCounts(grid);
+    assertEquals(0, grid.filledCount());
+  }
+}
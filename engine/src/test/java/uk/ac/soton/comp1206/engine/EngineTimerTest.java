@@ -0,0 +1,73 @@
+package uk.ac.soton.comp1206.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the EngineTimer on a virtual GameClock, where advancing the clock plays out the timer
+ * instantly.
+ */
+class EngineTimerTest {
+
+  /**
+   * Advancing the clock by less than the delay does nothing, reaching it costs a life
+   */
+  @Test
+  void expiryCostsALife() {
+    GameEngine engine = new GameEngine(5, 5, 1);
+    GameClock clock = GameClock.virtual();
+    EngineTimer timer = new EngineTimer(engine, clock);
+    engine.start();
+    timer.start();
+
+    clock.advance(engine.getTimerDelay() - 1);
+    assertEquals(GameEngine.LIVES_START, engine.getLives());
+
+    clock.advance(1);
+    assertEquals(GameEngine.LIVES_START - 1, engine.getLives());
+    assertTrue(timer.getCountdown().isRunning());
+  }
+
+  /**
+   * Placing a piece restarts the timer, so the life is only lost a full delay after it
+   */
+  @Test
+  void placementRestartsTheTimer() {
+    GameEngine engine = new GameEngine(5, 5, 1);
+    GameClock clock = GameClock.virtual();
+    EngineTimer timer = new EngineTimer(engine, clock);
+    engine.start();
+    timer.start();
+
+    long delay = engine.getTimerDelay();
+    clock.advance(delay - 1);
+    PlacementIndex placements = engine.getPlacements(engine.getCurrentType());
+    int position = placements.nextLegal(engine.getCurrentRotation(), 0);
+    assertTrue(engine.place(placements.anchorX(position), placements.anchorY(position)));
+
+    clock.advance(delay - 1);
+    assertEquals(GameEngine.LIVES_START, engine.getLives());
+    clock.advance(1);
+    assertEquals(GameEngine.LIVES_START - 1, engine.getLives());
+  }
+
+  /**
+   * Running out with no lives left ends the game and stops the timer
+   */
+  @Test
+  void lastExpiryEndsTheGame() {
+    GameEngine engine = new GameEngine(5, 5, 1);
+    GameClock clock = GameClock.virtual();
+    EngineTimer timer = new EngineTimer(engine, clock);
+    engine.start();
+    timer.start();
+
+    clock.advance(engine.getTimerDelay() * (GameEngine.LIVES_START + 1));
+    assertEquals(-1, engine.getLives());
+    assertFalse(engine.isRunning());
+    assertFalse(timer.getCountdown().isRunning());
+  }
+}
@@ -0,0 +1,131 @@
+package uk.ac.soton.comp1206.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the line clearing and scoring done after each placement.
+ */
+class GameEngineTest {
+
+  /**
+   * Type of the single block piece
+   */
+  private static final int DOT = 3;
+
+  /**
+   * Start an engine with a dot as both the current and the following piece
+   */
+  private static GameEngine start(int cols, int rows) {
+    GameEngine engine = new GameEngine(cols, rows);
+    engine.start(false);
+    engine.setCurrentPiece(DOT, 0);
+    engine.setFollowingPiece(DOT, 0);
+    return engine;
+  }
+
+  /**
+   * Place a dot on the given cell
+   */
+  private static boolean placeDot(GameEngine engine, int x, int y) {
+    engine.setCurrentPiece(DOT, 0);
+    //The block of the dot is in the centre of its 3x3 grid
+    return engine.place(x - 1, y - 1);
+  }
+
+  /**
+   * Completing a row clears it and scores it
+   */
+  @Test
+  void clearsARow() {
+    GameEngine engine = start(5, 5);
+    for (int x = 0; x < 4; x++) {
+      engine.getGrid().set(x, 2, 1);
+    }
+    assertTrue(placeDot(engine, 4, 2));
+
+    assertEquals(1, engine.getClearedRowCount());
+    assertEquals(2, engine.getClearedRow(0));
+    assertEquals(0, engine.getClearedColCount());
+    assertEquals(GameEngine.calculateScore(5, 1, 1), engine.getScore());
+    assertEquals(2, engine.getMultiplier());
+    assertEquals(0, engine.getGrid().filledCount());
+    for (int x = 0; x < 5; x++) {
+      assertTrue(engine.wasCleared(x, 2));
+    }
+    assertFalse(engine.wasCleared(0, 0));
+  }
+
+  /**
+   * A row and column cleared together count their shared cell once
+   */
+  @Test
+  void clearsACross() {
+    GameEngine engine = start(5, 5);
+    engine.getGrid().set(0, 0, 1);
+    for (int i = 0; i < 5; i++) {
+      if (i != 2) {
+        engine.getGrid().set(i, 2, 1);
+        engine.getGrid().set(2, i, 1);
+      }
+    }
+    assertTrue(placeDot(engine, 2, 2));
+
+    assertEquals(1, engine.getClearedRowCount());
+    assertEquals(1, engine.getClearedColCount());
+    assertEquals(GameEngine.calculateScore(9, 2, 1), engine.getScore());
+    //Cells off the cleared lines stay
+    assertEquals(1, engine.getGrid().filledCount());
+    assertTrue(engine.getGrid().isFilled(0, 0));
+  }
+
+  /**
+   * The multiplier grows with each clearing placement in a row, and resets on one that clears
+   * nothing
+   */
+  @Test
+  void multiplier() {
+    GameEngine engine = start(3, 3);
+    int expected = 0;
+    for (int clear = 0; clear < 3; clear++) {
+      engine.getGrid().set(0, 0, 1);
+      engine.getGrid().set(1, 0, 1);
+      assertTrue(placeDot(engine, 2, 0));
+      expected += GameEngine.calculateScore(3, 1, clear + 1);
+      assertEquals(expected, engine.getScore());
+      assertEquals(clear + 2, engine.getMultiplier());
+    }
+    assertTrue(placeDot(engine, 1, 1));
+    assertEquals(expected, engine.getScore());
+    assertEquals(GameEngine.MULTIPLIER_START, engine.getMultiplier());
+  }
+
+  /**
+   * Reaching the score for the next level raises the level
+   */
+  @Test
+  void levelUp() {
+    GameEngine engine = start(5, 5);
+    engine.setScore(GameEngine.SCORE_INCREASE_FOR_NEXT_LEVEL * 2 - 10);
+    for (int x = 0; x < 4; x++) {
+      engine.getGrid().set(x, 0, 1);
+    }
+    assertTrue(placeDot(engine, 4, 0));
+    assertEquals(2, engine.getLevel());
+  }
+
+  /**
+   * A placement over a filled cell is rejected and changes nothing
+   */
+  @Test
+  void rejectsOverlap() {
+    GameEngine engine = start(5, 5);
+    engine.getGrid().set(1, 1, 1);
+    assertFalse(placeDot(engine, 1, 1));
+    assertEquals(1, engine.getGrid().filledCount());
+    assertEquals(GameEngine.SCORE_START, engine.getScore());
+  }
+}
@@ -0,0 +1,61 @@
+package uk.ac.soton.comp1206.engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that seeded piece generators are repeatable, and that bags deal every piece.
+ */
+class PieceGeneratorTest {
+
+  private static int[] take(PieceGenerator generator, int count) {
+    int[] types = new int[count];
+    for (int i = 0; i < count; i++) {
+      types[i] = generator.next();
+    }
+    return types;
+  }
+
+  /**
+   * Two generators with the same seed deal the same pieces
+   */
+  @Test
+  void sameSeedSamePieces() {
+    assertArrayEquals(take(new UniformPieceGenerator(42), 500),
+        take(new UniformPieceGenerator(42), 500));
+    assertArrayEquals(take(new BagPieceGenerator(42), 500), take(new BagPieceGenerator(42), 500));
+  }
+
+  /**
+   * Peeking ahead shows the pieces next will deal
+   */
+  @Test
+  void peekMatchesNext() {
+    BagPieceGenerator generator = new BagPieceGenerator(7);
+    int first = generator.peek(0);
+    int second = generator.peek(1);
+    assertEquals(first, generator.next());
+    assertEquals(second, generator.next());
+  }
+
+  /**
+   * Every bag deals each piece type exactly once per copy
+   */
+  @Test
+  void bagDealsEveryPiece() {
+    int copies = 2;
+    BagPieceGenerator generator = new BagPieceGenerator(3, copies,
+        RandomPieceGenerator.DEFAULT_PREFETCH);
+    for (int bag = 0; bag < 20; bag++) {
+      int[] counts = new int[PieceCatalog.PIECES];
+      for (int type : take(generator, PieceCatalog.PIECES * copies)) {
+        counts[type]++;
+      }
+      for (int type = 0; type < PieceCatalog.PIECES; type++) {
+        assertEquals(copies, counts[type], "bag " + bag + ", piece " + type);
+      }
+    }
+  }
+}
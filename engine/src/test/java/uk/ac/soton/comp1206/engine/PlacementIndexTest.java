@@ -0,0 +1,98 @@
+package uk.ac.soton.comp1206.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the BitGrid and PlacementIndex against a plain scan of every cell a piece would cover.
+ */
+class PlacementIndexTest {
+
+  /**
+   * Return if a piece fits, checking each of its blocks one by one
+   */
+  private static boolean fits(BitGrid grid, int shape, int x, int y) {
+    for (int bit = 0; bit < 9; bit++) {
+      if ((shape & (1 << bit)) == 0) {
+        continue;
+      }
+      int cellX = x + bit % 3;
+      int cellY = y + bit / 3;
+      if (!grid.inBounds(cellX, cellY) || grid.isFilled(cellX, cellY)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void fill(BitGrid grid, Random random, double density) {
+    for (int y = 0; y < grid.getRows(); y++) {
+      for (int x = 0; x < grid.getCols(); x++) {
+        grid.set(x, y, random.nextDouble() < density ? 1 + random.nextInt(15) : 0);
+      }
+    }
+  }
+
+  /**
+   * canPlace, isLegal and count agree with the plain scan on random grids of many sizes
+   */
+  @Test
+  void matchesScanOnRandomGrids() {
+    Random random = new Random(1);
+    for (int trial = 0; trial < 200; trial++) {
+      BitGrid grid = new BitGrid(1 + random.nextInt(80), 1 + random.nextInt(80));
+      fill(grid, random, random.nextDouble());
+      int type = random.nextInt(PieceCatalog.PIECES);
+      PlacementIndex index = new PlacementIndex(grid);
+      index.track(type);
+      check(grid, index, type);
+    }
+  }
+
+  /**
+   * The index stays in step as cells of the grid change after it was built
+   */
+  @Test
+  void followsGridChanges() {
+    Random random = new Random(2);
+    BitGrid grid = new BitGrid(70, 9);
+    PlacementIndex index = new PlacementIndex(grid);
+    index.track(random.nextInt(PieceCatalog.PIECES));
+    for (int change = 0; change < 500; change++) {
+      int x = random.nextInt(grid.getCols());
+      int y = random.nextInt(grid.getRows());
+      grid.set(x, y, grid.isFilled(x, y) ? 0 : 1);
+      if (change % 50 == 0) {
+        check(grid, index, index.getType());
+      }
+    }
+    check(grid, index, index.getType());
+  }
+
+  private static void check(BitGrid grid, PlacementIndex index, int type) {
+    for (int rotation = 0; rotation < PieceCatalog.ROTATIONS; rotation++) {
+      int shape = PieceCatalog.shape(type, rotation);
+      int count = 0;
+      for (int y = -2; y < grid.getRows(); y++) {
+        for (int x = -2; x < grid.getCols(); x++) {
+          boolean fits = fits(grid, shape, x, y);
+          assertEquals(fits, grid.canPlace(shape, x, y), "canPlace at " + x + "," + y);
+          assertEquals(fits, index.isLegal(rotation, x, y), "isLegal at " + x + "," + y);
+          if (fits) {
+            count++;
+          }
+        }
+      }
+      assertEquals(count, index.count(rotation));
+      int listed = 0;
+      for (int position = index.nextLegal(rotation, 0); position >= 0;
+          position = index.nextLegal(rotation, position + 1)) {
+        assertEquals(true, fits(grid, shape, index.anchorX(position), index.anchorY(position)));
+        listed++;
+      }
+      assertEquals(count, listed);
+    }
+  }
+}
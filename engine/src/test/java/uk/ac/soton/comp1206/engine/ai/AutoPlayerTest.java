@@ -0,0 +1,53 @@
+package uk.ac.soton.comp1206.engine.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import uk.ac.soton.comp1206.engine.GameEngine;
+
+/**
+ * Tests that the AutoPlayer reports whether the engine really placed its move.
+ */
+class AutoPlayerTest {
+
+  private static final ForkJoinPool pool = new ForkJoinPool(1);
+
+  @AfterAll
+  static void shutdown() {
+    pool.shutdown();
+  }
+
+  @Test
+  void placesThroughTheControls() {
+    GameEngine engine = new GameEngine(5, 5, 1);
+    engine.start();
+    AutoPlayer player = new AutoPlayer(engine, new EngineControls(engine),
+        new SearchPlayer(1, 100, 8, pool));
+
+    assertTrue(player.playTurn());
+    assertEquals(1, engine.getPlacementCount());
+  }
+
+  @Test
+  void refusedClickIsNotPlaced() {
+    GameEngine engine = new GameEngine(5, 5, 1);
+    engine.start();
+    //Controls that ignore clicks, as a paused game does
+    PlayerControls controls = new EngineControls(engine) {
+      @Override
+      public void blockClicked(int x, int y) {
+      }
+    };
+    AutoPlayer player = new AutoPlayer(engine, controls, new SearchPlayer(1, 100, 8, pool));
+
+    Move move = player.plan();
+    assertNotNull(move);
+    assertFalse(player.apply(move));
+    assertEquals(0, engine.getPlacementCount());
+  }
+}
@@ -0,0 +1,124 @@
+package uk.ac.soton.comp1206.engine.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import uk.ac.soton.comp1206.engine.BitGrid;
+import uk.ac.soton.comp1206.engine.PieceCatalog;
+
+/**
+ * Smoke tests of the SearchPlayer: its moves fit, it takes a clear when one is offered, and it
+ * keeps to its time budget on a large board.
+ */
+class SearchPlayerTest {
+
+  /**
+   * Type of the single block piece
+   */
+  private static final int DOT = 3;
+
+  private static final ForkJoinPool pool = new ForkJoinPool(2);
+
+  @AfterAll
+  static void shutdown() {
+    pool.shutdown();
+  }
+
+  /**
+   * Return if a move fits on the grid with the piece it says it plays
+   */
+  private static boolean fits(BitGrid grid, Move move) {
+    return grid.canPlace(PieceCatalog.shape(move.getType(), move.getRotation()), move.getX(),
+        move.getY());
+  }
+
+  /**
+   * Every move found on random boards fits, and plays the current or following piece
+   */
+  @Test
+  void movesFit() {
+    SearchPlayer player = new SearchPlayer(2, 50, 4, pool);
+    Random random = new Random(8);
+    for (int trial = 0; trial < 20; trial++) {
+      BitGrid grid = new BitGrid(5, 5);
+      for (int y = 0; y < 5; y++) {
+        for (int x = 0; x < 5; x++) {
+          if (random.nextInt(3) == 0) {
+            grid.set(x, y, 1);
+          }
+        }
+      }
+      int current = random.nextInt(PieceCatalog.PIECES);
+      int following = random.nextInt(PieceCatalog.PIECES);
+      Move move = player.findMove(grid, current, following);
+      if (move == null) {
+        continue;
+      }
+      assertTrue(fits(grid, move), move.toString());
+      assertEquals(move.isSwap() ? following : current, move.getType());
+    }
+  }
+
+  /**
+   * With a row one block short, a dot goes in the gap. Searched one ply, as deeper the clear can
+   * equally well be left for the following dot.
+   */
+  @Test
+  void takesTheClear() {
+    BitGrid grid = new BitGrid(5, 5);
+    for (int x = 0; x < 4; x++) {
+      grid.set(x, 2, 1);
+    }
+    Move move = new SearchPlayer(1, 200, 4, pool).findMove(grid, DOT, DOT);
+    assertNotNull(move);
+    assertEquals(3, move.getX());
+    assertEquals(1, move.getY());
+  }
+
+  /**
+   * No move is found when nothing fits
+   */
+  @Test
+  void fullBoard() {
+    BitGrid grid = new BitGrid(3, 3);
+    for (int y = 0; y < 3; y++) {
+      for (int x = 0; x < 3; x++) {
+        grid.set(x, y, 1);
+      }
+    }
+    assertNull(new SearchPlayer().findMove(grid, DOT, DOT));
+  }
+
+  /**
+   * On a 200x200 board the search stops near its budget rather than searching every placement
+   */
+  @Test
+  void keepsToBudget() {
+    BitGrid grid = new BitGrid(200, 200);
+    Random random = new Random(9);
+    for (int y = 0; y < 200; y++) {
+      for (int x = 0; x < 200; x++) {
+        if (random.nextInt(4) == 0) {
+          grid.set(x, y, 1);
+        }
+      }
+    }
+    SearchPlayer player = new SearchPlayer(2, 20, 4, pool);
+    player.findMove(grid, 0, 1);
+
+    long start = System.nanoTime();
+    Move move = player.findMove(grid, 2, 5);
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    assertNotNull(move);
+    assertTrue(fits(grid, move));
+    //Generous, as only going far over the budget matters
+    assertFalse(millis > 1000, "took " + millis + " ms");
+  }
+}
@@ -0,0 +1,101 @@
+package uk.ac.soton.comp1206.engine.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import uk.ac.soton.comp1206.engine.EngineListener;
+import uk.ac.soton.comp1206.engine.GameEngine;
+import uk.ac.soton.comp1206.engine.PlacementIndex;
+
+/**
+ * Tests that a recorded game plays back to the same end.
+ */
+class ReplayRecorderTest {
+
+  /**
+   * Play random rotations, swaps and placements until the game is over, running the timer out
+   * whenever nothing fits
+   */
+  private static void playRandomly(GameEngine engine, Random random) {
+    engine.start();
+    while (engine.isRunning()) {
+      int action = random.nextInt(10);
+      if (action == 0) {
+        engine.rotate(1 + random.nextInt(3));
+      } else if (action == 1) {
+        engine.swap();
+      } else if (action == 2 && random.nextInt(20) == 0) {
+        engine.timerExpired();
+      } else {
+        PlacementIndex placements = engine.getPlacements(engine.getCurrentType());
+        int position = placements.nextLegal(engine.getCurrentRotation(), 0);
+        if (position < 0) {
+          engine.timerExpired();
+        } else {
+          engine.place(placements.anchorX(position), placements.anchorY(position));
+        }
+      }
+    }
+  }
+
+  private static ReplayPlayer record(GameEngine engine, Random random) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ReplayRecorder recorder = new ReplayRecorder(engine, out);
+    playRandomly(engine, random);
+    recorder.close();
+    assertTrue(recorder.awaitWritten(5000));
+    assertNull(recorder.getError());
+    return new ReplayPlayer(new ByteArrayInputStream(out.toByteArray()));
+  }
+
+  /**
+   * Playing a replay to the end reproduces the recorded score and level
+   */
+  @Test
+  void roundTrip() throws Exception {
+    for (long seed = 0; seed < 10; seed++) {
+      GameEngine engine = new GameEngine(5, 5, seed);
+      ReplayPlayer player = record(engine, new Random(seed));
+      assertEquals(engine.getScore(), player.getRecordedScore());
+      assertEquals(engine.getLevel(), player.getRecordedLevel());
+
+      GameEngine replayed = player.createEngine();
+      player.playToEnd(replayed);
+      assertEquals(engine.getScore(), replayed.getScore());
+      assertEquals(engine.getLevel(), replayed.getLevel());
+      assertFalse(replayed.isRunning());
+    }
+  }
+
+  /**
+   * The final run of the timer is kept when the recorder is closed by a listener that hears of the
+   * game over first
+   */
+  @Test
+  void closedOnGameOver() throws Exception {
+    GameEngine engine = new GameEngine(5, 5, 3);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ReplayRecorder[] recorder = new ReplayRecorder[1];
+    engine.addListener(new EngineListener() {
+      @Override
+      public void gameOver() {
+        recorder[0].close();
+      }
+    });
+    recorder[0] = new ReplayRecorder(engine, out);
+    playRandomly(engine, new Random(3));
+    assertTrue(recorder[0].awaitWritten(5000));
+
+    ReplayPlayer player = new ReplayPlayer(new ByteArrayInputStream(out.toByteArray()));
+    GameEngine replayed = player.createEngine();
+    player.playToEnd(replayed);
+    assertEquals(-1, replayed.getLives());
+    assertFalse(replayed.isRunning());
+  }
+}
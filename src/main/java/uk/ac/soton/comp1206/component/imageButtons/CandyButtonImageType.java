@@ -1,59 +0,0 @@
-package uk.ac.soton.comp1206.component.imageButtons;
-
-/**
- * Enumerator to hold different candy button image types.
- */
-public enum CandyButtonImageType {
-  /**
-   * Help Button Type.
-   */
-  HELP,
-  /**
-   * Level List Button Type.
-   */
-  LEVELLIST,
-  /**
-   * Minus Button Type.
-   */
-  MINUS,
-  /**
-   * Music Button Type.
-   */
-  MUSIC,
-  /**
-   * Multiplayer Button Type.
-   */
-  MULTIPLAYER,
-  /**
-   * Play Button Type.
-   */
-  PLAY,
-  /**
-   * Plus Button Type.
-   */
-  PLUS,
-  /**
-   * Profile Button Type.
-   */
-  PROFILE,
-  /**
-   * Options Button Type.
-   */
-  OPTIONS,
-  /**
-   * Right Arrow Button Type.
-   */
-  RIGHTARROW,
-  /**
-   * Reload Button Type.
-   */
-  RELOAD,
-  /**
-   * Sound Button Type.
-   */
-  SOUND,
-  /**
-   * Upload Button Type.
-   */
-  UPLOAD
-}